@@ -0,0 +1,160 @@
+package fr.alexpado.jda.interactions.benchmarks;
+
+import fr.alexpado.jda.interactions.InteractionExtension;
+import fr.alexpado.jda.interactions.ext.sentry.ITelemetry;
+import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionContainer;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+
+import java.util.List;
+
+/**
+ * Class holding an {@link InteractionExtension} configured with the {@link BenchmarkInteractions}, and creating the
+ * stubbed interactions sent to it.
+ */
+public class BenchmarkEnvironment {
+
+    private static final List<Command.Choice> CHOICES = List.of(
+            new Command.Choice("hello", "hello"),
+            new Command.Choice("help", "help"),
+            new Command.Choice("hero", "hero")
+    );
+
+    private final Stubs                stubs;
+    private final InteractionExtension extension;
+    private final User                 user;
+    private final String               buttonId;
+
+    /**
+     * Create a new {@link BenchmarkEnvironment}.
+     *
+     * @param stubs
+     *         The {@link Stubs} factory creating the interactions.
+     */
+    public BenchmarkEnvironment(Stubs stubs) {
+
+        this.stubs     = stubs;
+        this.extension = new InteractionExtension();
+        this.user      = stubs.user(42L);
+
+        this.extension.setTelemetry(ITelemetry.disabled());
+        this.extension.useDefaultMapping();
+        this.extension.registerInteractions(new BenchmarkInteractions());
+
+        AutocompleteInteractionContainer completions = this.extension.getAutocompleteContainer();
+        completions.resolve(completions.createURI("echo"))
+                   .orElseThrow()
+                   .addCompletionProvider("text", (event, name, completionName, value) -> CHOICES);
+
+        this.buttonId = this.extension.getButtonContainer()
+                                      .getCodec("counter/{id}")
+                                      .orElseThrow()
+                                      .encoder()
+                                      .with("id", 1024L)
+                                      .with("step", 3L)
+                                      .build();
+    }
+
+    /**
+     * Retrieve the {@link InteractionExtension} under test.
+     *
+     * @return The {@link InteractionExtension}.
+     */
+    public InteractionExtension getExtension() {
+
+        return this.extension;
+    }
+
+    /**
+     * Retrieve the default {@link SlashInteractionContainer}.
+     *
+     * @return The {@link SlashInteractionContainer}.
+     */
+    public SlashInteractionContainer getSlashContainer() {
+
+        return this.extension.getSlashContainer();
+    }
+
+    /**
+     * Retrieve the default {@link ButtonInteractionContainer}.
+     *
+     * @return The {@link ButtonInteractionContainer}.
+     */
+    public ButtonInteractionContainer getButtonContainer() {
+
+        return this.extension.getButtonContainer();
+    }
+
+    /**
+     * Retrieve the id of the button sent by {@link #counter()}.
+     *
+     * @return A component id.
+     */
+    public String getButtonId() {
+
+        return this.buttonId;
+    }
+
+    /**
+     * Create a new {@code /ping} interaction.
+     *
+     * @return A {@link SlashCommandInteraction} stub.
+     */
+    public SlashCommandInteraction ping() {
+
+        return this.slash("ping");
+    }
+
+    /**
+     * Create a new interaction for a slash command without options.
+     *
+     * @param command
+     *         The full name of the command.
+     *
+     * @return A {@link SlashCommandInteraction} stub.
+     */
+    public SlashCommandInteraction slash(String command) {
+
+        return this.stubs.slash(this.user, command, List.of());
+    }
+
+    /**
+     * Create a new {@code /echo} interaction, with both of its options.
+     *
+     * @return A {@link SlashCommandInteraction} stub.
+     */
+    public SlashCommandInteraction echo() {
+
+        return this.stubs.slash(this.user, "echo", List.of(
+                Stubs.option(this.stubs.jda(), "text", OptionType.STRING, "hello"),
+                Stubs.option(this.stubs.jda(), "count", OptionType.INTEGER, 3)
+        ));
+    }
+
+    /**
+     * Create a new click on the {@code counter/{id}} button.
+     *
+     * @return A {@link ButtonInteraction} stub.
+     */
+    public ButtonInteraction counter() {
+
+        return this.stubs.button(this.user, this.buttonId);
+    }
+
+    /**
+     * Create a new auto-completion request for the {@code text} option of {@code /echo}.
+     *
+     * @return A {@link CommandAutoCompleteInteraction} stub.
+     */
+    public CommandAutoCompleteInteraction complete() {
+
+        return this.stubs.autocomplete(this.user, "echo", "text", "he");
+    }
+
+}
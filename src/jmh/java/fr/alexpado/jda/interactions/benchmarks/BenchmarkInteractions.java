@@ -0,0 +1,89 @@
+package fr.alexpado.jda.interactions.benchmarks;
+
+import fr.alexpado.jda.interactions.annotations.Interact;
+import fr.alexpado.jda.interactions.annotations.Option;
+import fr.alexpado.jda.interactions.annotations.Param;
+import fr.alexpado.jda.interactions.responses.ButtonResponse;
+import fr.alexpado.jda.interactions.responses.SlashResponse;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.utils.messages.MessageRequest;
+
+import java.util.function.Consumer;
+
+/**
+ * Interactions used by the benchmarks, covering a command without options, a command with options and auto-completion,
+ * and a button with a route parameter and a query option.
+ */
+public class BenchmarkInteractions {
+
+    @Interact(
+            name = "ping",
+            description = "Reply with pong"
+    )
+    public SlashResponse ping() {
+
+        return Response.PONG;
+    }
+
+    @Interact(
+            name = "echo",
+            description = "Repeat a text",
+            options = {
+                    @Option(name = "text", description = "The text to repeat", type = OptionType.STRING, required = true, autoComplete = true),
+                    @Option(name = "count", description = "The amount of repetitions", type = OptionType.INTEGER, required = true)
+            }
+    )
+    public SlashResponse echo(User user, @Param("text") String text, @Param("count") long count) {
+
+        String content = text.repeat((int) Math.min(count, 10));
+        return new Response(request -> request.setContent(content), false);
+    }
+
+    @Interact(
+            name = "counter/{id}",
+            description = "Increment a counter",
+            options = {
+                    @Option(name = "id", description = "The counter", type = OptionType.INTEGER, required = true),
+                    @Option(name = "step", description = "The increment", type = OptionType.INTEGER)
+            }
+    )
+    public ButtonResponse counter(@Param("id") long id, @Param("step") Long step) {
+
+        long value = id + (step == null ? 1 : step);
+        return new Response(request -> request.setContent(Long.toString(value)), true);
+    }
+
+    /**
+     * Response shared by the slash and button interactions.
+     *
+     * @param handler
+     *         The {@link MessageRequest} {@link Consumer} setting the response content.
+     * @param ephemeral
+     *         True if the response is ephemeral.
+     */
+    public record Response(Consumer<MessageRequest<?>> handler, boolean ephemeral) implements SlashResponse, ButtonResponse {
+
+        static final Response PONG = new Response(request -> request.setContent("pong"), false);
+
+        @Override
+        public Consumer<MessageRequest<?>> getHandler() {
+
+            return this.handler;
+        }
+
+        @Override
+        public boolean shouldEditOriginalMessage() {
+
+            return false;
+        }
+
+        @Override
+        public boolean isEphemeral() {
+
+            return this.ephemeral;
+        }
+
+    }
+
+}
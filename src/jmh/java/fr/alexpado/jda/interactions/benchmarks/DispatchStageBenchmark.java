@@ -0,0 +1,164 @@
+package fr.alexpado.jda.interactions.benchmarks;
+
+import fr.alexpado.jda.interactions.annotations.Interact;
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.ext.sentry.ITelemetry;
+import fr.alexpado.jda.interactions.ext.sentry.ITimedAction;
+import fr.alexpado.jda.interactions.impl.ResponseHandlerRegistry;
+import fr.alexpado.jda.interactions.impl.handlers.SinkResponseHandler;
+import fr.alexpado.jda.interactions.impl.interactions.slash.SlashInteractionTargetImpl;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonCodec;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionTarget;
+import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionTarget;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks measuring each stage of the interaction flow separately, in the order they are executed by
+ * {@link fr.alexpado.jda.interactions.InteractionExtension}: URI creation, route resolution, option extraction, target
+ * execution (parameter injection) and response handler lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchStageBenchmark {
+
+    private SlashInteractionContainer              slashContainer;
+    private ButtonInteractionContainer             buttonContainer;
+    private ButtonCodec                            codec;
+    private SlashCommandInteraction                echo;
+    private ButtonInteraction                      counter;
+    private URI                                    echoUri;
+    private URI                                    counterUri;
+    private ITimedAction                           timedAction;
+    private DispatchEvent<SlashCommandInteraction> echoEvent;
+    private SlashInteractionTarget                 generatedTarget;
+    private SlashInteractionTarget                 methodHandleTarget;
+    private ResponseHandlerRegistry                responseHandlers;
+    private Object                                 response;
+
+    @Setup
+    public void setup() throws Exception {
+
+        BenchmarkEnvironment environment = new BenchmarkEnvironment(Stubs.immediate());
+
+        this.slashContainer  = environment.getSlashContainer();
+        this.buttonContainer = environment.getButtonContainer();
+        this.codec           = this.buttonContainer.getCodec("counter/{id}").orElseThrow();
+        this.echo            = environment.echo();
+        this.counter         = environment.counter();
+        this.echoUri         = this.slashContainer.getEventUri(this.echo);
+        this.counterUri      = this.buttonContainer.getEventUri(this.counter);
+        this.timedAction     = ITelemetry.disabled().start(() -> "benchmark");
+        this.echoEvent       = this.slashContainer.handle(this.timedAction, this.echo);
+
+        Method          method = BenchmarkInteractions.class.getMethod("echo", User.class, String.class, long.class);
+        InteractionMeta meta   = InteractionMeta.of(method.getAnnotation(Interact.class), false);
+
+        this.generatedTarget    = this.slashContainer.resolve(this.echoUri).orElseThrow();
+        this.methodHandleTarget = new SlashInteractionTargetImpl(new BenchmarkInteractions(), method, meta);
+
+        // Same registration order as a typical bot: the sink first, then the containers of the extension.
+        this.responseHandlers = new ResponseHandlerRegistry();
+        this.responseHandlers.register(new SinkResponseHandler());
+        this.responseHandlers.register(environment.getExtension().getAutocompleteContainer());
+        this.responseHandlers.register(this.buttonContainer);
+        this.responseHandlers.register(this.slashContainer);
+
+        this.response = this.generatedTarget.execute(this.echoEvent, this.slashContainer.getMappedClasses());
+    }
+
+    @Benchmark
+    public URI createUri() {
+
+        return this.slashContainer.createURI("echo");
+    }
+
+    @Benchmark
+    public URI createSlashEventUri() {
+
+        return this.slashContainer.getEventUri(this.echo);
+    }
+
+    @Benchmark
+    public URI createButtonEventUri() {
+
+        return this.buttonContainer.getEventUri(this.counter);
+    }
+
+    @Benchmark
+    public Optional<SlashInteractionTarget> resolveSlash() {
+
+        return this.slashContainer.resolve(this.echoUri);
+    }
+
+    @Benchmark
+    public Optional<ButtonInteractionTarget> resolveButton() {
+
+        return this.buttonContainer.resolve(this.counterUri);
+    }
+
+    @Benchmark
+    public DispatchEvent<SlashCommandInteraction> extractSlashOptions() {
+
+        return this.slashContainer.handle(this.timedAction, this.echo);
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeButtonOptions() {
+
+        Map<String, Object> options = new HashMap<>();
+        this.codec.decode(Map.of("id", "1024"), this.counterUri.getRawQuery(), options);
+        return options;
+    }
+
+    @Benchmark
+    public Object executeGeneratedInvoker() throws Exception {
+
+        return this.generatedTarget.execute(this.echoEvent, this.slashContainer.getMappedClasses());
+    }
+
+    @Benchmark
+    public Object executeMethodHandle() throws Exception {
+
+        return this.methodHandleTarget.execute(this.echoEvent, this.slashContainer.getMappedClasses());
+    }
+
+    @Benchmark
+    public boolean checkLocalResponseHandler() {
+
+        return this.slashContainer.canHandle(this.echoEvent, this.response);
+    }
+
+    @Benchmark
+    public InteractionResponseHandler resolveResponseHandler() {
+
+        return this.responseHandlers.resolve(this.echoEvent, this.response);
+    }
+
+}
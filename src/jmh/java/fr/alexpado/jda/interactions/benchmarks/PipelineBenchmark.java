@@ -0,0 +1,70 @@
+package fr.alexpado.jda.interactions.benchmarks;
+
+import fr.alexpado.jda.interactions.InteractionExtension;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks measuring the whole interaction flow, from {@link InteractionExtension#run(String, Class,
+ * net.dv8tion.jda.api.interactions.Interaction)} to the reply sent to a REST layer completing immediately.
+ * <p>
+ * A new interaction is created for each invocation, as an interaction can only be acknowledged once. Creating the stub
+ * is part of the measurement but does not allocate nearly as much as the flow itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    private BenchmarkEnvironment environment;
+    private InteractionExtension extension;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        this.environment = new BenchmarkEnvironment(Stubs.immediate());
+        this.extension   = this.environment.getExtension();
+    }
+
+    @Benchmark
+    public void slashWithoutOptions() {
+
+        this.extension.run("slash://ping", SlashCommandInteraction.class, this.environment.ping());
+    }
+
+    @Benchmark
+    public void slashWithOptions() {
+
+        this.extension.run("slash://echo", SlashCommandInteraction.class, this.environment.echo());
+    }
+
+    @Benchmark
+    public void button() {
+
+        this.extension.run("button://counter", ButtonInteraction.class, this.environment.counter());
+    }
+
+    @Benchmark
+    public void autocomplete() {
+
+        this.extension.run("complete://echo", CommandAutoCompleteInteraction.class, this.environment.complete());
+    }
+
+}
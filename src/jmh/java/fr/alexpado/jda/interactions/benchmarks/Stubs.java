@@ -0,0 +1,394 @@
+package fr.alexpado.jda.interactions.benchmarks;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
+import net.dv8tion.jda.api.interactions.InteractionType;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Factory creating JDA objects backed by {@link Proxy} instances, allowing to drive the interaction flow without any
+ * connection to Discord.
+ * <p>
+ * Methods without an explicit answer return a default value: the stub itself for fluent methods, an empty value for
+ * strings and collections, and a new stub for any other interface (such as the {@code RestAction} returned by
+ * {@code reply()}). Every request sent through {@code submit()}, {@code queue()} or {@code complete()} is handed to the
+ * {@link RestLayer}, using the name of the method which created the request as route, along with the stub from which
+ * the request originates (usually the interaction).
+ */
+public final class Stubs {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final RestLayer  rest;
+    private final AtomicLong snowflakes;
+    private final JDA        jda;
+
+    /**
+     * Create a new {@link Stubs} factory.
+     *
+     * @param rest
+     *         The {@link RestLayer} answering every request.
+     */
+    public Stubs(RestLayer rest) {
+
+        this.rest       = rest;
+        this.snowflakes = new AtomicLong(1L << 22);
+        this.jda        = this.stub(JDA.class, Map.of());
+    }
+
+    /**
+     * Create a new {@link Stubs} factory whose requests all complete immediately.
+     *
+     * @return A {@link Stubs} instance.
+     */
+    public static Stubs immediate() {
+
+        return new Stubs((source, route) -> CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Create an {@link OptionMapping} the same way JDA does, from the payload Discord would send.
+     *
+     * @param jda
+     *         The {@link JDA} instance.
+     * @param name
+     *         The name of the option.
+     * @param type
+     *         The {@link OptionType} of the option.
+     * @param value
+     *         The raw value of the option.
+     *
+     * @return An {@link OptionMapping}.
+     */
+    public static OptionMapping option(JDA jda, String name, OptionType type, Object value) {
+
+        DataObject data = DataObject.empty()
+                                    .put("name", name)
+                                    .put("type", type.getKey())
+                                    .put("value", value);
+
+        return new OptionMapping(data, new TLongObjectHashMap<>(), jda, null);
+    }
+
+    /**
+     * Retrieve the {@link JDA} stub shared by every interaction created by this factory.
+     *
+     * @return A {@link JDA} stub.
+     */
+    public JDA jda() {
+
+        return this.jda;
+    }
+
+    /**
+     * Create a {@link User} stub.
+     *
+     * @param id
+     *         The id of the user.
+     *
+     * @return A {@link User} stub.
+     */
+    public User user(long id) {
+
+        return this.stub(User.class, Map.of(
+                "getIdLong", (proxy, method, args) -> id,
+                "getId", (proxy, method, args) -> Long.toString(id),
+                "getName", (proxy, method, args) -> "user-" + id,
+                "getJDA", (proxy, method, args) -> this.jda
+        ));
+    }
+
+    /**
+     * Create a {@link SlashCommandInteraction} stub.
+     *
+     * @param user
+     *         The {@link User} running the command.
+     * @param command
+     *         The full command name, as returned by {@link SlashCommandInteraction#getFullCommandName()}.
+     * @param options
+     *         The options of the command.
+     *
+     * @return A {@link SlashCommandInteraction} stub.
+     */
+    public SlashCommandInteraction slash(User user, String command, List<OptionMapping> options) {
+
+        Map<String, Answer> answers = this.interaction(user, InteractionType.COMMAND);
+        int                 space   = command.indexOf(' ');
+
+        answers.put("getFullCommandName", (proxy, method, args) -> command);
+        answers.put("getName", (proxy, method, args) -> space == -1 ? command : command.substring(0, space));
+        answers.put("getCommandType", (proxy, method, args) -> Command.Type.SLASH);
+        answers.put("getOptions", (proxy, method, args) -> options);
+        answers.put("getOption", (proxy, method, args) -> options.stream()
+                                                          .filter(option -> option.getName().equals(args[0]))
+                                                          .findFirst()
+                                                          .orElse(null));
+
+        return this.stub(SlashCommandInteraction.class, answers);
+    }
+
+    /**
+     * Create a {@link ButtonInteraction} stub.
+     *
+     * @param user
+     *         The {@link User} clicking the button.
+     * @param componentId
+     *         The id of the button.
+     *
+     * @return A {@link ButtonInteraction} stub.
+     */
+    public ButtonInteraction button(User user, String componentId) {
+
+        Map<String, Answer> answers = this.interaction(user, InteractionType.COMPONENT);
+
+        answers.put("getComponentId", (proxy, method, args) -> componentId);
+
+        return this.stub(ButtonInteraction.class, answers);
+    }
+
+    /**
+     * Create a {@link CommandAutoCompleteInteraction} stub.
+     *
+     * @param user
+     *         The {@link User} typing the option.
+     * @param command
+     *         The full command name, as returned by {@link CommandAutoCompleteInteraction#getFullCommandName()}.
+     * @param focused
+     *         The name of the option being typed.
+     * @param value
+     *         The value typed so far.
+     *
+     * @return A {@link CommandAutoCompleteInteraction} stub.
+     */
+    public CommandAutoCompleteInteraction autocomplete(User user, String command, String focused, String value) {
+
+        Map<String, Answer> answers = this.interaction(user, InteractionType.COMMAND_AUTOCOMPLETE);
+        OptionMapping       option  = option(this.jda, focused, OptionType.STRING, value);
+        AutoCompleteQuery   query   = new AutoCompleteQuery(option);
+
+        answers.put("getFullCommandName", (proxy, method, args) -> command);
+        answers.put("getName", (proxy, method, args) -> command.split(" ")[0]);
+        answers.put("getCommandType", (proxy, method, args) -> Command.Type.SLASH);
+        answers.put("getFocusedOption", (proxy, method, args) -> query);
+        answers.put("getOptions", (proxy, method, args) -> List.of(option));
+
+        return this.stub(CommandAutoCompleteInteraction.class, answers);
+    }
+
+    private Map<String, Answer> interaction(User user, InteractionType type) {
+
+        long                id           = this.snowflakes.incrementAndGet();
+        AtomicBoolean       acknowledged = new AtomicBoolean();
+        Map<String, Answer> answers      = new HashMap<>();
+        Answer              acknowledge  = (proxy, method, args) -> {
+            acknowledged.set(true);
+            return this.stub(method.getReturnType(), method.getName(), Map.of(), proxy);
+        };
+
+        answers.put("getIdLong", (proxy, method, args) -> id);
+        answers.put("getId", (proxy, method, args) -> Long.toString(id));
+        answers.put("getType", (proxy, method, args) -> type);
+        answers.put("getTypeRaw", (proxy, method, args) -> type.getKey());
+        answers.put("getUser", (proxy, method, args) -> user);
+        answers.put("getJDA", (proxy, method, args) -> this.jda);
+        answers.put("isFromGuild", (proxy, method, args) -> false);
+        answers.put("isAcknowledged", (proxy, method, args) -> acknowledged.get());
+
+        for (String name : List.of("reply", "replyEmbeds", "deferReply", "deferEdit", "editMessage", "replyChoices", "replyChoiceStrings")) {
+            answers.put(name, acknowledge);
+        }
+
+        return answers;
+    }
+
+    /**
+     * Create a stub of the provided interface.
+     *
+     * @param type
+     *         The interface to implement.
+     * @param answers
+     *         The {@link Answer} to use for each method name. Other methods return a default value.
+     * @param <T>
+     *         The type of the stub.
+     *
+     * @return A stub implementing the provided interface.
+     */
+    public <T> T stub(Class<T> type, Map<String, Answer> answers) {
+
+        return this.stub(type, type.getSimpleName(), answers, null);
+    }
+
+    private <T> T stub(Class<T> type, String route, Map<String, Answer> answers, @Nullable Object source) {
+
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Handler(type, route, answers, source));
+        return type.cast(proxy);
+    }
+
+    /**
+     * Interface representing the fake REST layer answering every request sent by the stubs.
+     */
+    @FunctionalInterface
+    public interface RestLayer {
+
+        /**
+         * Execute the request of the provided route.
+         *
+         * @param source
+         *         The stub from which the request originates, such as the interaction being answered.
+         * @param route
+         *         The name of the method which created the request, such as {@code reply} or {@code editOriginal}.
+         *
+         * @return A {@link CompletableFuture} completing with the result of the request.
+         */
+        CompletableFuture<?> execute(Object source, String route);
+
+    }
+
+    /**
+     * Interface representing the answer of a stub to a method call.
+     */
+    @FunctionalInterface
+    public interface Answer {
+
+        /**
+         * Answer the call of the provided method.
+         *
+         * @param proxy
+         *         The stub on which the method has been called.
+         * @param method
+         *         The {@link Method} called.
+         * @param arguments
+         *         The arguments of the call.
+         *
+         * @return The value to return.
+         */
+        @Nullable Object answer(Object proxy, Method method, Object[] arguments);
+
+    }
+
+    private final class Handler implements InvocationHandler {
+
+        private final Class<?>            type;
+        private final String              route;
+        private final Map<String, Answer> answers;
+        private final Object              source;
+
+        private Handler(Class<?> type, String route, Map<String, Answer> answers, @Nullable Object source) {
+
+            this.type    = type;
+            this.route   = route;
+            this.answers = answers;
+            this.source  = source;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+
+            Object[] arguments = args == null ? NO_ARGUMENTS : args;
+            Answer   answer    = this.answers.get(method.getName());
+
+            if (answer != null) {
+                return answer.answer(proxy, method, arguments);
+            }
+
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == arguments[0];
+                case "toString" -> this.type.getSimpleName() + "Stub[" + this.route + "]";
+                case "submit" -> this.execute(proxy);
+                case "complete" -> this.execute(proxy).join();
+                case "queue" -> this.queue(proxy, arguments);
+                default -> this.fallback(proxy, method);
+            };
+        }
+
+        private Object source(Object proxy) {
+
+            return this.source == null ? proxy : this.source;
+        }
+
+        private CompletableFuture<?> execute(Object proxy) {
+
+            return Stubs.this.rest.execute(this.source(proxy), this.route);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object queue(Object proxy, Object[] arguments) {
+
+            Consumer<Object>    success = arguments.length > 0 ? (Consumer<Object>) arguments[0] : null;
+            Consumer<Throwable> failure = arguments.length > 1 ? (Consumer<Throwable>) arguments[1] : null;
+
+            this.execute(proxy).whenComplete((result, throwable) -> {
+                if (throwable == null && success != null) {
+                    success.accept(result);
+                } else if (throwable != null && failure != null) {
+                    failure.accept(throwable);
+                }
+            });
+            return null;
+        }
+
+        private Object fallback(Object proxy, Method method) {
+
+            Class<?> returnType = method.getReturnType();
+
+            if (returnType == void.class) {
+                return null;
+            }
+            if (returnType.isPrimitive()) {
+                return Array.get(Array.newInstance(returnType, 1), 0);
+            }
+            if (returnType.isInstance(proxy)) {
+                return proxy; // Fluent methods, such as setEphemeral()
+            }
+            if (returnType == String.class) {
+                return "";
+            }
+            if (returnType == CompletableFuture.class) {
+                return this.execute(proxy);
+            }
+            if (returnType == List.class || returnType == Collection.class) {
+                return List.of();
+            }
+            if (returnType == Set.class) {
+                return Set.of();
+            }
+            if (returnType == Map.class) {
+                return Map.of();
+            }
+            if (returnType == Optional.class) {
+                return Optional.empty();
+            }
+            if (returnType.isInterface()) {
+                return Stubs.this.stub(returnType, method.getName(), Map.of(), this.source(proxy));
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,240 @@
+package fr.alexpado.jda.interactions.loadtest;
+
+import fr.alexpado.jda.interactions.benchmarks.Stubs;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fake Discord REST API answering the requests sent by the {@link Stubs}, with a configurable latency and rate limit
+ * injection.
+ * <p>
+ * Like JDA, rate limited requests (HTTP 429) are sent again once their {@code Retry-After} delay elapsed instead of
+ * failing, and requests sent through the interaction hook (such as {@code editOriginal}) wait for the interaction to be
+ * acknowledged. Callbacks are completed on the common pool, as JDA does by default.
+ */
+public class FakeDiscordRest implements Stubs.RestLayer {
+
+    /**
+     * Interaction acknowledgement deadline enforced by Discord.
+     */
+    public static final long ACKNOWLEDGEMENT_DEADLINE = TimeUnit.SECONDS.toNanos(3);
+
+    private static final Set<String> CALLBACKS = Set.of(
+            "reply",
+            "replyEmbeds",
+            "deferReply",
+            "deferEdit",
+            "editMessage",
+            "replyChoices",
+            "replyChoiceStrings"
+    );
+    private static final Set<String> RESPONSES = Set.of(
+            "reply",
+            "replyEmbeds",
+            "editMessage",
+            "replyChoices",
+            "replyChoiceStrings",
+            "editOriginal",
+            "editOriginalEmbeds",
+            "sendMessage",
+            "sendMessageEmbeds"
+    );
+
+    private final long                     latency;
+    private final long                     jitter;
+    private final double                   rateLimitRatio;
+    private final long                     retryAfter;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Object, Exchange>    exchanges;
+    private final Map<String, LongAdder>   requests;
+    private final LongAdder                rateLimited;
+    private final LongAdder                expired;
+    private final LatencyRecorder          acknowledgements;
+    private final LatencyRecorder          responses;
+
+    /**
+     * Create a new {@link FakeDiscordRest}.
+     *
+     * @param latency
+     *         The minimum latency of each request, in milliseconds.
+     * @param jitter
+     *         The maximum random latency added to each request, in milliseconds.
+     * @param rateLimitRatio
+     *         The ratio of requests answered with a 429, between 0 and 1.
+     * @param retryAfter
+     *         The {@code Retry-After} delay of rate limited requests, in milliseconds.
+     * @param capacity
+     *         The maximum amount of latencies kept for the report.
+     */
+    public FakeDiscordRest(long latency, long jitter, double rateLimitRatio, long retryAfter, int capacity) {
+
+        this.latency          = latency;
+        this.jitter           = jitter;
+        this.rateLimitRatio   = rateLimitRatio;
+        this.retryAfter       = retryAfter;
+        this.scheduler        = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("fake-rest").factory());
+        this.exchanges        = new ConcurrentHashMap<>();
+        this.requests         = new ConcurrentHashMap<>();
+        this.rateLimited      = new LongAdder();
+        this.expired          = new LongAdder();
+        this.acknowledgements = new LatencyRecorder(capacity);
+        this.responses        = new LatencyRecorder(capacity);
+    }
+
+    /**
+     * Start tracking the requests of the provided interaction. This must be called when the interaction is received.
+     *
+     * @param interaction
+     *         The interaction stub.
+     */
+    public void open(Object interaction) {
+
+        this.exchanges.put(interaction, new Exchange(System.nanoTime()));
+    }
+
+    @Override
+    public CompletableFuture<?> execute(Object source, String route) {
+
+        this.requests.computeIfAbsent(route, key -> new LongAdder()).increment();
+        Exchange exchange = this.exchanges.get(source);
+
+        if (exchange == null) {
+            return this.send();
+        }
+
+        CompletableFuture<Object> request = CALLBACKS.contains(route)
+                                            ? this.send()
+                                            : exchange.acknowledged.thenCompose(ignored -> this.send());
+
+        return request.whenComplete((result, throwable) -> {
+            long elapsed = System.nanoTime() - exchange.start;
+
+            if (CALLBACKS.contains(route) && exchange.acknowledged.complete(null)) {
+                this.acknowledgements.record(elapsed);
+                if (elapsed > ACKNOWLEDGEMENT_DEADLINE) {
+                    this.expired.increment();
+                }
+            }
+
+            if (RESPONSES.contains(route) && this.exchanges.remove(source, exchange)) {
+                this.responses.record(elapsed);
+            }
+        });
+    }
+
+    private CompletableFuture<Object> send() {
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        this.schedule(future);
+        return future;
+    }
+
+    private void schedule(CompletableFuture<Object> future) {
+
+        long delay = this.latency + (this.jitter > 0 ? ThreadLocalRandom.current().nextLong(this.jitter + 1) : 0);
+
+        this.scheduler.schedule(() -> {
+            if (ThreadLocalRandom.current().nextDouble() < this.rateLimitRatio) {
+                this.rateLimited.increment();
+                this.scheduler.schedule(() -> this.schedule(future), this.retryAfter, TimeUnit.MILLISECONDS);
+            } else {
+                ForkJoinPool.commonPool().execute(() -> future.complete(null));
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Retrieve the amount of interactions which did not receive their response yet.
+     *
+     * @return The amount of pending interactions.
+     */
+    public int getPending() {
+
+        return this.exchanges.size();
+    }
+
+    /**
+     * Retrieve the amount of requests answered with a 429.
+     *
+     * @return The amount of rate limited requests.
+     */
+    public long getRateLimited() {
+
+        return this.rateLimited.sum();
+    }
+
+    /**
+     * Retrieve the amount of interactions acknowledged after {@link #ACKNOWLEDGEMENT_DEADLINE}, which Discord would
+     * have rejected.
+     *
+     * @return The amount of expired interactions.
+     */
+    public long getExpired() {
+
+        return this.expired.sum();
+    }
+
+    /**
+     * Retrieve the amount of requests sent to each route, sorted by route.
+     *
+     * @return A map associating each route to its amount of requests.
+     */
+    public Map<String, Long> getRequests() {
+
+        Map<String, Long> requests = new TreeMap<>();
+        this.requests.forEach((route, count) -> requests.put(route, count.sum()));
+        return requests;
+    }
+
+    /**
+     * Retrieve the latencies between the reception of each interaction and its acknowledgement.
+     *
+     * @return A {@link LatencyRecorder}.
+     */
+    public LatencyRecorder getAcknowledgements() {
+
+        return this.acknowledgements;
+    }
+
+    /**
+     * Retrieve the latencies between the reception of each interaction and its response.
+     *
+     * @return A {@link LatencyRecorder}.
+     */
+    public LatencyRecorder getResponses() {
+
+        return this.responses;
+    }
+
+    /**
+     * Stop the scheduler simulating the latency.
+     */
+    public void shutdown() {
+
+        this.scheduler.shutdownNow();
+    }
+
+    private static final class Exchange {
+
+        private final long                    start;
+        private final CompletableFuture<Void> acknowledged;
+
+        private Exchange(long start) {
+
+            this.start        = start;
+            this.acknowledged = new CompletableFuture<>();
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package fr.alexpado.jda.interactions.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class recording latencies from many threads without locking, and computing their percentiles once the load test is
+ * over. Values recorded once the capacity has been reached are counted but not kept.
+ */
+public class LatencyRecorder {
+
+    private final AtomicLongArray values;
+    private final AtomicInteger   count;
+
+    /**
+     * Create a new {@link LatencyRecorder}.
+     *
+     * @param capacity
+     *         The maximum amount of values kept.
+     */
+    public LatencyRecorder(int capacity) {
+
+        this.values = new AtomicLongArray(capacity);
+        this.count  = new AtomicInteger();
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos
+     *         The latency, in nanoseconds.
+     */
+    public void record(long nanos) {
+
+        int index = this.count.getAndIncrement();
+        if (index < this.values.length()) {
+            this.values.set(index, nanos);
+        }
+    }
+
+    /**
+     * Retrieve the amount of latencies recorded.
+     *
+     * @return The amount of latencies recorded.
+     */
+    public int getCount() {
+
+        return this.count.get();
+    }
+
+    /**
+     * Create a summary of the recorded latencies, in milliseconds.
+     *
+     * @return A summary such as {@code p50=12.0 p90=...}.
+     */
+    public String summarize() {
+
+        int    size   = Math.min(this.count.get(), this.values.length());
+        long[] sorted = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            sorted[i] = this.values.get(i);
+        }
+        Arrays.sort(sorted);
+
+        if (size == 0) {
+            return "no value";
+        }
+
+        return String.format(
+                "p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f",
+                millis(sorted, 0.5),
+                millis(sorted, 0.9),
+                millis(sorted, 0.99),
+                millis(sorted, 0.999),
+                millis(sorted, 1)
+        );
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,150 @@
+package fr.alexpado.jda.interactions.loadtest;
+
+import fr.alexpado.jda.interactions.InteractionExtension;
+import fr.alexpado.jda.interactions.benchmarks.BenchmarkEnvironment;
+import fr.alexpado.jda.interactions.benchmarks.Stubs;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionExecutor;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Load test feeding synthetic interactions into an {@link InteractionExtension} at a fixed rate, with a
+ * {@link FakeDiscordRest} standing in for Discord, then reporting the throughput, the latency percentiles and the
+ * threads used.
+ * <p>
+ * Interactions are emitted from a single "gateway" thread and handed to the configured {@link InteractionExecutor},
+ * just like the default listener methods do on JDA's event thread. The load is open: the emission rate doesn't slow
+ * down when the extension falls behind, unless the executor runs interactions on the gateway thread.
+ *
+ * @see LoadTestOptions#parse(String...)
+ */
+public final class LoadTest {
+
+    private static final long DRAIN_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    private LoadTest() {}
+
+    /**
+     * Run the load test.
+     *
+     * @param args
+     *         The options of the load test, as {@code key=value} arguments.
+     *
+     * @throws InterruptedException
+     *         If interrupted while waiting for the load test to complete.
+     */
+    public static void main(String[] args) throws InterruptedException {
+
+        LoadTestOptions options  = LoadTestOptions.parse(args);
+        int             expected = Math.multiplyExact(options.rate(), options.duration());
+        FakeDiscordRest rest     = new FakeDiscordRest(
+                options.latency(),
+                options.jitter(),
+                options.rateLimitRatio(),
+                options.retryAfter(),
+                expected
+        );
+
+        BenchmarkEnvironment environment = new BenchmarkEnvironment(new Stubs(rest));
+        InteractionExtension extension   = environment.getExtension();
+        InteractionExecutor  executor    = options.createExecutor();
+        Workload[]           workloads   = weighted(options.mix());
+        Set<Long>            threads     = ConcurrentHashMap.newKeySet();
+        AtomicLong           emitted     = new AtomicLong();
+        ThreadMXBean         threadBean  = ManagementFactory.getThreadMXBean();
+
+        extension.setAsynchronous(options.asynchronous());
+        extension.setDeferralMode(options.deferralMode());
+        extension.registerInteractions(new LoadTestInteractions(options.work()));
+
+        ScheduledExecutorService gateway = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("gateway").factory());
+
+        System.out.printf(
+                "Load test: %d interactions/s for %ds, executor=%s, asynchronous=%s, deferral=%s, REST latency=%d+%dms, 429 ratio=%s%n",
+                options.rate(),
+                options.duration(),
+                options.executor(),
+                options.asynchronous(),
+                options.deferralMode(),
+                options.latency(),
+                options.jitter(),
+                options.rateLimitRatio()
+        );
+
+        threadBean.resetPeakThreadCount();
+        long start = System.nanoTime();
+
+        gateway.scheduleAtFixedRate(() -> {
+            if (emitted.get() >= expected) {
+                return;
+            }
+            emitted.incrementAndGet();
+
+            Workload    workload    = workloads[ThreadLocalRandom.current().nextInt(workloads.length)];
+            Interaction interaction = workload.create(environment);
+
+            rest.open(interaction);
+            executor.execute(interaction, () -> {
+                threads.add(Thread.currentThread().threadId());
+                workload.dispatch(extension, interaction);
+            });
+        }, 0, TimeUnit.SECONDS.toNanos(1) / options.rate(), TimeUnit.NANOSECONDS);
+
+        while (emitted.get() < expected) {
+            Thread.sleep(100);
+        }
+        long emission = System.nanoTime() - start;
+        gateway.shutdown();
+
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT;
+        while (rest.getPending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int answered = rest.getResponses().getCount();
+
+        System.out.printf("Emitted      : %d (%.1f/s)%n", emitted.get(), emitted.get() / seconds(emission));
+        System.out.printf("Answered     : %d (%.1f/s)%n", answered, answered / seconds(elapsed));
+        System.out.printf("Unanswered   : %d%n", rest.getPending());
+        System.out.printf("Expired      : %d (acknowledged after 3s)%n", rest.getExpired());
+        System.out.printf("Rate limited : %d%n", rest.getRateLimited());
+        System.out.printf("Requests     : %s%n", rest.getRequests());
+        System.out.printf("Acknowledged : %s%n", rest.getAcknowledgements().summarize());
+        System.out.printf("Answered in  : %s%n", rest.getResponses().summarize());
+        System.out.printf(
+                "Threads      : %d distinct executing, %d platform peak, %d platform live%n",
+                threads.size(),
+                threadBean.getPeakThreadCount(),
+                threadBean.getThreadCount()
+        );
+
+        rest.shutdown();
+        System.exit(0);
+    }
+
+    private static Workload[] weighted(Map<Workload, Integer> mix) {
+
+        return mix.entrySet()
+                  .stream()
+                  .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                  .toArray(Workload[]::new);
+    }
+
+    private static double seconds(long nanos) {
+
+        return nanos / 1_000_000_000.0;
+    }
+
+}
@@ -0,0 +1,36 @@
+package fr.alexpado.jda.interactions.loadtest;
+
+import fr.alexpado.jda.interactions.annotations.Interact;
+import fr.alexpado.jda.interactions.benchmarks.BenchmarkInteractions;
+import fr.alexpado.jda.interactions.responses.SlashResponse;
+
+/**
+ * Interactions used by the load test on top of the {@link BenchmarkInteractions}, simulating a slow deferred command.
+ */
+public class LoadTestInteractions {
+
+    private final long work;
+
+    /**
+     * Create a new {@link LoadTestInteractions}.
+     *
+     * @param work
+     *         The time spent by the slow command, in milliseconds.
+     */
+    public LoadTestInteractions(long work) {
+
+        this.work = work;
+    }
+
+    @Interact(
+            name = "work",
+            description = "Run a slow task",
+            defer = true
+    )
+    public SlashResponse work() throws InterruptedException {
+
+        Thread.sleep(this.work);
+        return new BenchmarkInteractions.Response(request -> request.setContent("done"), false);
+    }
+
+}
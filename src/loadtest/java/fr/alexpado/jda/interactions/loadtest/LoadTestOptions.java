@@ -0,0 +1,115 @@
+package fr.alexpado.jda.interactions.loadtest;
+
+import fr.alexpado.jda.interactions.enums.DeferralMode;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionExecutor;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Options of the load test, read from {@code key=value} arguments.
+ *
+ * @param rate
+ *         The amount of interactions received per second.
+ * @param duration
+ *         The duration of the load test, in seconds.
+ * @param latency
+ *         The minimum latency of each REST request, in milliseconds.
+ * @param jitter
+ *         The maximum random latency added to each REST request, in milliseconds.
+ * @param rateLimitRatio
+ *         The ratio of REST requests answered with a 429.
+ * @param retryAfter
+ *         The {@code Retry-After} delay of rate limited requests, in milliseconds.
+ * @param executor
+ *         The {@link InteractionExecutor} to use: {@code inline}, {@code virtual} or {@code pooled:<threads>}.
+ * @param asynchronous
+ *         True to use the non-blocking interaction flow.
+ * @param work
+ *         The time spent by the slow deferred command, in milliseconds.
+ * @param deferralMode
+ *         The {@link DeferralMode} of the extension.
+ * @param mix
+ *         The weight of each {@link Workload}.
+ */
+public record LoadTestOptions(
+        int rate,
+        int duration,
+        long latency,
+        long jitter,
+        double rateLimitRatio,
+        long retryAfter,
+        String executor,
+        boolean asynchronous,
+        long work,
+        DeferralMode deferralMode,
+        Map<Workload, Integer> mix
+) {
+
+    /**
+     * Read the options from the provided arguments, such as {@code rate=500 executor=pooled:16 deferral=coalesce mix=ping:3,work:1}.
+     * Missing options keep their default value.
+     *
+     * @param args
+     *         The program arguments.
+     *
+     * @return The {@link LoadTestOptions}.
+     *
+     * @throws IllegalArgumentException
+     *         If an argument is invalid.
+     */
+    public static LoadTestOptions parse(String... args) {
+
+        Map<String, String> values = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid argument " + arg + ", expected key=value.");
+            }
+            values.put(arg.substring(0, separator).toLowerCase(Locale.ROOT), arg.substring(separator + 1));
+        }
+
+        Map<Workload, Integer> mix = new EnumMap<>(Workload.class);
+        for (String entry : values.getOrDefault("mix", "ping:4,echo:3,counter:2,complete:2,work:1").split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Workload.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                Long.parseLong(values.getOrDefault("latency", "40")),
+                Long.parseLong(values.getOrDefault("jitter", "30")),
+                Double.parseDouble(values.getOrDefault("ratelimit", "0.01")),
+                Long.parseLong(values.getOrDefault("retryafter", "1000")),
+                values.getOrDefault("executor", "virtual"),
+                Boolean.parseBoolean(values.getOrDefault("async", "false")),
+                Long.parseLong(values.getOrDefault("work", "1500")),
+                DeferralMode.valueOf(values.getOrDefault("deferral", "static").toUpperCase(Locale.ROOT)),
+                mix
+        );
+    }
+
+    /**
+     * Create the {@link InteractionExecutor} described by {@link #executor()}.
+     *
+     * @return An {@link InteractionExecutor}.
+     */
+    public InteractionExecutor createExecutor() {
+
+        if (this.executor.startsWith("pooled:")) {
+            int threads = Integer.parseInt(this.executor.substring("pooled:".length()));
+            return InteractionExecutor.pooled(threads, threads * 64);
+        }
+
+        return switch (this.executor) {
+            case "inline" -> InteractionExecutor.inline();
+            case "virtual" -> InteractionExecutor.virtualThreads();
+            default -> throw new IllegalArgumentException("Unknown executor " + this.executor);
+        };
+    }
+
+}
@@ -0,0 +1,74 @@
+package fr.alexpado.jda.interactions.loadtest;
+
+import fr.alexpado.jda.interactions.InteractionExtension;
+import fr.alexpado.jda.interactions.benchmarks.BenchmarkEnvironment;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Enum representing each kind of interaction sent by the load test.
+ */
+public enum Workload {
+
+    PING(
+            BenchmarkEnvironment::ping,
+            (extension, interaction) -> extension.run("slash://ping", SlashCommandInteraction.class, (SlashCommandInteraction) interaction)
+    ),
+    ECHO(
+            BenchmarkEnvironment::echo,
+            (extension, interaction) -> extension.run("slash://echo", SlashCommandInteraction.class, (SlashCommandInteraction) interaction)
+    ),
+    COUNTER(
+            BenchmarkEnvironment::counter,
+            (extension, interaction) -> extension.run("button://counter", ButtonInteraction.class, (ButtonInteraction) interaction)
+    ),
+    COMPLETE(
+            BenchmarkEnvironment::complete,
+            (extension, interaction) -> extension.run("complete://echo", CommandAutoCompleteInteraction.class, (CommandAutoCompleteInteraction) interaction)
+    ),
+    WORK(
+            environment -> environment.slash("work"),
+            (extension, interaction) -> extension.run("slash://work", SlashCommandInteraction.class, (SlashCommandInteraction) interaction)
+    );
+
+    private final Function<BenchmarkEnvironment, Interaction>   factory;
+    private final BiConsumer<InteractionExtension, Interaction> dispatcher;
+
+    Workload(Function<BenchmarkEnvironment, Interaction> factory, BiConsumer<InteractionExtension, Interaction> dispatcher) {
+
+        this.factory    = factory;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Create a new interaction of this kind.
+     *
+     * @param environment
+     *         The {@link BenchmarkEnvironment} creating the interaction stubs.
+     *
+     * @return An {@link Interaction} stub.
+     */
+    public Interaction create(BenchmarkEnvironment environment) {
+
+        return this.factory.apply(environment);
+    }
+
+    /**
+     * Run the interaction flow of the provided interaction, as the default listener methods would.
+     *
+     * @param extension
+     *         The {@link InteractionExtension} under test.
+     * @param interaction
+     *         The {@link Interaction} created by {@link #create(BenchmarkEnvironment)}.
+     */
+    public void dispatch(InteractionExtension extension, Interaction interaction) {
+
+        this.dispatcher.accept(extension, interaction);
+    }
+
+}
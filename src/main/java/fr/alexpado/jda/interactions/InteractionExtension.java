@@ -1,9 +1,22 @@
 package fr.alexpado.jda.interactions;
 
+import fr.alexpado.jda.interactions.annotations.Interact;
 import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.enums.DeferralMode;
+import fr.alexpado.jda.interactions.enums.DispatchOrder;
+import fr.alexpado.jda.interactions.ext.discord.CommandSynchronizer;
+import fr.alexpado.jda.interactions.ext.metrics.InteractionMetrics;
+import fr.alexpado.jda.interactions.ext.metrics.MetricsTimedAction;
+import fr.alexpado.jda.interactions.ext.sentry.ITelemetry;
 import fr.alexpado.jda.interactions.ext.sentry.ITimedAction;
 import fr.alexpado.jda.interactions.impl.DefaultErrorHandler;
+import fr.alexpado.jda.interactions.impl.DeferralWatchdog;
+import fr.alexpado.jda.interactions.impl.InteractionRegistrar;
+import fr.alexpado.jda.interactions.impl.PreprocessorChain;
+import fr.alexpado.jda.interactions.impl.ResponseHandlerRegistry;
+import fr.alexpado.jda.interactions.impl.executors.InteractionExecutors;
 import fr.alexpado.jda.interactions.impl.interactions.autocomplete.AutocompleteInteractionContainerImpl;
+import fr.alexpado.jda.interactions.impl.interactions.autocomplete.AutocompleteScheduler;
 import fr.alexpado.jda.interactions.impl.interactions.button.ButtonInteractionContainerImpl;
 import fr.alexpado.jda.interactions.impl.interactions.slash.SlashInteractionContainerImpl;
 import fr.alexpado.jda.interactions.interfaces.interactions.*;
@@ -11,8 +24,6 @@ import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.Autocom
 import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionContainer;
 import fr.alexpado.jda.interactions.tools.InteractionUtils;
-import io.sentry.IScope;
-import io.sentry.Sentry;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -28,13 +39,17 @@ import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.api.interactions.InteractionType;
 import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
-import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
 import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * This class is the one containing the main logic to redirect an {@link Interaction} to the right
@@ -47,28 +62,44 @@ public class InteractionExtension extends ListenerAdapter {
 
     private final Map<Class<? extends Interaction>, InteractionEventHandler<?>> handlers;
     private final Map<Class<? extends Interaction>, InteractionContainer<?, ?>> containers;
-    private final Collection<InteractionResponseHandler>                        responseHandlers;
-    private final Collection<InteractionPreprocessor>                           preprocessors;
+    private final ResponseHandlerRegistry                                       responseHandlers;
+    private final PreprocessorChain                                             preprocessors;
 
     private final SlashInteractionContainer        slashContainer;
     private final ButtonInteractionContainer       buttonContainer;
     private final AutocompleteInteractionContainer autocompleteContainer;
+    private final InteractionRegistrar             registrar;
+    private final CommandSynchronizer              synchronizer;
+    private final DeferralWatchdog                 watchdog;
     private       InteractionErrorHandler          errorHandler;
+    private       boolean                          asynchronous;
+    private       InteractionExecutor              executor;
+    private       AutocompleteScheduler            autocompleteScheduler;
+    private       ITelemetry                       telemetry;
+    private       InteractionMetrics               metrics;
+    private       CommandSync                      commandSync;
+    private       DeferralMode                     deferralMode;
 
     /**
      * Create a new instance of {@link InteractionExtension}.
      */
     public InteractionExtension() {
 
-        this.handlers         = new HashMap<>();
-        this.containers       = new HashMap<>();
-        this.responseHandlers = new ArrayList<>();
-        this.preprocessors    = new ArrayList<>();
+        this.handlers         = new ConcurrentHashMap<>();
+        this.containers       = new ConcurrentHashMap<>();
+        this.responseHandlers = new ResponseHandlerRegistry();
+        this.preprocessors    = new PreprocessorChain();
         this.errorHandler     = new DefaultErrorHandler();
+        this.executor         = InteractionExecutor.virtualThreads();
+        this.telemetry        = ITelemetry.sentry();
 
         this.slashContainer        = new SlashInteractionContainerImpl();
         this.buttonContainer       = new ButtonInteractionContainerImpl();
         this.autocompleteContainer = new AutocompleteInteractionContainerImpl();
+        this.registrar             = new InteractionRegistrar(this.slashContainer, this.buttonContainer, this.autocompleteContainer);
+        this.synchronizer          = new CommandSynchronizer(this.slashContainer);
+        this.watchdog              = new DeferralWatchdog();
+        this.deferralMode          = DeferralMode.STATIC;
 
         this.registerContainer(SlashCommandInteraction.class, this.slashContainer);
         this.registerContainer(ButtonInteraction.class, this.buttonContainer);
@@ -169,6 +200,82 @@ public class InteractionExtension extends ListenerAdapter {
         this.containers.put(forInteraction, container);
     }
 
+    /**
+     * Register every method annotated with {@link Interact} declared by the class of the provided holder into the
+     * default containers.
+     *
+     * @param holder
+     *         The object on which the interaction methods will be called.
+     *
+     * @return The amount of methods registered.
+     *
+     * @see InteractionRegistrar
+     */
+    public int registerInteractions(Object holder) {
+
+        return this.registrar.register(holder);
+    }
+
+    /**
+     * Remove every interaction registered from a holder of the same class as the provided one, then synchronize the
+     * slash commands with Discord if a {@link CommandSync} has been set.
+     *
+     * @param holder
+     *         The object whose interaction methods should be removed.
+     *
+     * @return A {@link CompletableFuture} completing once commands have been synchronized.
+     *
+     * @see #setCommandSync(CommandSync)
+     */
+    public CompletableFuture<CommandSynchronizer.SyncResult> unregisterInteractions(Object holder) {
+
+        this.registrar.unregister(holder);
+        return this.synchronizeCommands();
+    }
+
+    /**
+     * Replace every interaction registered from the previous holder with the ones declared by the replacement, without
+     * interrupting the events being dispatched, then synchronize the slash commands with Discord if a
+     * {@link CommandSync} has been set. Only the commands that actually changed are sent to Discord.
+     *
+     * @param previous
+     *         The object whose interaction methods should be removed.
+     * @param replacement
+     *         The object on which the new interaction methods will be called.
+     *
+     * @return A {@link CompletableFuture} completing once commands have been synchronized.
+     *
+     * @see InteractionRegistrar#reload(Object, Object)
+     */
+    public CompletableFuture<CommandSynchronizer.SyncResult> reloadInteractions(Object previous, Object replacement) {
+
+        this.registrar.reload(previous, replacement);
+        return this.synchronizeCommands();
+    }
+
+    /**
+     * Define how slash commands are synchronized with Discord after interactions have been unregistered or reloaded,
+     * for example {@code sync -> sync.synchronize(jda)} or {@code sync -> sync.synchronize(jda.getGuilds(), 4)}. By
+     * default, commands are not synchronized.
+     *
+     * @param commandSync
+     *         The {@link CommandSync} to use, or {@code null} to disable synchronization.
+     */
+    public void setCommandSync(@Nullable CommandSync commandSync) {
+
+        this.commandSync = commandSync;
+    }
+
+    private CompletableFuture<CommandSynchronizer.SyncResult> synchronizeCommands() {
+
+        CommandSync sync = this.commandSync;
+
+        if (sync == null) {
+            return CompletableFuture.completedFuture(CommandSynchronizer.SyncResult.EMPTY);
+        }
+        return sync.synchronize(this.synchronizer);
+    }
+
     /**
      * Register a new {@link InteractionResponseHandler}.
      *
@@ -177,7 +284,7 @@ public class InteractionExtension extends ListenerAdapter {
      */
     public void registerResponseHandler(InteractionResponseHandler handler) {
 
-        this.responseHandlers.add(handler);
+        this.responseHandlers.register(handler);
     }
 
     /**
@@ -188,7 +295,101 @@ public class InteractionExtension extends ListenerAdapter {
      */
     public void registerPreprocessor(InteractionPreprocessor preprocessor) {
 
-        this.preprocessors.add(preprocessor);
+        this.preprocessors.register(preprocessor);
+    }
+
+    /**
+     * Set the {@link InteractionExecutor} deciding on which thread each {@link Interaction} received by the default
+     * listener methods is executed. By default, each interaction runs in its own virtual thread, so that a blocking
+     * target never stalls the JDA event thread. Use {@link InteractionExecutor#inline()} to execute interactions
+     * directly on the JDA event thread instead.
+     *
+     * @param executor
+     *         The {@link InteractionExecutor} implementation.
+     *
+     * @see InteractionExecutor#inline()
+     * @see InteractionExecutor#pooled(int, int)
+     * @see InteractionExecutors#ordered(InteractionExecutor, DispatchOrder)
+     */
+    public void setExecutor(InteractionExecutor executor) {
+
+        this.executor = executor;
+    }
+
+    /**
+     * Define whether auto-completion requests superseded by a newer one from the same user, for the same command and
+     * option, should be skipped. When enabled, providers still running for an older value can check
+     * {@link AutocompleteScheduler#isCancelled()} to stop early, and their result won't be sent. This is mostly useful
+     * with an {@link InteractionExecutor} running interactions concurrently.
+     *
+     * @param debounce
+     *         True to skip superseded requests, false to answer every request (default).
+     */
+    public void setAutocompleteDebounce(boolean debounce) {
+
+        this.autocompleteScheduler = debounce ? new AutocompleteScheduler() : null;
+    }
+
+    /**
+     * Set the {@link ITelemetry} used to time interactions and attach their context. By default,
+     * {@link ITelemetry#sentry()} is used, which only collects data while Sentry is enabled.
+     *
+     * @param telemetry
+     *         The {@link ITelemetry} implementation.
+     */
+    public void setTelemetry(ITelemetry telemetry) {
+
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Set the {@link InteractionMetrics} receiving the duration of each stage of the interaction flow, tagged by
+     * schema and route. Metrics are collected independently of the {@link ITelemetry} state.
+     *
+     * @param metrics
+     *         The {@link InteractionMetrics} implementation, or {@code null} to disable metrics (default).
+     */
+    public void setMetrics(@Nullable InteractionMetrics metrics) {
+
+        this.metrics = metrics;
+    }
+
+    /**
+     * Define whether {@link #run(String, Class, Interaction)} should return as soon as the response has been queued
+     * instead of waiting for Discord to acknowledge it. When enabled, the {@link ITimedAction} and the
+     * {@link InteractionErrorHandler} are handled once the response completes, on JDA's callback threads.
+     *
+     * @param asynchronous
+     *         True to use the non-blocking flow, false to wait for each response (default).
+     */
+    public void setAsynchronous(boolean asynchronous) {
+
+        this.asynchronous = asynchronous;
+    }
+
+    /**
+     * Define when interactions are deferred. By default, only targets annotated with {@link Interact#defer()} are
+     * deferred.
+     *
+     * @param deferralMode
+     *         The {@link DeferralMode} to use.
+     *
+     * @see #getDeferralWatchdog()
+     */
+    public void setDeferralMode(DeferralMode deferralMode) {
+
+        this.deferralMode = deferralMode;
+    }
+
+    /**
+     * Retrieve the {@link DeferralWatchdog} used by the {@link DeferralMode#WATCHDOG} and {@link DeferralMode#COALESCE}
+     * modes, allowing to configure its threshold.
+     *
+     * @return The {@link DeferralWatchdog}.
+     */
+    public DeferralWatchdog getDeferralWatchdog() {
+
+        return this.watchdog;
     }
 
     /**
@@ -202,171 +403,298 @@ public class InteractionExtension extends ListenerAdapter {
      *         The interaction event to handle
      * @param <T>
      *         The type of the interaction
+     */
+    public <T extends Interaction> void run(String transactionName, Class<T> type, T discordEvent) {
+
+        this.run(() -> transactionName, type, discordEvent, System.nanoTime());
+    }
+
+    private <T extends Interaction> void run(Supplier<String> transactionName, Class<T> type, T discordEvent, long receivedAt) {
+
+        // Checked once: when disabled, nothing below allocates or formats anything for telemetry.
+        ITelemetry telemetry = this.telemetry.isEnabled() ? this.telemetry : ITelemetry.disabled();
+
+        try {
+            InteractionMetrics   metrics     = this.metrics;
+            ITimedAction         timedAction = metrics == null
+                                               ? telemetry.start(transactionName)
+                                               : new MetricsTimedAction(telemetry.start(transactionName), metrics);
+            CompletableFuture<?> completion;
+
+            try {
+                completion = this.execute(telemetry, timedAction, type, discordEvent, receivedAt);
+            } catch (RuntimeException | Error e) {
+                timedAction.failed(e);
+                timedAction.close();
+                throw e;
+            }
+
+            CompletableFuture<?> flow = completion.whenComplete((result, throwable) -> timedAction.close());
+
+            if (!this.asynchronous) {
+                InteractionUtils.await(flow);
+            }
+        } finally {
+            telemetry.release();
+        }
+    }
+
+    /**
+     * Execute the interaction flow up to the point where the response has been handed to its
+     * {@link InteractionResponseHandler}.
+     *
+     * @param telemetry
+     *         The {@link ITelemetry} used for this execution.
+     * @param timedAction
+     *         The {@link ITimedAction} used to time this execution.
+     * @param type
+     *         The class of the interaction.
+     * @param discordEvent
+     *         The interaction event to handle
+     * @param receivedAt
+     *         The {@link System#nanoTime()} at which the interaction event has been received, before being queued.
+     * @param <T>
+     *         The type of the interaction
      * @param <V>
      *         The type of the target
      * @param <K>
      *         The type of the container
+     *
+     * @return A {@link CompletableFuture} completing when the response has been sent or the error handled.
      */
     // Suppressing warning for unchecked cast as it is type-safe due to the nature of the register methods signature.
-    public <T extends Interaction, V extends InteractionTarget<T>, K extends InteractionContainer<V, T>> void run(String transactionName, Class<T> type, T discordEvent) {
+    private <T extends Interaction, V extends InteractionTarget<T>, K extends InteractionContainer<V, T>> CompletableFuture<?> execute(ITelemetry telemetry, ITimedAction timedAction, Class<T> type, T discordEvent, long receivedAt) {
+
+        if (!this.handlers.containsKey(type)) {
+            throw new IllegalStateException("No handler for the provided interaction.");
+        }
+
+        if (!this.containers.containsKey(type)) {
+            throw new IllegalStateException("No container for the provided interaction.");
+        }
 
-        try (ITimedAction timedAction = ITimedAction.create()) {
-            timedAction.open(transactionName, "interaction", "Interaction received");
+        timedAction.action("handling", "Handling the interaction");
+        InteractionEventHandler<T> handler   = (InteractionEventHandler<T>) this.handlers.get(type);
+        DispatchEvent<T>           event     = handler.handle(timedAction, discordEvent);
+        K                          container = (K) this.containers.get(type);
+        event.deferral().setReceivedAt(receivedAt);
+        timedAction.tag("schema", event.schema());
+        telemetry.configure(event);
+        timedAction.endAction();
 
-            if (!this.handlers.containsKey(type)) {
-                throw new IllegalStateException("No handler for the provided interaction.");
+        try {
+            timedAction.action("preprocessors", "Calling preprocessors");
+
+            if (!this.preprocessors.mayContinue(type, event)) {
+                return CompletableFuture.completedFuture(null); // Ignore this event
             }
+        } catch (Exception e) {
+            timedAction.failed(e);
+            this.errorHandler.handleException(event, e);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (this.deferralMode == DeferralMode.WATCHDOG) {
+            this.watchdog.watch(event);
+        } else if (this.deferralMode == DeferralMode.COALESCE) {
+            event.deferral().coalesce(this.watchdog);
+        }
+
+        CompletableFuture<?> flow;
+
+        try {
+            flow = this.respond(timedAction, type, event, container);
+        } catch (RuntimeException | Error e) {
+            this.preprocessors.postprocess(type, event);
+            throw e;
+        }
+        return flow.whenComplete((ignored, throwable) -> this.preprocessors.postprocess(type, event));
+    }
+
+    /**
+     * Execute the interaction flow of a {@link DispatchEvent} allowed by the preprocessors, up to the point where the
+     * response has been handed to its {@link InteractionResponseHandler}.
+     *
+     * @param timedAction
+     *         The {@link ITimedAction} used to time this execution.
+     * @param type
+     *         The class of the interaction.
+     * @param event
+     *         The {@link DispatchEvent} to execute.
+     * @param container
+     *         The {@link InteractionContainer} of the interaction.
+     * @param <T>
+     *         The type of the interaction
+     * @param <V>
+     *         The type of the target
+     *
+     * @return A {@link CompletableFuture} completing when the response has been sent or the error handled.
+     */
+    private <T extends Interaction, V extends InteractionTarget<T>> CompletableFuture<?> respond(ITimedAction timedAction, Class<T> type, DispatchEvent<T> event, InteractionContainer<V, T> container) {
+
+        CompletableFuture<Object> dispatched;
+
+        try {
+            Object result = this.preprocessors.preprocess(type, event);
+
+            timedAction.endAction();
 
-            if (!this.containers.containsKey(type)) {
-                throw new IllegalStateException("No container for the provided interaction.");
+            if (result != null) {
+                return this.answer(timedAction, event, container, result);
             }
 
-            timedAction.action("handling", "Handling the interaction");
-            InteractionEventHandler<T> handler   = (InteractionEventHandler<T>) this.handlers.get(type);
-            DispatchEvent<T>           event     = handler.handle(timedAction, discordEvent);
-            K                          container = (K) this.containers.get(type);
+            timedAction.action("dispatching", "Dispatching the interaction");
+            dispatched = container.dispatchAsync(event);
+        } catch (Exception e) {
+            return this.fail(timedAction, event, e);
+        }
+
+        // Only containers waiting for Discord before executing their target complete later, on JDA's callback threads.
+        return dispatched.handle((result, throwable) -> {
+            if (throwable != null) {
+                return this.fail(timedAction, event, InteractionUtils.unwrap(throwable));
+            }
             timedAction.endAction();
+            return this.answer(timedAction, event, container, result);
+        }).thenCompose(Function.identity());
+    }
 
-            try {
-                timedAction.action("preprocessors", "Calling preprocessors");
+    /**
+     * Hand the result of a {@link DispatchEvent} to the {@link InteractionResponseHandler} able to handle it.
+     *
+     * @param timedAction
+     *         The {@link ITimedAction} used to time this execution.
+     * @param event
+     *         The {@link DispatchEvent} source of the result.
+     * @param container
+     *         The {@link InteractionContainer} of the interaction.
+     * @param result
+     *         The result of the interaction.
+     * @param <T>
+     *         The type of the interaction
+     *
+     * @return A {@link CompletableFuture} completing when the response has been sent or the error handled.
+     */
+    private <T extends Interaction> CompletableFuture<Object> answer(ITimedAction timedAction, DispatchEvent<T> event, InteractionContainer<?, T> container, Object result) {
 
-                if (!this.preprocessors.stream().allMatch(preprocessor -> preprocessor.mayContinue(event))) {
-                    return; // Ignore this event
-                }
+        try {
+            InteractionResponseHandler responseHandler;
+
+            timedAction.action("answering", "Finding and using the response handler");
+            // Prioritize self-contained feature
+            if (container instanceof InteractionResponseHandler localHandler && localHandler.canHandle(
+                    event,
+                    result
+            )) {
+                responseHandler = localHandler;
+            } else {
+                responseHandler = this.responseHandlers.resolve(event, result);
+            }
+
+            // From now on, the watchdog can't defer the interaction anymore.
+            event.deferral().claim();
 
-                Object result = this.preprocessors.stream()
-                                                  .map(preprocessor -> preprocessor.preprocess(event))
-                                                  .filter(Optional::isPresent)
-                                                  .findFirst()
-                                                  .orElse(Optional.empty())
-                                                  .orElse(null);
+            if (responseHandler == null) {
+                this.errorHandler.onNoResponseHandlerFound(event, result);
+                return CompletableFuture.completedFuture(null);
+            }
 
+            return responseHandler.handleResponseAsync(event, result).handle((ignored, throwable) -> {
                 timedAction.endAction();
 
-                if (result == null) {
-                    timedAction.action("dispatching", "Dispatching the interaction");
-                    result = container.dispatch(event);
-                    timedAction.endAction();
+                if (throwable != null) {
+                    Throwable cause = InteractionUtils.unwrap(throwable);
+                    timedAction.failed(cause);
+                    if (!(cause instanceof Exception exception)) {
+                        throw new CompletionException(cause);
+                    }
+                    this.errorHandler.handleException(event, exception);
                 }
+                return null;
+            });
+        } catch (Exception e) {
+            return this.fail(timedAction, event, e);
+        }
+    }
 
-                InteractionResponseHandler responseHandler;
-
-                timedAction.action("answering", "Finding and using the response handler");
-                // Prioritize self-contained feature
-                if (container instanceof InteractionResponseHandler localHandler && localHandler.canHandle(
-                        event,
-                        result
-                )) {
-                    responseHandler = localHandler;
-                } else {
-
-                    Object finalResult = result;
-                    responseHandler = this.responseHandlers.stream()
-                                                           .filter(registeredHandler -> registeredHandler.canHandle(
-                                                                   event,
-                                                                   finalResult
-                                                           ))
-                                                           .findAny()
-                                                           .orElse(null);
-                }
+    private <T extends Interaction> CompletableFuture<Object> fail(ITimedAction timedAction, DispatchEvent<T> event, Throwable throwable) {
 
-                if (responseHandler == null) {
-                    this.errorHandler.onNoResponseHandlerFound(event, result);
-                    return;
-                }
+        timedAction.failed(throwable);
 
-                responseHandler.handleResponse(event, result);
-                timedAction.endAction();
-            } catch (Exception e) {
-                this.errorHandler.handleException(event, e);
-            }
+        if (!(throwable instanceof Exception exception)) {
+            throw throwable instanceof Error error ? error : new CompletionException(throwable);
         }
+
+        event.deferral().claim();
+        this.errorHandler.handleException(event, exception);
+        return CompletableFuture.completedFuture(null);
     }
 
     // <editor-fold desc="Default Listener">
     @Override
     public void onSlashCommandInteraction(@NotNull SlashCommandInteractionEvent event) {
 
-        Sentry.configureScope(scope -> this.createScope(scope, event, "slash", event.getFullCommandName()
-                                                                                    .replace(" ", "/")));
-
-        String transaction = "slash://%s".formatted(event.getFullCommandName().replace(" ", "/"));
+        // Stamped before being queued, so that the time spent waiting for the executor counts toward the deadline.
+        long receivedAt = System.nanoTime();
 
-        this.run(transaction, SlashCommandInteraction.class, event);
-        Sentry.popScope();
+        this.executor.execute(event, () -> this.run(
+                () -> "slash://" + event.getFullCommandName().replace(' ', '/'),
+                SlashCommandInteraction.class,
+                event,
+                receivedAt
+        ));
     }
 
     @Override
     public void onButtonInteraction(@NotNull ButtonInteractionEvent event) {
 
-        Sentry.configureScope(scope -> this.createScope(scope, event, "button", event.getComponentId()));
-
-        String transaction;
-        try {
-            URI uri = URI.create(event.getComponentId());
-            transaction = "%s://%s%s".formatted(uri.getScheme(), uri.getHost(), uri.getPath());
-        } catch (Exception ignore) {
-            transaction = "button://%s".formatted(event.getComponentId());
-        }
-
-        this.run(transaction, ButtonInteraction.class, event);
-        Sentry.popScope();
+        long receivedAt = System.nanoTime();
+
+        this.executor.execute(event, () -> this.run(
+                () -> {
+                    String componentId = event.getComponentId();
+                    int    query       = componentId.indexOf('?');
+                    String route       = query == -1 ? componentId : componentId.substring(0, query);
+                    return route.contains("://") ? route : "button://" + route;
+                },
+                ButtonInteraction.class,
+                event,
+                receivedAt
+        ));
     }
 
     @Override
     public void onCommandAutoCompleteInteraction(@NotNull CommandAutoCompleteInteractionEvent event) {
 
-        Sentry.configureScope(scope -> this.createScope(scope, event, "auto-complete", event.getFullCommandName()
-                                                                                            .replace(" ", "/")));
+        long     receivedAt = System.nanoTime();
+        Runnable task       = () -> this.run(
+                () -> "complete://" + event.getFullCommandName().replace(' ', '/'),
+                CommandAutoCompleteInteraction.class,
+                event,
+                receivedAt
+        );
 
-        String transaction = "complete://%s".formatted(event.getFullCommandName().replace(" ", "/"));
-        this.run(transaction, CommandAutoCompleteInteraction.class, event);
-        Sentry.popScope();
+        AutocompleteScheduler scheduler = this.autocompleteScheduler;
+        this.executor.execute(event, scheduler == null ? task : scheduler.schedule(event, task));
     }
     // </editor-fold>
 
-    private void createScope(IScope scope, Interaction interaction, String type, String description) {
-
-        Map<String, String> extra   = new HashMap<>();
-        User                user    = interaction.getUser();
-        Channel             channel = interaction.getChannel();
-        Guild               guild   = interaction.getGuild();
-
-        io.sentry.protocol.User sentryUser = new io.sentry.protocol.User();
-        sentryUser.setId(user.getId());
-        sentryUser.setEmail("%s@discordapp.com".formatted(user.getId()));
-        sentryUser.setUsername(user.getName());
-        scope.setUser(sentryUser);
-
-        scope.setTag("category", "interaction");
-        scope.setTag("type", "auto-complete");
-        scope.setTag("interaction", interaction.getId());
-        scope.setTag("description", description);
-
-        scope.setTag("user", user.getId());
-        extra.put("user", user.getName());
-
-        if (channel != null) {
-            scope.setTag("channel", channel.getId());
-            extra.put("channel", channel.getName());
-        }
-
-        if (guild != null) {
-            scope.setTag("guild", guild.getId());
-            extra.put("guild", guild.getName());
-        }
-
-        if (interaction instanceof SlashCommandInteraction slash) {
-            Map<String, Object> options = new HashMap<>();
-
-            for (OptionMapping option : slash.getOptions()) {
-                options.put(option.getName(), InteractionUtils.extractOptionValue(option));
-            }
-
-            scope.setContexts("Interaction", options);
-        }
+    /**
+     * Strategy synchronizing the slash commands with Discord after a change of the registered interactions.
+     */
+    @FunctionalInterface
+    public interface CommandSync {
+
+        /**
+         * Synchronize the slash commands using the provided {@link CommandSynchronizer}.
+         *
+         * @param synchronizer
+         *         The {@link CommandSynchronizer} of the {@link SlashInteractionContainer}.
+         *
+         * @return A {@link CompletableFuture} completing once commands have been synchronized.
+         */
+        CompletableFuture<CommandSynchronizer.SyncResult> synchronize(CommandSynchronizer synchronizer);
 
-        scope.setContexts("Discord", extra);
     }
 
 }
@@ -0,0 +1,272 @@
+package fr.alexpado.jda.interactions.entities;
+
+import fr.alexpado.jda.interactions.impl.DeferralWatchdog;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.callbacks.IMessageEditCallback;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Class tracking whether the {@link Interaction} of a {@link DispatchEvent} has been deferred, so that a deferral sent
+ * by a {@link DeferralWatchdog} and the response can never be sent at the same time.
+ * <p>
+ * Once the response is ready, the flow {@link #claim() claims} the interaction: from then on, it can't be deferred
+ * anymore, and {@link #isDeferred()} tells the {@link InteractionResponseHandler} whether it should edit the original
+ * response or reply.
+ * <p>
+ * When {@link #coalesce(DeferralWatchdog) coalescing}, a deferral requested by the target is raced against the
+ * threshold of the {@link DeferralWatchdog} instead of being sent right away: a target answering in time gets a single
+ * initial reply, and only slower ones are deferred then edited.
+ */
+public class Deferral {
+
+    private final    Interaction        interaction;
+    private volatile long               receivedAt;
+    private          DeferralWatchdog   watchdog;
+    private          ScheduledFuture<?> task;
+    private          String             route;
+    private          boolean            reply;
+    private          boolean            hidden;
+    private          boolean            deferred;
+    private          boolean            claimed;
+    private          boolean            coalesce;
+    private          boolean            raced;
+    private          boolean            overdue;
+
+    /**
+     * Create a new {@link Deferral} for the provided {@link Interaction}, received now.
+     *
+     * @param interaction
+     *         The {@link Interaction} to track.
+     */
+    public Deferral(Interaction interaction) {
+
+        this.interaction = interaction;
+        this.receivedAt  = System.nanoTime();
+        this.reply       = true;
+    }
+
+    /**
+     * Retrieve the {@link Interaction} tracked by this {@link Deferral}.
+     *
+     * @return An {@link Interaction}.
+     */
+    public Interaction getInteraction() {
+
+        return this.interaction;
+    }
+
+    /**
+     * Retrieve the {@link System#nanoTime()} at which the {@link Interaction} has been received.
+     *
+     * @return A {@link System#nanoTime()} value.
+     */
+    public long getReceivedAt() {
+
+        return this.receivedAt;
+    }
+
+    /**
+     * Define the {@link System#nanoTime()} at which the {@link Interaction} has been received. This must be called
+     * before the {@link Interaction} is watched when it has been queued before being dispatched, so that the time spent
+     * in the queue counts toward the threshold.
+     *
+     * @param receivedAt
+     *         A {@link System#nanoTime()} value.
+     */
+    public void setReceivedAt(long receivedAt) {
+
+        this.receivedAt = receivedAt;
+    }
+
+    /**
+     * Retrieve the name of the target executing the {@link Interaction}, once known.
+     *
+     * @return The name of the target, or {@code null} if it hasn't been resolved yet.
+     */
+    public synchronized @Nullable String getRoute() {
+
+        return this.route;
+    }
+
+    /**
+     * Check if the {@link Interaction} has been deferred. When true, the response must edit the original message
+     * instead of replying.
+     *
+     * @return True if deferred, false otherwise.
+     */
+    public synchronized boolean isDeferred() {
+
+        return this.deferred;
+    }
+
+    /**
+     * Check if the response of the {@link Interaction} is being sent.
+     *
+     * @return True if claimed, false otherwise.
+     */
+    public synchronized boolean isClaimed() {
+
+        return this.claimed;
+    }
+
+    /**
+     * Attach the {@link DeferralWatchdog} watching the {@link Interaction}, along with its scheduled deferral.
+     *
+     * @param watchdog
+     *         The {@link DeferralWatchdog} watching the {@link Interaction}.
+     * @param task
+     *         The task deferring the {@link Interaction} once its threshold is reached.
+     */
+    public synchronized void watch(DeferralWatchdog watchdog, ScheduledFuture<?> task) {
+
+        this.watchdog = watchdog;
+        this.task     = task;
+
+        if (this.deferred || this.claimed) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Let the provided {@link DeferralWatchdog} decide when a deferral requested through {@link #defer()} is sent.
+     *
+     * @param watchdog
+     *         The {@link DeferralWatchdog} racing the target against its threshold.
+     */
+    public synchronized void coalesce(DeferralWatchdog watchdog) {
+
+        this.watchdog = watchdog;
+        this.coalesce = true;
+    }
+
+    /**
+     * Define how the {@link Interaction} should be deferred, once the target executing it is known. If the
+     * {@link DeferralWatchdog} expects this target to be slow, the {@link Interaction} is deferred right away.
+     *
+     * @param route
+     *         The name of the target.
+     * @param reply
+     *         True to defer a reply, false to defer an edit of the original message.
+     * @param hidden
+     *         True if the deferred reply should be ephemeral.
+     */
+    public synchronized void configure(String route, boolean reply, boolean hidden) {
+
+        this.route  = route;
+        this.reply  = reply;
+        this.hidden = hidden;
+
+        // When coalescing, only targets requesting a deferral are raced, see defer().
+        if (this.overdue || !this.coalesce && this.watchdog != null && this.watchdog.isSlow(route)) {
+            this.send(false);
+        }
+    }
+
+    /**
+     * Defer the {@link Interaction} now, unless it has already been deferred or claimed. When coalescing, the deferral
+     * is only sent right away if the target is known to be slow, and is otherwise left to the
+     * {@link DeferralWatchdog}.
+     *
+     * @return True if the deferral has been sent, false otherwise.
+     *
+     * @throws UnsupportedOperationException
+     *         If the {@link Interaction} can't be deferred the way it has been configured.
+     */
+    public synchronized boolean defer() {
+
+        if (!this.coalesce || this.raced) {
+            return this.send(true);
+        }
+
+        if (!this.isDeferrable()) {
+            throw new UnsupportedOperationException("Couldn't pre-handle deferred request");
+        }
+
+        this.raced = true;
+
+        if (this.route != null && this.watchdog.isSlow(this.route)) {
+            return this.send(true);
+        }
+
+        this.watchdog.watch(this);
+        return false;
+    }
+
+    /**
+     * Defer the {@link Interaction} if its response is not being sent yet. Unlike {@link #defer()}, interactions which
+     * can't be deferred are left untouched.
+     * <p>
+     * An {@link Interaction} which can either be deferred as a reply or as an edit, such as a button, is only deferred
+     * once its target is known: if the target hasn't started yet, it will be deferred as soon as it is
+     * {@link #configure(String, boolean, boolean) configured}.
+     *
+     * @return True if the deferral has been sent, false otherwise.
+     */
+    public synchronized boolean deferIfUnanswered() {
+
+        if (this.route == null && this.interaction instanceof IMessageEditCallback) {
+            this.overdue = true;
+            return false;
+        }
+        return this.send(false);
+    }
+
+    /**
+     * Claim the {@link Interaction} before sending its response or handling an error, preventing any later deferral.
+     * The first claim reports the time taken to produce the response to the {@link DeferralWatchdog}, if any.
+     *
+     * @return True if the {@link Interaction} has been deferred, meaning the response must edit the original message.
+     */
+    public synchronized boolean claim() {
+
+        if (!this.claimed) {
+            this.claimed = true;
+
+            if (this.task != null) {
+                this.task.cancel(false);
+            }
+            if (this.watchdog != null && this.route != null && (!this.coalesce || this.raced)) {
+                this.watchdog.record(this.route, System.nanoTime() - this.receivedAt);
+            }
+        }
+        return this.deferred;
+    }
+
+    private boolean send(boolean strict) {
+
+        if (this.deferred || this.claimed) {
+            return false;
+        }
+
+        if (!this.isDeferrable()) {
+            if (strict) {
+                throw new UnsupportedOperationException("Couldn't pre-handle deferred request");
+            }
+            return false;
+        }
+
+        // The interaction hook holds any follow-up request until the acknowledgement went through, so there is no
+        // need to wait for Discord here.
+        if (this.reply) {
+            ((IReplyCallback) this.interaction).deferReply(this.hidden).queue();
+        } else {
+            ((IMessageEditCallback) this.interaction).deferEdit().queue();
+        }
+
+        this.deferred = true;
+        if (this.task != null) {
+            this.task.cancel(false);
+        }
+        return true;
+    }
+
+    private boolean isDeferrable() {
+
+        return this.reply ? this.interaction instanceof IReplyCallback : this.interaction instanceof IMessageEditCallback;
+    }
+
+}
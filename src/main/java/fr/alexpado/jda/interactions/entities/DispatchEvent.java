@@ -4,24 +4,40 @@ import fr.alexpado.jda.interactions.ext.sentry.ITimedAction;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import net.dv8tion.jda.api.interactions.Interaction;
+import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Class wrapping an {@link Interaction} with additional data to help any {@link InteractionContainer} to match a
  * {@link InteractionTarget} to execute.
+ * <p>
+ * The route of the {@link Interaction} is kept as the raw string received from Discord: the {@link URI} returned by
+ * {@link #path()} is only created when requested. Once the {@link InteractionContainer} found the
+ * {@link InteractionTarget} matching the route, it is {@link #resolve(InteractionTarget, String, Map) attached} to this
+ * {@link DispatchEvent}, so that it is not searched again when dispatching.
  *
  * @param <T>
  *         The type of the {@link Interaction}.
  */
-public record DispatchEvent<T extends Interaction>(
-        ITimedAction timedAction,
-        URI path,
-        T interaction,
-        Map<String, Object> options
-) {
+public final class DispatchEvent<T extends Interaction> {
+
+    private final    ITimedAction         timedAction;
+    private final    String               schema;
+    private final    String               route;
+    private final    int                  query;
+    private final    T                    interaction;
+    private final    Map<String, Object>  options;
+    private final    Deferral             deferral;
+    private volatile URI                  path;
+    private          InteractionTarget<T> target;
+    private          String               name;
+    private          String               pattern;
+    private          Map<String, String>  parameters;
 
     /**
      * Create a new {@link DispatchEvent} with the provided path and {@link Interaction}.
@@ -50,8 +66,67 @@ public record DispatchEvent<T extends Interaction>(
      * @param options
      *         The additional options to use when executing the {@link InteractionTarget}.
      */
-    public DispatchEvent {
+    public DispatchEvent(ITimedAction timedAction, URI path, T interaction, Map<String, Object> options) {
+
+        this(timedAction, path, interaction, options, new Deferral(interaction));
+    }
+
+    /**
+     * Create a new {@link DispatchEvent} with the provided path and {@link Interaction}.
+     *
+     * @param timedAction
+     *         An {@link ITimedAction} implementation allowing to time performance.
+     * @param path
+     *         The {@link URI} representing the path of the {@link InteractionTarget} to execute.
+     * @param interaction
+     *         The {@link Interaction} that caused this {@link DispatchEvent} creation.
+     * @param options
+     *         The additional options to use when executing the {@link InteractionTarget}.
+     * @param deferral
+     *         The {@link Deferral} tracking the acknowledgement of the {@link Interaction}.
+     */
+    public DispatchEvent(ITimedAction timedAction, URI path, T interaction, Map<String, Object> options, Deferral deferral) {
+
+        this(timedAction, path.getScheme(), stripAuthority(path.getRawSchemeSpecificPart()), interaction, options, deferral);
+        this.path = path;
+    }
+
+    /**
+     * Create a new {@link DispatchEvent} with the provided route and {@link Interaction}, without creating its
+     * {@link URI}.
+     *
+     * @param timedAction
+     *         An {@link ITimedAction} implementation allowing to time performance.
+     * @param schema
+     *         The schema of the {@link InteractionContainer} handling the {@link Interaction}, such as {@code button}.
+     * @param route
+     *         The raw route of the {@link InteractionTarget} to execute, without schema but with its query if any, such
+     *         as {@code vote/12?choice=1}.
+     * @param interaction
+     *         The {@link Interaction} that caused this {@link DispatchEvent} creation.
+     * @param options
+     *         The additional options to use when executing the {@link InteractionTarget}.
+     */
+    public DispatchEvent(ITimedAction timedAction, String schema, String route, T interaction, Map<String, Object> options) {
+
+        this(timedAction, schema, route, interaction, options, new Deferral(interaction));
+    }
 
+    private DispatchEvent(ITimedAction timedAction, String schema, String route, T interaction, Map<String, Object> options, Deferral deferral) {
+
+        this.timedAction = timedAction;
+        this.schema      = schema;
+        this.route       = route;
+        this.query       = route.indexOf('?');
+        this.interaction = interaction;
+        this.options     = options;
+        this.deferral    = deferral;
+        this.parameters  = Collections.emptyMap();
+    }
+
+    private static String stripAuthority(String route) {
+
+        return route.startsWith("//") ? route.substring(2) : route;
     }
 
     /**
@@ -59,21 +134,88 @@ public record DispatchEvent<T extends Interaction>(
      *
      * @return An {@link ITimedAction}
      */
-    @Override
     public ITimedAction timedAction() {
 
         return this.timedAction;
     }
 
     /**
-     * Retrieve the {@link URI} representing the path of the {@link InteractionTarget} to execute.
+     * Retrieve the {@link URI} representing the path of the {@link InteractionTarget} to execute. The {@link URI} is
+     * created on the first call.
      *
      * @return An {@link URI}.
      */
-    @Override
     public URI path() {
 
-        return this.path;
+        URI path = this.path;
+
+        if (path == null) {
+            try {
+                path = URI.create(this.schema + "://" + this.route);
+            } catch (IllegalArgumentException e) {
+                // Routes can contain characters which must be quoted, such as spaces.
+                try {
+                    path = new URI(this.schema, "//" + this.route, null);
+                } catch (URISyntaxException ex) {
+                    throw new IllegalArgumentException(ex.getMessage(), ex);
+                }
+            }
+            this.path = path;
+        }
+        return path;
+    }
+
+    /**
+     * Retrieve the schema of the {@link InteractionContainer} handling the {@link Interaction}, such as
+     * {@code button}.
+     *
+     * @return The schema.
+     */
+    public String schema() {
+
+        return this.schema;
+    }
+
+    /**
+     * Retrieve the route of the {@link Interaction}, without schema nor query, such as {@code vote/12}.
+     *
+     * @return The route.
+     */
+    public String route() {
+
+        return this.query == -1 ? this.route : this.route.substring(0, this.query);
+    }
+
+    /**
+     * Retrieve the raw route of the {@link Interaction}, without schema but with its query if any. This is the string
+     * matched by the {@link InteractionContainer}, which should only read the range before {@link #queryIndex()}.
+     *
+     * @return The raw route.
+     */
+    public String rawRoute() {
+
+        return this.route;
+    }
+
+    /**
+     * Retrieve the index at which the query starts in {@link #rawRoute()}, or the length of the raw route if there is
+     * no query.
+     *
+     * @return An index of {@link #rawRoute()}.
+     */
+    public int queryIndex() {
+
+        return this.query == -1 ? this.route.length() : this.query;
+    }
+
+    /**
+     * Retrieve the raw query of the route of the {@link Interaction}.
+     *
+     * @return The raw query, or {@code null} if there is none.
+     */
+    public @Nullable String query() {
+
+        return this.query == -1 ? null : this.route.substring(this.query + 1);
     }
 
     /**
@@ -81,7 +223,6 @@ public record DispatchEvent<T extends Interaction>(
      *
      * @return An {@link Interaction}.
      */
-    @Override
     public T interaction() {
 
         return this.interaction;
@@ -92,10 +233,72 @@ public record DispatchEvent<T extends Interaction>(
      *
      * @return A possibly empty {@link Map}
      */
-    @Override
     public Map<String, Object> options() {
 
         return this.options;
     }
 
+    /**
+     * Retrieve the {@link Deferral} tracking whether the {@link Interaction} has been deferred.
+     *
+     * @return A {@link Deferral}.
+     */
+    public Deferral deferral() {
+
+        return this.deferral;
+    }
+
+    /**
+     * Attach the {@link InteractionTarget} matching the route of this {@link DispatchEvent}.
+     *
+     * @param target
+     *         The {@link InteractionTarget} matching the route.
+     * @param name
+     *         The name of the {@link InteractionTarget}, as declared, such as {@code vote/{pollId}}.
+     * @param parameters
+     *         The values captured by the parameter segments of the name.
+     */
+    public void resolve(InteractionTarget<T> target, String name, Map<String, String> parameters) {
+
+        this.target     = target;
+        this.name       = name;
+        this.pattern    = null;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Retrieve the {@link InteractionTarget} matching the route of this {@link DispatchEvent}, once resolved.
+     *
+     * @return The {@link InteractionTarget}, or {@code null} if it hasn't been resolved or no target matched.
+     */
+    public @Nullable InteractionTarget<T> target() {
+
+        return this.target;
+    }
+
+    /**
+     * Retrieve the values captured by the parameter segments of the {@link InteractionTarget} name.
+     *
+     * @return A possibly empty {@link Map}.
+     */
+    public Map<String, String> parameters() {
+
+        return this.parameters;
+    }
+
+    /**
+     * Retrieve the route pattern of the {@link InteractionTarget} matching this {@link DispatchEvent}, including the
+     * schema, such as {@code button://vote/{pollId}}. Unlike the route, the pattern is shared by every interaction
+     * executing the same {@link InteractionTarget}.
+     *
+     * @return The route pattern, or {@code null} if the {@link InteractionTarget} hasn't been resolved.
+     */
+    public @Nullable String pattern() {
+
+        if (this.pattern == null && this.name != null) {
+            this.pattern = this.schema + "://" + this.name;
+        }
+        return this.pattern;
+    }
+
 }
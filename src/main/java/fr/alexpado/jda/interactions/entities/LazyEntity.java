@@ -0,0 +1,179 @@
+package fr.alexpado.jda.interactions.entities;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+
+/**
+ * Handle to a Discord entity known only by its id.
+ * <p>
+ * The entity is looked up in JDA's cache first. When it is not cached and a retrieval method is available, it can be
+ * retrieved from Discord without blocking through {@link #retrieve()} instead of silently resolving to {@code null}.
+ * <p>
+ * Entity options of button interactions are stored as {@link LazyEntity}: nothing is looked up until the target asks
+ * for the entity. A parameter declared with the entity type receives {@link #getCached()}, while a parameter declared
+ * as {@link LazyEntity} receives the handle itself.
+ *
+ * @param <T>
+ *         The type of the entity.
+ */
+public final class LazyEntity<T extends ISnowflake> implements ISnowflake {
+
+    private final    long                        id;
+    private final    LongFunction<T>             cache;
+    private final    LongFunction<RestAction<T>> retriever;
+    private volatile T                           value;
+
+    /**
+     * Create a new {@link LazyEntity}.
+     *
+     * @param id
+     *         The id of the entity.
+     * @param cache
+     *         The function looking up the entity in the cache.
+     * @param retriever
+     *         The function creating the {@link RestAction} retrieving the entity when it is not cached, if any.
+     */
+    public LazyEntity(long id, LongFunction<T> cache, @Nullable LongFunction<RestAction<T>> retriever) {
+
+        this.id        = id;
+        this.cache     = cache;
+        this.retriever = retriever;
+    }
+
+    /**
+     * Create a {@link LazyEntity} for an entity which has already been resolved.
+     *
+     * @param entity
+     *         The entity.
+     * @param <T>
+     *         The type of the entity.
+     *
+     * @return A {@link LazyEntity}.
+     */
+    public static <T extends ISnowflake> LazyEntity<T> of(T entity) {
+
+        LazyEntity<T> lazy = new LazyEntity<>(entity.getIdLong(), id -> entity, null);
+        lazy.value = entity;
+        return lazy;
+    }
+
+    /**
+     * Create a {@link LazyEntity} for a {@link User}, retrieved from Discord when not cached.
+     *
+     * @param jda
+     *         The {@link JDA} instance.
+     * @param id
+     *         The id of the user.
+     *
+     * @return A {@link LazyEntity}.
+     */
+    public static LazyEntity<User> ofUser(JDA jda, long id) {
+
+        return new LazyEntity<>(id, jda::getUserById, jda::retrieveUserById);
+    }
+
+    /**
+     * Create a {@link LazyEntity} for a {@link GuildChannel}. Channels are always cached by JDA, so no retrieval is
+     * attempted.
+     *
+     * @param guild
+     *         The {@link Guild} owning the channel.
+     * @param id
+     *         The id of the channel.
+     *
+     * @return A {@link LazyEntity}.
+     */
+    public static LazyEntity<GuildChannel> ofChannel(Guild guild, long id) {
+
+        return new LazyEntity<>(id, guild::getGuildChannelById, null);
+    }
+
+    /**
+     * Create a {@link LazyEntity} for a {@link Role}. Roles are always cached by JDA, so no retrieval is attempted.
+     *
+     * @param guild
+     *         The {@link Guild} owning the role.
+     * @param id
+     *         The id of the role.
+     *
+     * @return A {@link LazyEntity}.
+     */
+    public static LazyEntity<Role> ofRole(Guild guild, long id) {
+
+        return new LazyEntity<>(id, guild::getRoleById, null);
+    }
+
+    /**
+     * Retrieve the id of the entity.
+     *
+     * @return The id.
+     */
+    @Override
+    public long getIdLong() {
+
+        return this.id;
+    }
+
+    /**
+     * Retrieve the entity from the cache only.
+     *
+     * @return The entity, or {@code null} if it is not cached.
+     */
+    public @Nullable T getCached() {
+
+        T value = this.value;
+
+        if (value == null) {
+            value      = this.cache.apply(this.id);
+            this.value = value;
+        }
+
+        return value;
+    }
+
+    /**
+     * Check if the entity can be retrieved from Discord when it is not cached.
+     *
+     * @return True if {@link #retrieve()} may send a request, false if it only looks at the cache.
+     */
+    public boolean isRetrievable() {
+
+        return this.retriever != null;
+    }
+
+    /**
+     * Retrieve the entity without blocking, requesting it from Discord if it is not cached.
+     *
+     * @return A {@link CompletableFuture} completing with the entity, or with {@code null} if it is not cached and
+     *         cannot be retrieved.
+     */
+    public CompletableFuture<T> retrieve() {
+
+        T value = this.getCached();
+
+        if (value != null || this.retriever == null) {
+            return CompletableFuture.completedFuture(value);
+        }
+
+        return this.retriever.apply(this.id).submit().thenApply(entity -> {
+            this.value = entity;
+            return entity;
+        });
+    }
+
+    @Override
+    public String toString() {
+
+        return "LazyEntity:" + this.id;
+    }
+
+}
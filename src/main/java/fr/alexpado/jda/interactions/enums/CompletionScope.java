@@ -0,0 +1,57 @@
+package fr.alexpado.jda.interactions.enums;
+
+import fr.alexpado.jda.interactions.impl.interactions.autocomplete.CachedAutoCompleteProvider;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Enum allowing to define which {@link Interaction} can share the auto-completion results cached by a
+ * {@link CachedAutoCompleteProvider}.
+ */
+public enum CompletionScope {
+
+    /**
+     * Results are shared by every {@link Interaction}.
+     */
+    GLOBAL(interaction -> 0L),
+    /**
+     * Results are shared by {@link Interaction} coming from the same guild. Interactions received outside a guild
+     * share their results per user.
+     */
+    GUILD(interaction -> {
+        Guild guild = interaction.getGuild();
+        return guild == null ? interaction.getUser().getIdLong() : guild.getIdLong();
+    }),
+    /**
+     * Results are shared by {@link Interaction} coming from the same user.
+     */
+    USER(interaction -> interaction.getUser().getIdLong());
+
+    final ToLongFunction<Interaction> keyExtractor;
+
+    /**
+     * Create a new {@link CompletionScope} enum.
+     *
+     * @param keyExtractor
+     *         A {@link ToLongFunction} returning the key sharing the cached results for an {@link Interaction}.
+     */
+    CompletionScope(ToLongFunction<Interaction> keyExtractor) {
+
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Retrieve the key shared by all {@link Interaction} that can reuse the results cached for the provided one.
+     *
+     * @param interaction
+     *         The {@link Interaction} to check
+     *
+     * @return The scope key.
+     */
+    public long getKey(Interaction interaction) {
+
+        return this.keyExtractor.applyAsLong(interaction);
+    }
+}
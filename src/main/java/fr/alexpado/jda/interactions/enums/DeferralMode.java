@@ -0,0 +1,30 @@
+package fr.alexpado.jda.interactions.enums;
+
+import fr.alexpado.jda.interactions.annotations.Interact;
+import fr.alexpado.jda.interactions.impl.DeferralWatchdog;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+/**
+ * Enum allowing to define when an {@link Interaction} is deferred by the
+ * {@link fr.alexpado.jda.interactions.InteractionExtension}.
+ */
+public enum DeferralMode {
+
+    /**
+     * Only interactions whose target is annotated with {@link Interact#defer()} are deferred, as soon as the target
+     * starts.
+     */
+    STATIC,
+    /**
+     * Interactions whose target is annotated with {@link Interact#defer()} are only deferred if the target did not
+     * produce its response within the threshold of the {@link DeferralWatchdog}, or right away if the target is known
+     * to be slow. Otherwise, the response is sent as the initial reply, saving the deferral request.
+     */
+    COALESCE,
+    /**
+     * In addition to {@link #STATIC}, interactions not answered within the threshold of the {@link DeferralWatchdog}
+     * are deferred automatically, and targets known to be slow are deferred as soon as they start.
+     */
+    WATCHDOG
+
+}
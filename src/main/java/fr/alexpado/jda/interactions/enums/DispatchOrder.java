@@ -0,0 +1,68 @@
+package fr.alexpado.jda.interactions.enums;
+
+import fr.alexpado.jda.interactions.impl.executors.InteractionExecutors;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionExecutor;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.Channel;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.function.Function;
+
+/**
+ * Enum allowing to define which {@link Interaction} must be executed one after the other by an
+ * {@link InteractionExecutor}.
+ *
+ * @see InteractionExecutors#ordered(InteractionExecutor, DispatchOrder)
+ */
+public enum DispatchOrder {
+
+    /**
+     * No ordering guarantee: every {@link Interaction} may run concurrently.
+     */
+    NONE(interaction -> null),
+    /**
+     * {@link Interaction} coming from the same user are executed in the order they were received.
+     */
+    USER(interaction -> interaction.getUser().getIdLong()),
+    /**
+     * {@link Interaction} coming from the same channel are executed in the order they were received.
+     */
+    CHANNEL(interaction -> {
+        Channel channel = interaction.getChannel();
+        return channel == null ? interaction.getUser().getIdLong() : channel.getIdLong();
+    }),
+    /**
+     * {@link Interaction} coming from the same guild are executed in the order they were received. Interactions
+     * received outside a guild are ordered per user.
+     */
+    GUILD(interaction -> {
+        Guild guild = interaction.getGuild();
+        return guild == null ? interaction.getUser().getIdLong() : guild.getIdLong();
+    });
+
+    final Function<Interaction, Object> keyExtractor;
+
+    /**
+     * Create a new {@link DispatchOrder} enum.
+     *
+     * @param keyExtractor
+     *         A {@link Function} returning the key sharing the ordering guarantee for an {@link Interaction}.
+     */
+    DispatchOrder(Function<Interaction, Object> keyExtractor) {
+
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Retrieve the key shared by all {@link Interaction} that must be executed in order with the provided one.
+     *
+     * @param interaction
+     *         The {@link Interaction} to check
+     *
+     * @return The ordering key, or {@code null} if the {@link Interaction} has no ordering constraint.
+     */
+    public Object getKey(Interaction interaction) {
+
+        return this.keyExtractor.apply(interaction);
+    }
+}
@@ -0,0 +1,57 @@
+package fr.alexpado.jda.interactions.enums;
+
+import fr.alexpado.jda.interactions.impl.preprocessors.RateLimitPreprocessor;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Enum allowing to define which {@link Interaction} of a same route share a rate limit bucket of a
+ * {@link RateLimitPreprocessor}.
+ */
+public enum RateLimitScope {
+
+    /**
+     * {@link Interaction} coming from the same user share a bucket.
+     */
+    USER(interaction -> interaction.getUser().getIdLong()),
+    /**
+     * {@link Interaction} coming from the same guild share a bucket. Interactions received outside a guild share a
+     * bucket per user.
+     */
+    GUILD(interaction -> {
+        Guild guild = interaction.getGuild();
+        return guild == null ? interaction.getUser().getIdLong() : guild.getIdLong();
+    }),
+    /**
+     * Every {@link Interaction} shares the same bucket.
+     */
+    ROUTE(interaction -> 0L);
+
+    final ToLongFunction<Interaction> keyExtractor;
+
+    /**
+     * Create a new {@link RateLimitScope} enum.
+     *
+     * @param keyExtractor
+     *         A {@link ToLongFunction} returning the key of the bucket used by an {@link Interaction}.
+     */
+    RateLimitScope(ToLongFunction<Interaction> keyExtractor) {
+
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Retrieve the key of the bucket used by the provided {@link Interaction}.
+     *
+     * @param interaction
+     *         The {@link Interaction} to check
+     *
+     * @return The bucket key.
+     */
+    public long getKey(Interaction interaction) {
+
+        return this.keyExtractor.applyAsLong(interaction);
+    }
+}
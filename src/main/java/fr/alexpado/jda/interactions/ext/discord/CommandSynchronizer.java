@@ -0,0 +1,474 @@
+package fr.alexpado.jda.interactions.ext.discord;
+
+import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionContainer;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Class registering the slash commands of a {@link SlashInteractionContainer} to Discord incrementally.
+ * <p>
+ * Each {@link CommandData} is reduced to a stable hash of its canonical JSON representation. Hashes are compared to the
+ * commands currently registered on Discord (or, when a snapshot file is used, to the hashes of the last successful
+ * synchronization, avoiding the retrieval entirely when nothing changed), and only the commands that were created,
+ * edited or removed are sent. Other command types (user and message context commands) are left untouched.
+ * <p>
+ * The contexts, integration types and default permissions of a command are not part of its hash: changing only these
+ * won't update the command on Discord.
+ */
+public class CommandSynchronizer {
+
+    private static final Logger      LOGGER         = LoggerFactory.getLogger(CommandSynchronizer.class);
+    private static final String      GLOBAL_SCOPE   = "global";
+    // Filled in by Discord with its own defaults when they are not set: a command read back from Discord would never
+    // match the local one. This library never sets them.
+    private static final Set<String> IGNORED_FIELDS = Set.of("contexts", "integration_types", "default_member_permissions");
+
+    private final Supplier<? extends Collection<? extends CommandData>> source;
+    private final @Nullable Path                                        snapshotFile;
+    private final Map<String, Map<String, String>>                      snapshot;
+
+    /**
+     * Create a new {@link CommandSynchronizer} without snapshot: commands registered on Discord will be retrieved on
+     * every synchronization.
+     *
+     * @param container
+     *         The {@link SlashInteractionContainer} holding the commands to register.
+     */
+    public CommandSynchronizer(SlashInteractionContainer container) {
+
+        this(container, null);
+    }
+
+    /**
+     * Create a new {@link CommandSynchronizer}.
+     *
+     * @param container
+     *         The {@link SlashInteractionContainer} holding the commands to register.
+     * @param snapshotFile
+     *         The file in which the hashes of the last successful synchronization will be persisted, or {@code null}.
+     */
+    public CommandSynchronizer(SlashInteractionContainer container, @Nullable Path snapshotFile) {
+
+        this(container::getCommandData, snapshotFile);
+    }
+
+    /**
+     * Create a new {@link CommandSynchronizer}.
+     *
+     * @param source
+     *         The supplier of the commands to register.
+     * @param snapshotFile
+     *         The file in which the hashes of the last successful synchronization will be persisted, or {@code null}.
+     */
+    public CommandSynchronizer(Supplier<? extends Collection<? extends CommandData>> source, @Nullable Path snapshotFile) {
+
+        this.source       = source;
+        this.snapshotFile = snapshotFile;
+        this.snapshot     = new ConcurrentHashMap<>();
+        this.load();
+    }
+
+    /**
+     * Compute the hash of the provided {@link CommandData}. Two commands sharing the same hash would be registered
+     * identically on Discord, except for the contexts, integration types and default permissions, which are ignored.
+     *
+     * @param data
+     *         The {@link CommandData} to hash.
+     *
+     * @return The hexadecimal SHA-256 hash of the command.
+     */
+    public static String hash(CommandData data) {
+
+        Map<String, Object> fields = new HashMap<>(data.toData().toMap());
+        fields.keySet().removeAll(IGNORED_FIELDS);
+
+        StringBuilder builder = new StringBuilder();
+        canonicalize(fields, builder);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+        }
+    }
+
+    private static void canonicalize(@Nullable Object value, StringBuilder builder) {
+
+        switch (value) {
+            case Map<?, ?> map -> {
+                // Sort keys and drop empty values, as Discord may either omit them or send them explicitly.
+                Map<String, Object> sorted = new TreeMap<>();
+                map.forEach((key, item) -> {
+                    if (!isEmpty(item)) {
+                        sorted.put(String.valueOf(key), item);
+                    }
+                });
+
+                builder.append('{');
+                Iterator<Map.Entry<String, Object>> iterator = sorted.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Object> entry = iterator.next();
+                    builder.append('"').append(entry.getKey()).append("\":");
+                    canonicalize(entry.getValue(), builder);
+                    if (iterator.hasNext()) {
+                        builder.append(',');
+                    }
+                }
+                builder.append('}');
+            }
+            case Collection<?> collection -> {
+                builder.append('[');
+                Iterator<?> iterator = collection.iterator();
+                while (iterator.hasNext()) {
+                    canonicalize(iterator.next(), builder);
+                    if (iterator.hasNext()) {
+                        builder.append(',');
+                    }
+                }
+                builder.append(']');
+            }
+            case String string -> builder.append('"').append(string.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            case null -> builder.append("null");
+            default -> builder.append(value);
+        }
+    }
+
+    private static boolean isEmpty(@Nullable Object value) {
+
+        return switch (value) {
+            case null -> true;
+            case Map<?, ?> map -> map.isEmpty();
+            case Collection<?> collection -> collection.isEmpty();
+            default -> false;
+        };
+    }
+
+    /**
+     * Synchronize the global commands of the provided {@link JDA} instance.
+     *
+     * @param jda
+     *         The {@link JDA} instance.
+     *
+     * @return A {@link CompletableFuture} completing with the {@link SyncResult} once all changes have been applied.
+     */
+    public CompletableFuture<SyncResult> synchronize(JDA jda) {
+
+        return this.synchronize(
+                this.prepare(),
+                GLOBAL_SCOPE,
+                () -> jda.retrieveCommands(true),
+                jda::upsertCommand,
+                jda::deleteCommandById
+        );
+    }
+
+    /**
+     * Synchronize the commands of the provided {@link Guild}.
+     *
+     * @param guild
+     *         The {@link Guild}.
+     *
+     * @return A {@link CompletableFuture} completing with the {@link SyncResult} once all changes have been applied.
+     */
+    public CompletableFuture<SyncResult> synchronize(Guild guild) {
+
+        return this.synchronize(this.prepare(), guild);
+    }
+
+    private CompletableFuture<SyncResult> synchronize(LocalCommands local, Guild guild) {
+
+        return this.synchronize(
+                local,
+                guild.getId(),
+                () -> guild.retrieveCommands(true),
+                guild::upsertCommand,
+                guild::deleteCommandById
+        );
+    }
+
+    /**
+     * Synchronize the commands of all provided {@link Guild}, with at most {@code parallelism} guilds being
+     * synchronized at the same time. Requests are still subject to JDA's rate-limit handling; the parallelism only
+     * bounds how many of them are queued at once.
+     *
+     * @param guilds
+     *         The {@link Guild} to synchronize.
+     * @param parallelism
+     *         The maximum amount of guilds synchronized concurrently.
+     *
+     * @return A {@link CompletableFuture} completing with the merged {@link SyncResult} once all guilds have been
+     *         synchronized. It completes exceptionally if any guild failed, after all others have been processed.
+     */
+    public CompletableFuture<SyncResult> synchronize(Collection<? extends Guild> guilds, int parallelism) {
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be positive.");
+        }
+
+        // Commands are only hashed once, as they are the same for every guild.
+        LocalCommands                           local   = this.prepare();
+        Iterator<? extends Guild>               queue   = List.copyOf(guilds).iterator();
+        List<CompletableFuture<SyncResult>>     workers = new ArrayList<>();
+        Map<Guild, Throwable>                   errors  = new ConcurrentHashMap<>();
+        Supplier<CompletableFuture<SyncResult>> worker  = new Supplier<>() {
+            @Override
+            public CompletableFuture<SyncResult> get() {
+
+                Guild guild;
+                synchronized (queue) {
+                    if (!queue.hasNext()) {
+                        return CompletableFuture.completedFuture(SyncResult.EMPTY);
+                    }
+                    guild = queue.next();
+                }
+
+                return CommandSynchronizer.this.synchronize(local, guild)
+                                               .exceptionally(error -> {
+                                                   errors.put(guild, error);
+                                                   return SyncResult.EMPTY;
+                                               })
+                                               .thenCompose(result -> this.get().thenApply(result::merge));
+            }
+        };
+
+        for (int i = 0; i < Math.min(parallelism, guilds.size()); i++) {
+            workers.add(worker.get());
+        }
+
+        return CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            if (!errors.isEmpty()) {
+                Map.Entry<Guild, Throwable> first = errors.entrySet().iterator().next();
+                throw new IllegalStateException(String.format(
+                        "Failed to synchronize commands of %s guild(s), including %s.",
+                        errors.size(),
+                        first.getKey().getId()
+                ), first.getValue());
+            }
+
+            return workers.stream().map(CompletableFuture::join).reduce(SyncResult.EMPTY, SyncResult::merge);
+        });
+    }
+
+    private LocalCommands prepare() {
+
+        Map<String, CommandData> commands = new LinkedHashMap<>();
+        Map<String, String>      hashes   = new HashMap<>();
+
+        for (CommandData data : this.source.get()) {
+            commands.put(data.getName(), data);
+            hashes.put(data.getName(), hash(data));
+        }
+
+        return new LocalCommands(Collections.unmodifiableMap(commands), Collections.unmodifiableMap(hashes));
+    }
+
+    private CompletableFuture<SyncResult> synchronize(LocalCommands prepared, String scope, Supplier<RestAction<List<Command>>> retriever, Function<CommandData, RestAction<?>> upsert, LongFunction<RestAction<Void>> delete) {
+
+        Map<String, CommandData> local  = prepared.commands();
+        Map<String, String>      hashes = prepared.hashes();
+
+        if (hashes.equals(this.snapshot.get(scope))) {
+            return CompletableFuture.completedFuture(new SyncResult(0, 0, 0, local.size()));
+        }
+
+        return retriever.get().submit().thenCompose(commands -> {
+            Map<String, Command> remote = new HashMap<>();
+            for (Command command : commands) {
+                if (command.getType() == Command.Type.SLASH) {
+                    remote.put(command.getName(), command);
+                }
+            }
+
+            List<CompletableFuture<?>> actions = new ArrayList<>();
+            int                        created = 0;
+            int                        updated = 0;
+            int                        deleted = 0;
+
+            for (Map.Entry<String, CommandData> entry : local.entrySet()) {
+                Command existing = remote.remove(entry.getKey());
+
+                if (existing == null) {
+                    actions.add(upsert.apply(entry.getValue()).submit());
+                    created++;
+                } else if (!hash(CommandData.fromCommand(existing)).equals(hashes.get(entry.getKey()))) {
+                    actions.add(upsert.apply(entry.getValue()).submit());
+                    updated++;
+                }
+            }
+
+            for (Command command : remote.values()) {
+                actions.add(delete.apply(command.getIdLong()).submit());
+                deleted++;
+            }
+
+            SyncResult result = new SyncResult(created, updated, deleted, local.size() - created - updated);
+
+            return CompletableFuture.allOf(actions.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+                this.snapshot.put(scope, hashes);
+                this.save();
+                return result;
+            });
+        });
+    }
+
+    private void load() {
+
+        if (this.snapshotFile == null || !Files.exists(this.snapshotFile)) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(this.snapshotFile)) {
+            properties.load(stream);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the command snapshot {}, all commands will be retrieved.", this.snapshotFile, e);
+            return;
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.indexOf('/');
+            if (separator > 0) {
+                this.snapshot.computeIfAbsent(key.substring(0, separator), scope -> new HashMap<>())
+                             .put(key.substring(separator + 1), properties.getProperty(key));
+            }
+        }
+    }
+
+    private synchronized void save() {
+
+        if (this.snapshotFile == null) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        this.snapshot.forEach((scope, hashes) -> hashes.forEach(
+                (name, hash) -> properties.setProperty(scope + "/" + name, hash)
+        ));
+
+        try {
+            Path temporary = this.snapshotFile.resolveSibling(this.snapshotFile.getFileName() + ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temporary)) {
+                properties.store(stream, "Slash command hashes, generated by CommandSynchronizer");
+            }
+            Files.move(temporary, this.snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write the command snapshot {}.", this.snapshotFile, e);
+        }
+    }
+
+    /**
+     * Forget the hashes persisted for the provided {@link Guild}, forcing its commands to be compared with Discord on
+     * the next synchronization. This should be called when the commands were changed outside of this
+     * {@link CommandSynchronizer}.
+     *
+     * @param guild
+     *         The {@link Guild}.
+     */
+    public void invalidate(Guild guild) {
+
+        this.snapshot.remove(guild.getId());
+        this.save();
+    }
+
+    /**
+     * Forget all persisted hashes, forcing commands to be compared with Discord on the next synchronization.
+     */
+    public void invalidateAll() {
+
+        this.snapshot.clear();
+        this.save();
+    }
+
+    /**
+     * Commands to register, along with their hash, computed once per synchronization.
+     *
+     * @param commands
+     *         The {@link CommandData} to register, by name.
+     * @param hashes
+     *         The hash of each {@link CommandData}, by name.
+     */
+    private record LocalCommands(Map<String, CommandData> commands, Map<String, String> hashes) {
+
+    }
+
+    /**
+     * Summary of a synchronization.
+     *
+     * @param created
+     *         The amount of commands created.
+     * @param updated
+     *         The amount of commands edited.
+     * @param deleted
+     *         The amount of commands removed.
+     * @param unchanged
+     *         The amount of commands left untouched.
+     */
+    public record SyncResult(int created, int updated, int deleted, int unchanged) {
+
+        public static final SyncResult EMPTY = new SyncResult(0, 0, 0, 0);
+
+        /**
+         * Check if this synchronization sent any change to Discord.
+         *
+         * @return True if at least one command was created, edited or removed.
+         */
+        public boolean hasChanges() {
+
+            return this.created + this.updated + this.deleted > 0;
+        }
+
+        /**
+         * Combine this {@link SyncResult} with another one.
+         *
+         * @param other
+         *         The other {@link SyncResult}.
+         *
+         * @return A new {@link SyncResult} holding the sum of both.
+         */
+        public SyncResult merge(SyncResult other) {
+
+            return new SyncResult(
+                    this.created + other.created,
+                    this.updated + other.updated,
+                    this.deleted + other.deleted,
+                    this.unchanged + other.unchanged
+            );
+        }
+
+    }
+
+}
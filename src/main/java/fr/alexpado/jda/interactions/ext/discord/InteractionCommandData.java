@@ -1,6 +1,7 @@
 package fr.alexpado.jda.interactions.ext.discord;
 
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
+import fr.alexpado.jda.interactions.interfaces.interactions.MetaContainer;
 import fr.alexpado.jda.interactions.meta.InteractionMeta;
 import fr.alexpado.jda.interactions.meta.OptionMeta;
 import net.dv8tion.jda.api.JDA;
@@ -8,18 +9,23 @@ import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.internal.interactions.CommandDataImpl;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Bridging class allowing to plug this library logic into {@link JDA} to register slash interaction to Discord.
  */
 public class InteractionCommandData extends CommandDataImpl {
 
-    private final Map<String, InteractionGroupData>      groups      = new HashMap<>();
-    private final Map<String, InteractionSubcommandData> subCommands = new HashMap<>();
+    private final Map<String, InteractionGroupData>      groups      = new LinkedHashMap<>();
+    private final Map<String, InteractionSubcommandData> subCommands = new LinkedHashMap<>();
+    private final Set<String>                            prepared    = new HashSet<>();
 
     /**
      * Create a new {@link InteractionCommandData}.
@@ -34,20 +40,49 @@ public class InteractionCommandData extends CommandDataImpl {
         super(name, meta.description());
     }
 
+    /**
+     * Group the provided {@link MetaContainer} by root command and register them, in order.
+     *
+     * @param targets
+     *         The {@link MetaContainer} to convert, such as slash interaction targets.
+     *
+     * @return A list of {@link InteractionCommandData}, one per root command, not yet {@link #prepare() prepared}.
+     *
+     * @throws IllegalStateException
+     *         If the names of the provided {@link MetaContainer} don't form a valid command tree.
+     */
+    public static List<InteractionCommandData> of(Collection<? extends MetaContainer> targets) {
+
+        Map<String, InteractionCommandData> data = new LinkedHashMap<>();
+
+        for (MetaContainer target : targets) {
+            InteractionMeta meta   = target.getMeta();
+            String          prefix = Arrays.asList(meta.name().split("/")).getFirst();
+
+            data.computeIfAbsent(prefix, name -> new InteractionCommandData(name, meta)).register(meta);
+        }
+
+        return new ArrayList<>(data.values());
+    }
+
     /**
      * Build all {@link JDA} objects based on the current command path tree registered through
-     * {@link InteractionTarget}.
+     * {@link InteractionTarget}. Calling this multiple times only adds what has been registered in between.
      */
     public void prepare() {
 
         if (!this.groups.isEmpty()) {
             for (InteractionGroupData value : this.groups.values()) {
                 value.prepare();
-                this.addSubcommandGroups(value);
+                if (this.prepared.add(value.getName())) {
+                    this.addSubcommandGroups(value);
+                }
             }
         } else if (!this.subCommands.isEmpty()) {
             for (InteractionSubcommandData value : this.subCommands.values()) {
-                this.addSubcommands(value);
+                if (this.prepared.add(value.getName())) {
+                    this.addSubcommands(value);
+                }
             }
         }
     }
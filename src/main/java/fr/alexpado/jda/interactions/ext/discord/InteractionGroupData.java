@@ -8,9 +8,11 @@ import net.dv8tion.jda.api.interactions.commands.build.SubcommandGroupData;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Bridging class allowing to plug this library logic into {@link JDA} to register slash interaction to Discord.
@@ -18,7 +20,8 @@ import java.util.Map;
 public class InteractionGroupData extends SubcommandGroupData {
 
 
-    private final Map<String, InteractionSubcommandData> subCommands = new HashMap<>();
+    private final Map<String, InteractionSubcommandData> subCommands = new LinkedHashMap<>();
+    private final Set<String>                            prepared    = new HashSet<>();
 
     /**
      * Create a new {@link InteractionGroupData}.
@@ -35,13 +38,15 @@ public class InteractionGroupData extends SubcommandGroupData {
 
     /**
      * Build all {@link JDA} objects based on the current command path tree registered through
-     * {@link InteractionTarget}.
+     * {@link InteractionTarget}. Calling this multiple times only adds what has been registered in between.
      */
     public void prepare() {
 
         if (!this.subCommands.isEmpty()) {
             for (InteractionSubcommandData value : this.subCommands.values()) {
-                this.addSubcommands(value);
+                if (this.prepared.add(value.getName())) {
+                    this.addSubcommands(value);
+                }
             }
         }
     }
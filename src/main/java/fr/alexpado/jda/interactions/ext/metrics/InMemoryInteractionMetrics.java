@@ -0,0 +1,202 @@
+package fr.alexpado.jda.interactions.ext.metrics;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link InteractionMetrics} implementation keeping every measure in memory, in log-scaled histograms. It is meant
+ * for tests and for small deployments exposing the measures themselves.
+ * <p>
+ * Histograms use 16 buckets per power of two, so reported percentiles are upper bounds with a relative error of at
+ * most 6.25%.
+ */
+public class InMemoryInteractionMetrics implements InteractionMetrics {
+
+    /**
+     * The stage name under which the total duration of interactions is recorded.
+     */
+    public static final String TOTAL = "total";
+
+    private final Map<Key, Histogram> histograms;
+    private final Map<Key, LongAdder> failures;
+
+    /**
+     * Create a new, empty, {@link InMemoryInteractionMetrics}.
+     */
+    public InMemoryInteractionMetrics() {
+
+        this.histograms = new ConcurrentHashMap<>();
+        this.failures   = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void recordStage(String schema, String route, String stage, long nanos) {
+
+        this.histograms.computeIfAbsent(new Key(schema, route, stage), key -> new Histogram()).record(nanos);
+    }
+
+    @Override
+    public void recordInteraction(String schema, String route, boolean success, long nanos) {
+
+        Key key = new Key(schema, route, TOTAL);
+        this.histograms.computeIfAbsent(key, k -> new Histogram()).record(nanos);
+
+        if (!success) {
+            this.failures.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Retrieve the {@link Histogram} of a stage. Use {@link #TOTAL} as stage to retrieve the total duration of the
+     * interactions.
+     *
+     * @param schema
+     *         The schema of the container.
+     * @param route
+     *         The route of the interaction target.
+     * @param stage
+     *         The name of the stage.
+     *
+     * @return An optional {@link Histogram}, empty if nothing has been recorded.
+     */
+    public Optional<Histogram> getHistogram(String schema, String route, String stage) {
+
+        return Optional.ofNullable(this.histograms.get(new Key(schema, route, stage)));
+    }
+
+    /**
+     * Retrieve the amount of interactions that failed for a route.
+     *
+     * @param schema
+     *         The schema of the container.
+     * @param route
+     *         The route of the interaction target.
+     *
+     * @return The amount of failures.
+     */
+    public long getFailures(String schema, String route) {
+
+        LongAdder adder = this.failures.get(new Key(schema, route, TOTAL));
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Remove all recorded measures.
+     */
+    public void reset() {
+
+        this.histograms.clear();
+        this.failures.clear();
+    }
+
+    private record Key(String schema, String route, String stage) {
+
+    }
+
+    /**
+     * Lock-free latency histogram with log-scaled buckets.
+     */
+    public static final class Histogram {
+
+        private static final int SUB_BUCKETS = 16;
+        private static final int SUB_BITS    = 4;
+
+        private final AtomicLongArray buckets;
+        private final LongAdder       count;
+        private final LongAdder       sum;
+
+        private Histogram() {
+
+            this.buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+            this.count   = new LongAdder();
+            this.sum     = new LongAdder();
+        }
+
+        private static int indexOf(long value) {
+
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+
+            int magnitude = 63 - Long.numberOfLeadingZeros(value);
+            int sub       = (int) (value >>> (magnitude - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (magnitude - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBoundOf(int index) {
+
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+
+            int magnitude = index / SUB_BUCKETS + SUB_BITS - 1;
+            int sub       = index % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (magnitude - SUB_BITS)) - 1;
+        }
+
+        private void record(long nanos) {
+
+            long value = Math.max(0, nanos);
+            this.buckets.incrementAndGet(indexOf(value));
+            this.count.increment();
+            this.sum.add(value);
+        }
+
+        /**
+         * Retrieve the amount of recorded values.
+         *
+         * @return The amount of values.
+         */
+        public long getCount() {
+
+            return this.count.sum();
+        }
+
+        /**
+         * Retrieve the mean of the recorded values.
+         *
+         * @return The mean, in nanoseconds.
+         */
+        public double getMean() {
+
+            long count = this.count.sum();
+            return count == 0 ? 0 : (double) this.sum.sum() / count;
+        }
+
+        /**
+         * Retrieve the value under which the provided fraction of the recorded values are.
+         *
+         * @param quantile
+         *         The quantile, between 0 and 1 (for example {@code 0.99} for the p99).
+         *
+         * @return The percentile, in nanoseconds.
+         */
+        public long getPercentile(double quantile) {
+
+            long total = 0;
+            for (int i = 0; i < this.buckets.length(); i++) {
+                total += this.buckets.get(i);
+            }
+
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank    = Math.max(1, (long) Math.ceil(quantile * total));
+            long counted = 0;
+
+            for (int i = 0; i < this.buckets.length(); i++) {
+                counted += this.buckets.get(i);
+                if (counted >= rank) {
+                    return upperBoundOf(i);
+                }
+            }
+            return upperBoundOf(this.buckets.length() - 1);
+        }
+
+    }
+
+}
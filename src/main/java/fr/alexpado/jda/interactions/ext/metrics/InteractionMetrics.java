@@ -0,0 +1,50 @@
+package fr.alexpado.jda.interactions.ext.metrics;
+
+import fr.alexpado.jda.interactions.InteractionExtension;
+
+/**
+ * Interface representing a metrics registry receiving the timings of the {@link InteractionExtension} pipeline.
+ * <p>
+ * Every measure is tagged with the schema of the container ({@code slash}, {@code button}, {@code complete}...) and
+ * the route of the interaction target, as declared (for example {@code vote/{pollId}}), so the cardinality stays
+ * bounded by the amount of registered interactions. Implementations are called once per interaction, after it
+ * completed, and may be called concurrently. Bridging to a registry such as Micrometer or OpenTelemetry consists in
+ * recording each call into a timer/histogram tagged with the provided values.
+ */
+public interface InteractionMetrics {
+
+    /**
+     * The route used when no interaction target could be resolved.
+     */
+    String UNKNOWN_ROUTE = "unknown";
+
+    /**
+     * Record the duration of a pipeline stage, such as {@code handling}, {@code preprocessors}, {@code dispatching},
+     * {@code answering}, {@code deferring}, {@code injection} or {@code invoke}.
+     *
+     * @param schema
+     *         The schema of the container.
+     * @param route
+     *         The route of the interaction target.
+     * @param stage
+     *         The name of the stage.
+     * @param nanos
+     *         The duration of the stage, in nanoseconds.
+     */
+    void recordStage(String schema, String route, String stage, long nanos);
+
+    /**
+     * Record the completion of an interaction.
+     *
+     * @param schema
+     *         The schema of the container.
+     * @param route
+     *         The route of the interaction target.
+     * @param success
+     *         False if the interaction failed with an exception, true otherwise.
+     * @param nanos
+     *         The total duration of the interaction, in nanoseconds.
+     */
+    void recordInteraction(String schema, String route, boolean success, long nanos);
+
+}
@@ -0,0 +1,170 @@
+package fr.alexpado.jda.interactions.ext.metrics;
+
+import fr.alexpado.jda.interactions.ext.sentry.ITimedAction;
+
+import java.util.Arrays;
+
+/**
+ * {@link ITimedAction} decorator measuring each action for an {@link InteractionMetrics}.
+ * <p>
+ * The schema and the route of the interaction are only known once it has been handled and dispatched, so the
+ * durations are buffered and sent to the {@link InteractionMetrics} when this {@link MetricsTimedAction} is closed.
+ */
+public class MetricsTimedAction implements ITimedAction {
+
+    private final ITimedAction       delegate;
+    private final InteractionMetrics metrics;
+    private final long               start;
+
+    private String[] openedNames  = new String[8];
+    private long[]   openedStarts = new long[8];
+    private int      depth;
+
+    private String[] stageNames     = new String[16];
+    private long[]   stageDurations = new long[16];
+    private int      stages;
+
+    private String  schema  = "unknown";
+    private String  route   = InteractionMetrics.UNKNOWN_ROUTE;
+    private boolean success = true;
+
+    /**
+     * Create a new {@link MetricsTimedAction}.
+     *
+     * @param delegate
+     *         The {@link ITimedAction} to decorate.
+     * @param metrics
+     *         The {@link InteractionMetrics} receiving the measures.
+     */
+    public MetricsTimedAction(ITimedAction delegate, InteractionMetrics metrics) {
+
+        this.delegate = delegate;
+        this.metrics  = metrics;
+        this.start    = System.nanoTime();
+    }
+
+    /**
+     * Start the timing transaction of the current {@link ITimedAction}.
+     *
+     * @param transaction
+     *         The transaction name
+     * @param name
+     *         The name of this timing transaction.
+     * @param description
+     *         The description of this timing transaction.
+     */
+    @Override
+    public void open(String transaction, String name, String description) {
+
+        this.delegate.open(transaction, name, description);
+    }
+
+    /**
+     * Start an action, opening a sub-transaction withing the actual timing. Calling this multiple time will open
+     * another sub-transaction (inside the current sub-transaction). This can be repeated an unlimited amount of time.
+     *
+     * @param name
+     *         The name of the action that will be executed.
+     * @param description
+     *         The description of the action that will be executed.
+     */
+    @Override
+    public synchronized void action(String name, String description) {
+
+        if (this.depth == this.openedNames.length) {
+            this.openedNames  = Arrays.copyOf(this.openedNames, this.depth * 2);
+            this.openedStarts = Arrays.copyOf(this.openedStarts, this.depth * 2);
+        }
+
+        this.openedNames[this.depth]  = name;
+        this.openedStarts[this.depth] = System.nanoTime();
+        this.depth++;
+        this.delegate.action(name, description);
+    }
+
+    /**
+     * Stop the last opened action, causing its transaction to be closed.
+     */
+    @Override
+    public synchronized void endAction() {
+
+        if (this.depth > 0) {
+            this.depth--;
+            this.stage(this.openedNames[this.depth], System.nanoTime() - this.openedStarts[this.depth]);
+            this.openedNames[this.depth] = null;
+        }
+        this.delegate.endAction();
+    }
+
+    /**
+     * Attach a tag to the timing of the current interaction. The {@code schema} and {@code route} tags are used to
+     * tag the measures.
+     *
+     * @param key
+     *         The name of the tag.
+     * @param value
+     *         The value of the tag.
+     */
+    @Override
+    public synchronized void tag(String key, String value) {
+
+        switch (key) {
+            case "schema" -> this.schema = value;
+            case "route" -> this.route = value;
+            default -> {
+            }
+        }
+        this.delegate.tag(key, value);
+    }
+
+    /**
+     * Mark the current interaction as failed.
+     *
+     * @param throwable
+     *         The reason of the failure.
+     */
+    @Override
+    public synchronized void failed(Throwable throwable) {
+
+        this.success = false;
+        this.delegate.failed(throwable);
+    }
+
+    /**
+     * Close all opened transaction and send the measures to the {@link InteractionMetrics}.
+     */
+    @Override
+    public void close() {
+
+        long duration = System.nanoTime() - this.start;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            while (this.depth > 0) {
+                this.depth--;
+                this.stage(this.openedNames[this.depth], now - this.openedStarts[this.depth]);
+            }
+
+            for (int i = 0; i < this.stages; i++) {
+                this.metrics.recordStage(this.schema, this.route, this.stageNames[i], this.stageDurations[i]);
+            }
+            this.metrics.recordInteraction(this.schema, this.route, this.success, duration);
+            this.stages = 0;
+        }
+
+        this.delegate.close();
+    }
+
+    private void stage(String name, long nanos) {
+
+        if (this.stages == this.stageNames.length) {
+            this.stageNames     = Arrays.copyOf(this.stageNames, this.stages * 2);
+            this.stageDurations = Arrays.copyOf(this.stageDurations, this.stages * 2);
+        }
+
+        this.stageNames[this.stages]     = name;
+        this.stageDurations[this.stages] = nanos;
+        this.stages++;
+    }
+
+}
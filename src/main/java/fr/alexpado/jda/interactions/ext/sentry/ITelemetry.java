@@ -0,0 +1,70 @@
+package fr.alexpado.jda.interactions.ext.sentry;
+
+import fr.alexpado.jda.interactions.InteractionExtension;
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface representing the telemetry backend used by the {@link InteractionExtension}.
+ * <p>
+ * The {@link InteractionExtension} checks {@link #isEnabled()} once per interaction: when it returns false, the
+ * interaction flow only uses {@link #disabled()}, which neither allocates nor formats anything.
+ */
+public interface ITelemetry {
+
+    /**
+     * Retrieve the {@link ITelemetry} implementation sending telemetry to Sentry. It is only enabled while Sentry is.
+     *
+     * @return An {@link ITelemetry} implementation.
+     */
+    static ITelemetry sentry() {
+
+        return SentryTelemetry.INSTANCE;
+    }
+
+    /**
+     * Retrieve the {@link ITelemetry} implementation doing nothing.
+     *
+     * @return An {@link ITelemetry} implementation.
+     */
+    static ITelemetry disabled() {
+
+        return NoopTelemetry.INSTANCE;
+    }
+
+    /**
+     * Check if this {@link ITelemetry} is currently collecting data.
+     *
+     * @return True if enabled, false otherwise.
+     */
+    boolean isEnabled();
+
+    /**
+     * Create and open the {@link ITimedAction} used to time an interaction.
+     *
+     * @param transaction
+     *         The {@link Supplier} of the transaction name, only called if the name is actually used.
+     *
+     * @return An opened {@link ITimedAction}.
+     */
+    ITimedAction start(Supplier<String> transaction);
+
+    /**
+     * Attach the context of the provided {@link DispatchEvent} (user, channel, guild and options) to the telemetry of
+     * the current thread.
+     *
+     * @param event
+     *         The {@link DispatchEvent} being executed.
+     * @param <T>
+     *         The type of the interaction.
+     */
+    <T extends Interaction> void configure(DispatchEvent<T> event);
+
+    /**
+     * Release the context attached to the current thread by {@link #configure(DispatchEvent)}.
+     */
+    void release();
+
+}
@@ -47,6 +47,29 @@ public interface ITimedAction extends AutoCloseable {
      */
     void endAction();
 
+    /**
+     * Attach a tag to the timing of the current interaction, such as its schema or its route. Tags can be added at any
+     * time before {@link #close()}.
+     *
+     * @param key
+     *         The name of the tag.
+     * @param value
+     *         The value of the tag.
+     */
+    default void tag(String key, String value) {
+
+    }
+
+    /**
+     * Mark the current interaction as failed.
+     *
+     * @param throwable
+     *         The reason of the failure.
+     */
+    default void failed(Throwable throwable) {
+
+    }
+
     /**
      * Close all opened transaction and send the timing information to Sentry.
      */
@@ -0,0 +1,67 @@
+package fr.alexpado.jda.interactions.ext.sentry;
+
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link ITelemetry} when telemetry is disabled.
+ */
+public final class NoopTelemetry implements ITelemetry {
+
+    static final NoopTelemetry INSTANCE = new NoopTelemetry();
+
+    static final ITimedAction TIMED_ACTION = new NoopTimedAction();
+
+    private NoopTelemetry() {
+
+    }
+
+    /**
+     * Check if this {@link ITelemetry} is currently collecting data.
+     *
+     * @return Always false.
+     */
+    @Override
+    public boolean isEnabled() {
+
+        return false;
+    }
+
+    /**
+     * Create and open the {@link ITimedAction} used to time an interaction.
+     *
+     * @param transaction
+     *         The {@link Supplier} of the transaction name, never called.
+     *
+     * @return A shared {@link NoopTimedAction}.
+     */
+    @Override
+    public ITimedAction start(Supplier<String> transaction) {
+
+        return TIMED_ACTION;
+    }
+
+    /**
+     * Attach the context of the provided {@link DispatchEvent} to the telemetry of the current thread.
+     *
+     * @param event
+     *         The {@link DispatchEvent} being executed.
+     * @param <T>
+     *         The type of the interaction.
+     */
+    @Override
+    public <T extends Interaction> void configure(DispatchEvent<T> event) {
+
+    }
+
+    /**
+     * Release the context attached to the current thread.
+     */
+    @Override
+    public void release() {
+
+    }
+
+}
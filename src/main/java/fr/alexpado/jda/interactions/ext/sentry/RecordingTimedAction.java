@@ -0,0 +1,206 @@
+package fr.alexpado.jda.interactions.ext.sentry;
+
+import io.sentry.ISpan;
+import io.sentry.ITransaction;
+import io.sentry.Instrumenter;
+import io.sentry.Sentry;
+import io.sentry.SentryDate;
+import io.sentry.SentryInstantDate;
+import io.sentry.SpanStatus;
+import io.sentry.TransactionOptions;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of {@link ITimedAction} only recording timestamps while the interaction runs. When closed, the
+ * {@link TelemetrySampler} decides whether the recording is sent to Sentry, in which case the transaction and its
+ * spans are created with the recorded timestamps.
+ */
+public class RecordingTimedAction implements ITimedAction {
+
+    private static final int INITIAL_SIZE = 16;
+
+    private final TelemetrySampler sampler;
+    private final Set<String>      skippedActions;
+    private final List<String>     tags;
+
+    private String    transaction;
+    private String    name;
+    private String    description;
+    private Instant   origin;
+    private long      start;
+    private Throwable throwable;
+
+    private String[] names        = new String[INITIAL_SIZE];
+    private String[] descriptions = new String[INITIAL_SIZE];
+    private long[]   starts       = new long[INITIAL_SIZE];
+    private long[]   ends         = new long[INITIAL_SIZE];
+    private int[]    parents      = new int[INITIAL_SIZE];
+    private int      count;
+
+    private int[] opened = new int[INITIAL_SIZE];
+    private int   depth;
+
+    RecordingTimedAction(TelemetrySampler sampler, Set<String> skippedActions) {
+
+        this.sampler        = sampler;
+        this.skippedActions = skippedActions;
+        this.tags           = new ArrayList<>(4);
+    }
+
+    /**
+     * Start the timing transaction of the current {@link ITimedAction}.
+     *
+     * @param transaction
+     *         The transaction name
+     * @param name
+     *         The name of this timing transaction.
+     * @param description
+     *         The description of this timing transaction.
+     */
+    @Override
+    public void open(String transaction, String name, String description) {
+
+        this.transaction = transaction;
+        this.name        = name;
+        this.description = description;
+        this.origin      = Instant.now();
+        this.start       = System.nanoTime();
+    }
+
+    /**
+     * Start an action, opening a sub-transaction withing the actual timing. Calling this multiple time will open
+     * another sub-transaction (inside the current sub-transaction). This can be repeated an unlimited amount of time.
+     *
+     * @param name
+     *         The name of the action that will be executed.
+     * @param description
+     *         The description of the action that will be executed.
+     */
+    @Override
+    public void action(String name, String description) {
+
+        if (this.depth == this.opened.length) {
+            this.opened = Arrays.copyOf(this.opened, this.depth * 2);
+        }
+
+        int parent = this.depth == 0 ? -1 : this.opened[this.depth - 1];
+
+        if (this.skippedActions.contains(name)) {
+            this.opened[this.depth++] = parent;
+            return;
+        }
+
+        if (this.count == this.names.length) {
+            int size = this.count * 2;
+            this.names        = Arrays.copyOf(this.names, size);
+            this.descriptions = Arrays.copyOf(this.descriptions, size);
+            this.starts       = Arrays.copyOf(this.starts, size);
+            this.ends         = Arrays.copyOf(this.ends, size);
+            this.parents      = Arrays.copyOf(this.parents, size);
+        }
+
+        this.names[this.count]        = name;
+        this.descriptions[this.count] = description;
+        this.starts[this.count]       = System.nanoTime();
+        this.ends[this.count]         = -1;
+        this.parents[this.count]      = parent;
+        this.opened[this.depth++]     = this.count;
+        this.count++;
+    }
+
+    /**
+     * Stop the last opened action, causing its transaction to be closed.
+     */
+    @Override
+    public void endAction() {
+
+        if (this.depth == 0) {
+            return;
+        }
+
+        this.depth--;
+        int index  = this.opened[this.depth];
+        int parent = this.depth == 0 ? -1 : this.opened[this.depth - 1];
+
+        // Skipped actions share the index of their parent: only close recorded ones.
+        if (index != parent && index >= 0) {
+            this.ends[index] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Attach a tag to the timing of the current interaction.
+     *
+     * @param key
+     *         The name of the tag.
+     * @param value
+     *         The value of the tag.
+     */
+    @Override
+    public void tag(String key, String value) {
+
+        this.tags.add(key);
+        this.tags.add(value);
+    }
+
+    /**
+     * Mark the current interaction as failed.
+     *
+     * @param throwable
+     *         The reason of the failure.
+     */
+    @Override
+    public void failed(Throwable throwable) {
+
+        this.throwable = throwable;
+    }
+
+    /**
+     * Close the recording, and send it to Sentry if the {@link TelemetrySampler} requires it.
+     */
+    @Override
+    public void close() {
+
+        long end = System.nanoTime();
+
+        if (!this.sampler.shouldCapture(this.throwable != null, end - this.start)) {
+            return;
+        }
+
+        TransactionOptions options = new TransactionOptions();
+        options.setStartTimestamp(this.date(this.start));
+
+        ITransaction transaction = Sentry.startTransaction(this.transaction, this.name, options);
+        transaction.setDescription(this.description);
+
+        for (int i = 0; i + 1 < this.tags.size(); i += 2) {
+            transaction.setTag(this.tags.get(i), this.tags.get(i + 1));
+        }
+
+        ISpan[] spans = new ISpan[this.count];
+        for (int i = 0; i < this.count; i++) {
+            ISpan parent = this.parents[i] == -1 ? transaction : spans[this.parents[i]];
+            spans[i] = parent.startChild(this.names[i], this.descriptions[i], this.date(this.starts[i]), Instrumenter.SENTRY);
+        }
+
+        for (int i = this.count - 1; i >= 0; i--) {
+            spans[i].finish(SpanStatus.OK, this.date(this.ends[i] == -1 ? end : this.ends[i]));
+        }
+
+        if (this.throwable != null) {
+            transaction.setThrowable(this.throwable);
+        }
+        transaction.finish(this.throwable == null ? SpanStatus.OK : SpanStatus.INTERNAL_ERROR, this.date(end));
+    }
+
+    private SentryDate date(long nanos) {
+
+        return new SentryInstantDate(this.origin.plusNanos(nanos - this.start));
+    }
+
+}
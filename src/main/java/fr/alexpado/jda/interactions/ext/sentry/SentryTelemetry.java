@@ -0,0 +1,172 @@
+package fr.alexpado.jda.interactions.ext.sentry;
+
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import io.sentry.IScope;
+import io.sentry.ISentryLifecycleToken;
+import io.sentry.Sentry;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.Channel;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link ITelemetry} sending data to Sentry.
+ */
+public final class SentryTelemetry implements ITelemetry {
+
+    static final SentryTelemetry INSTANCE = new SentryTelemetry(Collections.emptySet());
+
+    private static final ThreadLocal<ISentryLifecycleToken> SCOPE = new ThreadLocal<>();
+
+    private final Set<String>      skippedActions;
+    private final TelemetrySampler sampler;
+
+    /**
+     * Create a new {@link SentryTelemetry}.
+     *
+     * @param skippedActions
+     *         The names of the actions for which no span should be created, such as {@code param} to avoid one span
+     *         per injected parameter.
+     */
+    public SentryTelemetry(Set<String> skippedActions) {
+
+        this(skippedActions, null);
+    }
+
+    /**
+     * Create a new {@link SentryTelemetry}.
+     *
+     * @param skippedActions
+     *         The names of the actions for which no span should be created, such as {@code param} to avoid one span
+     *         per injected parameter.
+     * @param sampler
+     *         The {@link TelemetrySampler} deciding which interactions are sent to Sentry, or {@code null} to send all
+     *         of them.
+     */
+    public SentryTelemetry(Set<String> skippedActions, @Nullable TelemetrySampler sampler) {
+
+        this.skippedActions = Set.copyOf(skippedActions);
+        this.sampler        = sampler;
+    }
+
+    /**
+     * Check if this {@link ITelemetry} is currently collecting data.
+     *
+     * @return True if Sentry is enabled, false otherwise.
+     */
+    @Override
+    public boolean isEnabled() {
+
+        return Sentry.isEnabled();
+    }
+
+    /**
+     * Create and open the {@link ITimedAction} used to time an interaction.
+     *
+     * @param transaction
+     *         The {@link Supplier} of the transaction name.
+     *
+     * @return An opened {@link ITimedAction}: a {@link TimedAction} if the interaction is sampled, a
+     *         {@link RecordingTimedAction} if it may be captured afterward, a {@link NoopTimedAction} otherwise.
+     */
+    @Override
+    public ITimedAction start(Supplier<String> transaction) {
+
+        String       name = transaction.get();
+        ITimedAction timedAction;
+
+        if (this.sampler == null || this.sampler.sample(name)) {
+            timedAction = new TimedAction(this.skippedActions);
+        } else if (this.sampler.isRecording()) {
+            timedAction = new RecordingTimedAction(this.sampler, this.skippedActions);
+        } else {
+            return NoopTelemetry.TIMED_ACTION;
+        }
+
+        timedAction.open(name, "interaction", "Interaction received");
+        return timedAction;
+    }
+
+    /**
+     * Fork the current Sentry scopes, make them current, and attach the context of the provided {@link DispatchEvent}
+     * (user, channel, guild and options) to them.
+     *
+     * @param event
+     *         The {@link DispatchEvent} being executed.
+     * @param <T>
+     *         The type of the interaction.
+     */
+    @Override
+    public <T extends Interaction> void configure(DispatchEvent<T> event) {
+
+        if (SCOPE.get() == null) {
+            SCOPE.set(Sentry.forkedCurrentScope("jda-interactions").makeCurrent());
+        }
+        Sentry.configureScope(scope -> this.configure(scope, event));
+    }
+
+    /**
+     * Restore the Sentry scopes replaced by {@link #configure(DispatchEvent)}, if any. Nothing is restored when the
+     * interaction failed before being configured, so that the scopes of the caller are left untouched.
+     */
+    @Override
+    public void release() {
+
+        ISentryLifecycleToken token = SCOPE.get();
+
+        if (token != null) {
+            SCOPE.remove();
+            token.close();
+        }
+    }
+
+    private <T extends Interaction> void configure(IScope scope, DispatchEvent<T> event) {
+
+        Map<String, String> extra       = new HashMap<>();
+        Interaction         interaction = event.interaction();
+        User                user        = interaction.getUser();
+        Channel             channel     = interaction.getChannel();
+        Guild               guild       = interaction.getGuild();
+
+        io.sentry.protocol.User sentryUser = new io.sentry.protocol.User();
+        sentryUser.setId(user.getId());
+        sentryUser.setEmail("%s@discordapp.com".formatted(user.getId()));
+        sentryUser.setUsername(user.getName());
+        scope.setUser(sentryUser);
+
+        scope.setTag("category", "interaction");
+        scope.setTag("type", event.schema());
+        scope.setTag("interaction", interaction.getId());
+        scope.setTag("description", event.schema() + "://" + event.rawRoute());
+
+        scope.setTag("user", user.getId());
+        extra.put("user", user.getName());
+
+        if (channel != null) {
+            scope.setTag("channel", channel.getId());
+            extra.put("channel", channel.getName());
+        }
+
+        if (guild != null) {
+            scope.setTag("guild", guild.getId());
+            extra.put("guild", guild.getName());
+        }
+
+        if (interaction instanceof SlashCommandInteraction) {
+            // The options have already been extracted by the container when handling the interaction.
+            // Copied, as the options are still mutated by the flow while Sentry may read the scope.
+            scope.setContexts("Interaction", new HashMap<>(event.options()));
+        }
+
+        scope.setContexts("Discord", extra);
+    }
+
+}
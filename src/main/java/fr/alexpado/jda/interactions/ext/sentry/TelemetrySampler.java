@@ -0,0 +1,196 @@
+package fr.alexpado.jda.interactions.ext.sentry;
+
+import fr.alexpado.jda.interactions.impl.interactions.RouteTree;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionErrorHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class deciding which interactions are sent to Sentry as full transactions by a {@link SentryTelemetry}.
+ * <p>
+ * Each interaction is first sampled with the rate of its transaction name (such as {@code slash://ping}), or the
+ * default rate. Rates can also be set for a route pattern using parameter segments, such as
+ * {@code button://vote/{pollId}}, which then applies to every transaction matching it (for example
+ * {@code button://vote/12}). Sampled interactions are timed with live spans. Interactions that are not sampled can
+ * still be captured afterward: their actions are then only recorded as timestamps, and turned into a transaction when
+ * the interaction fails or exceeds the tail latency threshold.
+ */
+public class TelemetrySampler {
+
+    private final Map<String, Double> rates;
+    private final Map<String, Double> patternRates;
+
+    private volatile Map<String, RouteTree<Double>> patterns;
+    private volatile double                         defaultRate;
+    private volatile boolean                        captureFailures;
+    private volatile long                           tailThreshold;
+
+    /**
+     * Create a new {@link TelemetrySampler} capturing every interaction.
+     */
+    public TelemetrySampler() {
+
+        this.rates           = new ConcurrentHashMap<>();
+        this.patternRates    = new HashMap<>();
+        this.patterns        = Collections.emptyMap();
+        this.defaultRate     = 1;
+        this.captureFailures = true;
+        this.tailThreshold   = -1;
+    }
+
+    private static double check(double rate) {
+
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1.");
+        }
+        return rate;
+    }
+
+    /**
+     * Set the sample rate used for transactions without a specific rate.
+     *
+     * @param rate
+     *         The rate, between 0 (never) and 1 (always).
+     */
+    public void setDefaultRate(double rate) {
+
+        this.defaultRate = check(rate);
+    }
+
+    /**
+     * Set the sample rate of a transaction, or of every transaction matching a route pattern. A rate set for a
+     * transaction name takes precedence over the one of a matching pattern.
+     *
+     * @param transaction
+     *         The transaction name, such as {@code slash://ping}, or a route pattern such as
+     *         {@code button://vote/{pollId}}.
+     * @param rate
+     *         The rate, between 0 (never) and 1 (always).
+     *
+     * @throws IllegalArgumentException
+     *         If the route pattern has no schema.
+     * @throws IllegalStateException
+     *         If the route pattern declares a parameter where another pattern declares a parameter with a different
+     *         name.
+     */
+    public synchronized void setRate(String transaction, double rate) {
+
+        double checked = check(rate);
+
+        if (transaction.indexOf('{') < 0) {
+            this.rates.put(transaction, checked);
+            return;
+        }
+
+        if (transaction.indexOf("://") <= 0) {
+            throw new IllegalArgumentException("The route pattern must include its schema, such as button://vote/{pollId}.");
+        }
+
+        Map<String, Double> rates = new HashMap<>(this.patternRates);
+        rates.put(transaction, checked);
+
+        // Trees are rebuilt and published as a whole, so sample() can read them without locking.
+        Map<String, RouteTree<Double>> patterns = new HashMap<>();
+        rates.forEach((pattern, value) -> {
+            int schema = pattern.indexOf("://");
+            patterns.computeIfAbsent(pattern.substring(0, schema), key -> new RouteTree<>())
+                    .insert(pattern.substring(schema + 3), value);
+        });
+
+        this.patternRates.put(transaction, checked);
+        this.patterns = Collections.unmodifiableMap(patterns);
+    }
+
+    /**
+     * Define whether interactions which were not sampled should still be captured when an exception reaches the
+     * {@link InteractionErrorHandler}.
+     *
+     * @param captureFailures
+     *         True to capture failed interactions (default), false otherwise.
+     */
+    public void setCaptureFailures(boolean captureFailures) {
+
+        this.captureFailures = captureFailures;
+    }
+
+    /**
+     * Set the duration above which interactions which were not sampled should still be captured.
+     *
+     * @param threshold
+     *         The duration, or {@code null} to disable tail capture (default).
+     */
+    public void setTailThreshold(@Nullable Duration threshold) {
+
+        this.tailThreshold = threshold == null ? -1 : threshold.toNanos();
+    }
+
+    /**
+     * Check if an interaction should be timed with a full transaction.
+     *
+     * @param transaction
+     *         The transaction name.
+     *
+     * @return True if sampled, false otherwise.
+     */
+    public boolean sample(String transaction) {
+
+        double rate = this.rate(transaction);
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private double rate(String transaction) {
+
+        Double rate = this.rates.get(transaction);
+
+        if (rate != null || this.patterns.isEmpty()) {
+            return rate == null ? this.defaultRate : rate;
+        }
+
+        int schema = transaction.indexOf("://");
+        if (schema <= 0) {
+            return this.defaultRate;
+        }
+
+        RouteTree<Double> routes = this.patterns.get(transaction.substring(0, schema));
+        if (routes == null) {
+            return this.defaultRate;
+        }
+
+        int                     end   = transaction.indexOf('?', schema + 3);
+        RouteTree.Match<Double> match = routes.match(transaction, schema + 3, end == -1 ? transaction.length() : end);
+        return match == null ? this.defaultRate : match.value();
+    }
+
+    /**
+     * Check if interactions which were not sampled need to be recorded, to be captured afterward.
+     *
+     * @return True if failures or slow interactions are captured, false otherwise.
+     */
+    public boolean isRecording() {
+
+        return this.captureFailures || this.tailThreshold >= 0;
+    }
+
+    /**
+     * Check if a recorded interaction must be captured.
+     *
+     * @param failed
+     *         True if the interaction failed.
+     * @param nanos
+     *         The total duration of the interaction.
+     *
+     * @return True if the interaction must be sent to Sentry, false otherwise.
+     */
+    public boolean shouldCapture(boolean failed, long nanos) {
+
+        long threshold = this.tailThreshold;
+        return (failed && this.captureFailures) || (threshold >= 0 && nanos >= threshold);
+    }
+
+}
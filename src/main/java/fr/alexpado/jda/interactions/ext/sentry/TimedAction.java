@@ -3,22 +3,40 @@ package fr.alexpado.jda.interactions.ext.sentry;
 import io.sentry.ISpan;
 import io.sentry.ITransaction;
 import io.sentry.Sentry;
+import io.sentry.SpanStatus;
 import io.sentry.TransactionOptions;
 
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Implementation of {@link ITimedAction} when Sentry is enabled.
+ * <p>
+ * An interaction is timed by a single thread at a time, so opened spans are kept in a plain array used as a stack.
+ * Actions whose name is skipped don't create any span: actions opened inside them are attached to the closest
+ * recorded span instead.
  */
 public class TimedAction implements ITimedAction {
 
-    private final BlockingDeque<ISpan> span;
-    private       ITransaction         transaction;
+    private static final int INITIAL_DEPTH = 8;
+
+    private final Set<String>  skippedActions;
+    private       ISpan[]      spans;
+    private       boolean[]    owned;
+    private       int          depth;
+    private       ITransaction transaction;
 
     TimedAction() {
 
-        this.span = new LinkedBlockingDeque<>();
+        this(Collections.emptySet());
+    }
+
+    TimedAction(Set<String> skippedActions) {
+
+        this.skippedActions = skippedActions;
+        this.spans          = new ISpan[INITIAL_DEPTH];
+        this.owned          = new boolean[INITIAL_DEPTH];
     }
 
     /**
@@ -46,11 +64,8 @@ public class TimedAction implements ITimedAction {
     @Override
     public void close() {
 
-        while (!this.span.isEmpty()) {
-            ISpan span = this.span.pollLast();
-            if (span != null) {
-                span.finish();
-            }
+        while (this.depth > 0) {
+            this.endAction();
         }
         this.transaction.finish();
     }
@@ -67,12 +82,48 @@ public class TimedAction implements ITimedAction {
     @Override
     public void action(String name, String description) {
 
-        if (this.span.isEmpty()) {
-            this.span.offer(this.transaction.startChild(name, description));
-            return;
+        if (this.depth == this.spans.length) {
+            this.spans = Arrays.copyOf(this.spans, this.depth * 2);
+            this.owned = Arrays.copyOf(this.owned, this.depth * 2);
         }
 
-        this.span.offer(this.span.getLast().startChild(name, description));
+        ISpan parent = this.depth == 0 ? this.transaction : this.spans[this.depth - 1];
+
+        if (this.skippedActions.contains(name)) {
+            this.spans[this.depth] = parent;
+            this.owned[this.depth] = false;
+        } else {
+            this.spans[this.depth] = parent.startChild(name, description);
+            this.owned[this.depth] = true;
+        }
+        this.depth++;
+    }
+
+    /**
+     * Attach a tag to the Sentry transaction.
+     *
+     * @param key
+     *         The name of the tag.
+     * @param value
+     *         The value of the tag.
+     */
+    @Override
+    public void tag(String key, String value) {
+
+        this.transaction.setTag(key, value);
+    }
+
+    /**
+     * Mark the Sentry transaction as failed.
+     *
+     * @param throwable
+     *         The reason of the failure.
+     */
+    @Override
+    public void failed(Throwable throwable) {
+
+        this.transaction.setThrowable(throwable);
+        this.transaction.setStatus(SpanStatus.INTERNAL_ERROR);
     }
 
     /**
@@ -81,15 +132,17 @@ public class TimedAction implements ITimedAction {
     @Override
     public void endAction() {
 
-        if (this.span.isEmpty()) {
+        if (this.depth == 0) {
             return;
         }
 
-        ISpan span = this.span.pollLast();
-        if (span != null) {
+        this.depth--;
+        ISpan span = this.spans[this.depth];
+        this.spans[this.depth] = null;
+
+        if (this.owned[this.depth]) {
             span.finish();
         }
     }
 
-
 }
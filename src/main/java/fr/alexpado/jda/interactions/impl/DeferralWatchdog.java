@@ -0,0 +1,213 @@
+package fr.alexpado.jda.interactions.impl;
+
+import fr.alexpado.jda.interactions.entities.Deferral;
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.callbacks.IMessageEditCallback;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class deferring the {@link Interaction} which have not been answered within a threshold, so that slow targets don't
+ * miss the 3 seconds Discord gives to acknowledge an {@link Interaction}, while fast ones are answered with a single
+ * request.
+ * <p>
+ * The time each target takes to produce its response is tracked as an exponentially weighted moving average. Once a
+ * target is known to usually take longer than the threshold, its {@link Interaction} are deferred as soon as the
+ * target starts, without waiting for the threshold.
+ */
+public class DeferralWatchdog {
+
+    private static final int MIN_SAMPLES = 5;
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Estimate>    estimates;
+    private volatile long                  threshold;
+    private volatile double                smoothing;
+    private volatile boolean               proactive;
+
+    /**
+     * Create a new {@link DeferralWatchdog} using a scheduler thread shared by every {@link DeferralWatchdog}, and
+     * deferring interactions after 2 seconds.
+     */
+    public DeferralWatchdog() {
+
+        this(Shared.SCHEDULER);
+    }
+
+    /**
+     * Create a new {@link DeferralWatchdog} deferring interactions after 2 seconds.
+     *
+     * @param scheduler
+     *         The {@link ScheduledExecutorService} on which deferrals are sent.
+     */
+    public DeferralWatchdog(ScheduledExecutorService scheduler) {
+
+        this.scheduler = scheduler;
+        this.estimates = new ConcurrentHashMap<>();
+        this.threshold = TimeUnit.SECONDS.toNanos(2);
+        this.smoothing = 0.2;
+        this.proactive = true;
+    }
+
+    /**
+     * Define how long an {@link Interaction} may run before being deferred.
+     *
+     * @param threshold
+     *         The threshold, which should leave enough time for the deferral to reach Discord within 3 seconds.
+     */
+    public void setThreshold(Duration threshold) {
+
+        this.threshold = threshold.toNanos();
+    }
+
+    /**
+     * Retrieve how long an {@link Interaction} may run before being deferred.
+     *
+     * @return The threshold.
+     */
+    public Duration getThreshold() {
+
+        return Duration.ofNanos(this.threshold);
+    }
+
+    /**
+     * Define the weight of each new response time in the average kept per target.
+     *
+     * @param smoothing
+     *         A value between 0 (excluded) and 1 (included). Higher values react faster to changes.
+     */
+    public void setSmoothing(double smoothing) {
+
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("The smoothing factor must be in ]0;1].");
+        }
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Define whether targets usually slower than the threshold should be deferred as soon as they start.
+     *
+     * @param proactive
+     *         True to defer slow targets right away (default), false to always wait for the threshold.
+     */
+    public void setProactive(boolean proactive) {
+
+        this.proactive = proactive;
+    }
+
+    /**
+     * Start watching the provided {@link DispatchEvent}, deferring its {@link Interaction} once the threshold is
+     * reached unless its response is being sent by then.
+     *
+     * @param event
+     *         The {@link DispatchEvent} to watch.
+     */
+    public void watch(DispatchEvent<?> event) {
+
+        this.watch(event.deferral());
+    }
+
+    /**
+     * Start watching the provided {@link Deferral}, deferring its {@link Interaction} once the threshold is reached
+     * unless its response is being sent by then.
+     *
+     * @param deferral
+     *         The {@link Deferral} to watch.
+     */
+    public void watch(Deferral deferral) {
+
+        Interaction interaction = deferral.getInteraction();
+
+        if (!(interaction instanceof IReplyCallback) && !(interaction instanceof IMessageEditCallback)) {
+            return; // Auto-completions can't be deferred.
+        }
+
+        long               delay = this.threshold - (System.nanoTime() - deferral.getReceivedAt());
+        ScheduledFuture<?> task  = this.scheduler.schedule(deferral::deferIfUnanswered, Math.max(0, delay), TimeUnit.NANOSECONDS);
+
+        deferral.watch(this, task);
+    }
+
+    /**
+     * Check if the target with the provided name usually takes longer than the threshold to produce its response.
+     *
+     * @param route
+     *         The name of the target.
+     *
+     * @return True if the target should be deferred right away, false otherwise.
+     */
+    public boolean isSlow(String route) {
+
+        if (!this.proactive) {
+            return false;
+        }
+
+        Estimate estimate = this.estimates.get(route);
+        return estimate != null && estimate.samples.get() >= MIN_SAMPLES && estimate.average.get() >= this.threshold;
+    }
+
+    /**
+     * Record the time taken by the target with the provided name to produce its response.
+     *
+     * @param route
+     *         The name of the target.
+     * @param nanos
+     *         The time between the reception of the {@link Interaction} and its response, in nanoseconds.
+     */
+    public void record(String route, long nanos) {
+
+        Estimate estimate = this.estimates.computeIfAbsent(route, key -> new Estimate());
+        double   weight   = estimate.samples.getAndIncrement() == 0 ? 1 : this.smoothing;
+
+        estimate.average.accumulateAndGet(nanos, (average, sample) -> average + Math.round((sample - average) * weight));
+    }
+
+    /**
+     * Retrieve the average time taken by the target with the provided name to produce its response.
+     *
+     * @param route
+     *         The name of the target.
+     *
+     * @return The average response time, or an empty {@link Optional} if no response has been recorded.
+     */
+    public Optional<Duration> getEstimate(String route) {
+
+        return Optional.ofNullable(this.estimates.get(route)).map(estimate -> Duration.ofNanos(estimate.average.get()));
+    }
+
+    private static final class Estimate {
+
+        private final AtomicLong    average = new AtomicLong();
+        private final AtomicInteger samples = new AtomicInteger();
+
+    }
+
+    private static final class Shared {
+
+        // Only created once a watchdog using the shared scheduler is created.
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+                    1,
+                    Thread.ofPlatform().daemon().name("interaction-watchdog").factory()
+            );
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+
+    }
+
+}
@@ -0,0 +1,483 @@
+package fr.alexpado.jda.interactions.impl;
+
+import fr.alexpado.jda.interactions.annotations.Interact;
+import fr.alexpado.jda.interactions.annotations.Option;
+import fr.alexpado.jda.interactions.exceptions.InteractionDeclarationException;
+import fr.alexpado.jda.interactions.impl.interactions.autocomplete.AutocompleteInteractionTargetImpl;
+import fr.alexpado.jda.interactions.impl.interactions.button.ButtonInteractionTargetImpl;
+import fr.alexpado.jda.interactions.impl.interactions.slash.SlashInteractionTargetImpl;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionInvoker;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
+import fr.alexpado.jda.interactions.interfaces.interactions.MetaContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.MutableInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionTarget;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionTarget;
+import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionTarget;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import fr.alexpado.jda.interactions.meta.OptionMeta;
+import fr.alexpado.jda.interactions.processor.InteractionProcessor;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Class turning methods annotated with {@link Interact} into interaction targets, and registering them into the
+ * default containers.
+ * <p>
+ * When the holder class has been compiled with the {@link InteractionProcessor} annotation processor, its annotated
+ * methods are read from the generated {@link InteractionProcessor#INDEX_FILE} instead of scanning every declared method
+ * of the class. Classes missing from the index are scanned as a fallback. Indexed methods are called through the
+ * {@link InteractionInvoker} generated by the processor instead of a {@link MethodHandle}, and their
+ * {@link InteractionMeta} is built by the generated code: registering them only loads the invoker class, and the
+ * {@link Method} itself is only looked up to describe errors.
+ * <p>
+ * Each method is registered as:
+ * <ul>
+ *     <li>a button, using {@link Interact#hideAsButton()};</li>
+ *     <li>a slash command, using {@link Interact#hideAsSlash()}, unless its name contains route parameters;</li>
+ *     <li>an auto-completion, when registered as a slash command with at least one auto-completable {@link Option}.</li>
+ * </ul>
+ */
+public class InteractionRegistrar {
+
+    // Weak keys: the index of a discarded class loader must not keep it, nor any of its classes, reachable.
+    private static final Map<ClassLoader, Map<String, List<String>>> INDEXES = new WeakHashMap<>();
+    private static final ClassValue<Declaration[]>                   METHODS = new ClassValue<>() {
+        @Override
+        protected Declaration[] computeValue(Class<?> type) {
+
+            return findMethods(type);
+        }
+    };
+
+    private final SlashInteractionContainer        slashContainer;
+    private final ButtonInteractionContainer       buttonContainer;
+    private final AutocompleteInteractionContainer autocompleteContainer;
+
+    /**
+     * Create a new {@link InteractionRegistrar}.
+     *
+     * @param slashContainer
+     *         The {@link SlashInteractionContainer} receiving slash targets.
+     * @param buttonContainer
+     *         The {@link ButtonInteractionContainer} receiving button targets.
+     * @param autocompleteContainer
+     *         The {@link AutocompleteInteractionContainer} receiving auto-completion targets.
+     */
+    public InteractionRegistrar(SlashInteractionContainer slashContainer, ButtonInteractionContainer buttonContainer, AutocompleteInteractionContainer autocompleteContainer) {
+
+        this.slashContainer        = slashContainer;
+        this.buttonContainer       = buttonContainer;
+        this.autocompleteContainer = autocompleteContainer;
+    }
+
+    private static Declaration[] findMethods(Class<?> type) {
+
+        ClassLoader  loader  = type.getClassLoader() == null ? ClassLoader.getSystemClassLoader() : type.getClassLoader();
+        List<String> entries = getIndex(loader).get(type.getName());
+
+        if (entries == null) {
+            return Arrays.stream(type.getDeclaredMethods())
+                         .filter(method -> method.isAnnotationPresent(Interact.class))
+                         .map(method -> declare(method, null))
+                         .toArray(Declaration[]::new);
+        }
+
+        Declaration[] declarations = new Declaration[entries.size()];
+        for (int i = 0; i < declarations.length; i++) {
+            declarations[i] = resolve(type, loader, entries.get(i));
+        }
+        return declarations;
+    }
+
+    private static Map<String, List<String>> getIndex(ClassLoader loader) {
+
+        synchronized (INDEXES) {
+            return INDEXES.computeIfAbsent(loader, InteractionRegistrar::loadIndex);
+        }
+    }
+
+    private static Map<String, List<String>> loadIndex(ClassLoader loader) {
+
+        Map<String, List<String>> index = new HashMap<>();
+
+        try {
+            Enumeration<URL> resources = loader.getResources(InteractionProcessor.INDEX_FILE);
+
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int separator = line.indexOf('#');
+                        if (line.isBlank() || line.startsWith("//") || separator <= 0) {
+                            continue;
+                        }
+                        index.computeIfAbsent(line.substring(0, separator), key -> new ArrayList<>())
+                             .add(line.substring(separator + 1));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + InteractionProcessor.INDEX_FILE, e);
+        }
+
+        return index;
+    }
+
+    private static Declaration resolve(Class<?> type, ClassLoader loader, String entry) {
+
+        int    assignment = entry.indexOf('=');
+        String signature  = assignment < 0 ? entry : entry.substring(0, assignment);
+
+        if (assignment < 0) {
+            return declare(lookup(type, loader, signature), null);
+        }
+
+        InteractionInvoker invoker;
+
+        try {
+            Class<?> invokerClass = Class.forName(entry.substring(assignment + 1), true, loader);
+            invoker = (InteractionInvoker) invokerClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw outdated(type, signature, e);
+        }
+
+        InteractionMeta buttonMeta = invoker.getButtonMeta();
+        InteractionMeta slashMeta  = invoker.getSlashMeta();
+
+        if (buttonMeta == null || slashMeta == null) {
+            // Invoker generated by a previous version of the processor, without the metadata.
+            return declare(lookup(type, loader, signature), invoker);
+        }
+
+        return new Declaration(() -> lookup(type, loader, signature), invoker, buttonMeta, slashMeta);
+    }
+
+    private static Declaration declare(Method method, @Nullable InteractionInvoker invoker) {
+
+        Interact interact = method.getAnnotation(Interact.class);
+
+        if (interact == null) {
+            throw new InteractionDeclarationException(method.getDeclaringClass(), method, "?", "Method is not annotated with @Interact");
+        }
+
+        return new Declaration(
+                () -> method,
+                invoker,
+                InteractionMeta.of(interact, interact.hideAsButton()),
+                InteractionMeta.of(interact, interact.hideAsSlash())
+        );
+    }
+
+    private static Method lookup(Class<?> type, ClassLoader loader, String signature) {
+
+        int        open       = signature.indexOf('(');
+        String     name       = signature.substring(0, open);
+        String     parameters = signature.substring(open + 1, signature.length() - 1);
+        String[]   typeNames  = parameters.isEmpty() ? new String[0] : parameters.split(",");
+        Class<?>[] types      = new Class<?>[typeNames.length];
+
+        try {
+            for (int i = 0; i < typeNames.length; i++) {
+                types[i] = loadType(loader, typeNames[i]);
+            }
+            return type.getDeclaredMethod(name, types);
+        } catch (ReflectiveOperationException e) {
+            throw outdated(type, signature, e);
+        }
+    }
+
+    private static IllegalStateException outdated(Class<?> type, String signature, ReflectiveOperationException cause) {
+
+        return new IllegalStateException(String.format(
+                "The interaction index is out of date: %s#%s cannot be found. Please rebuild the project.",
+                type.getName(),
+                signature
+        ), cause);
+    }
+
+    private static Class<?> loadType(ClassLoader loader, String name) throws ClassNotFoundException {
+
+        if (name.endsWith("[]")) {
+            return loadType(loader, name.substring(0, name.length() - 2)).arrayType();
+        }
+
+        return switch (name) {
+            case "boolean" -> boolean.class;
+            case "byte" -> byte.class;
+            case "char" -> char.class;
+            case "short" -> short.class;
+            case "int" -> int.class;
+            case "long" -> long.class;
+            case "float" -> float.class;
+            case "double" -> double.class;
+            default -> Class.forName(name, false, loader);
+        };
+    }
+
+    private static <T extends MetaContainer> List<T> merge(Collection<T> current, Set<String> removed, List<T> added) {
+
+        Set<String> replaced = new HashSet<>(removed);
+        added.forEach(target -> replaced.add(target.getMeta().name()));
+
+        List<T> targets = new ArrayList<>();
+        for (T target : current) {
+            if (!replaced.contains(target.getMeta().name())) {
+                targets.add(target);
+            }
+        }
+        targets.addAll(added);
+        return targets;
+    }
+
+    private static <T extends MetaContainer> List<T> append(Collection<T> current, List<T> added) {
+
+        Set<String> names = new HashSet<>();
+        current.forEach(target -> names.add(target.getMeta().name()));
+
+        List<T> targets = new ArrayList<>(current);
+        for (T target : added) {
+            // Like InteractionContainer#register, keep the target already registered under the same name.
+            if (names.add(target.getMeta().name())) {
+                targets.add(target);
+            }
+        }
+        return targets;
+    }
+
+    private static void carryOver(Collection<AutocompleteInteractionTarget> current, List<AutocompleteInteractionTarget> added) {
+
+        Map<String, AutocompleteInteractionTarget> previous = new HashMap<>();
+        current.forEach(target -> previous.put(target.getMeta().name(), target));
+
+        for (AutocompleteInteractionTarget target : added) {
+            AutocompleteInteractionTarget replaced = previous.get(target.getMeta().name());
+            if (replaced != null) {
+                replaced.getCompletionProviders().forEach(target::addCompletionProvider);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends InteractionTarget<V>, V extends Interaction> MutableInteractionContainer<T, V> mutable(InteractionContainer<T, V> container) {
+
+        if (container instanceof MutableInteractionContainer<?, ?> mutable) {
+            // The type parameters of both interfaces are the same.
+            return (MutableInteractionContainer<T, V>) mutable;
+        }
+
+        throw new UnsupportedOperationException(String.format(
+                "%s does not implement %s: its targets can't be removed or replaced.",
+                container.getClass().getSimpleName(),
+                MutableInteractionContainer.class.getSimpleName()
+        ));
+    }
+
+    /**
+     * Register every method annotated with {@link Interact} declared by the class of the provided holder. Targets
+     * whose name is already registered in a container are ignored.
+     * <p>
+     * When every container is a {@link MutableInteractionContainer}, the targets of each container are published at
+     * once with a single {@link MutableInteractionContainer#swap(UnaryOperator)}, after all of them have been
+     * validated: registering a holder then costs one snapshot per container instead of one per method, and an invalid
+     * holder leaves all containers untouched. Otherwise, targets are registered one by one.
+     *
+     * @param holder
+     *         The object on which the interaction methods will be called.
+     *
+     * @return The amount of methods registered.
+     *
+     * @throws IllegalArgumentException
+     *         If the new targets conflict with each other or with the registered ones.
+     * @throws IllegalStateException
+     *         If the new slash commands can't be registered with the registered ones.
+     */
+    public synchronized int register(Object holder) {
+
+        Targets targets = this.createTargets(holder);
+
+        if (!(this.buttonContainer instanceof MutableInteractionContainer<?, ?>)
+                || !(this.slashContainer instanceof MutableInteractionContainer<?, ?>)
+                || !(this.autocompleteContainer instanceof MutableInteractionContainer<?, ?>)) {
+            targets.buttons().forEach(this.buttonContainer::register);
+            targets.slashes().forEach(this.slashContainer::register);
+            targets.completions().forEach(this.autocompleteContainer::register);
+            return targets.names().size();
+        }
+
+        MutableInteractionContainer<ButtonInteractionTarget, ButtonInteraction>                   buttons     = mutable(this.buttonContainer);
+        MutableInteractionContainer<SlashInteractionTarget, SlashCommandInteraction>              slashes     = mutable(this.slashContainer);
+        MutableInteractionContainer<AutocompleteInteractionTarget, CommandAutoCompleteInteraction> completions = mutable(this.autocompleteContainer);
+
+        buttons.validate(append(buttons.getInteractions().values(), targets.buttons()));
+        slashes.validate(append(slashes.getInteractions().values(), targets.slashes()));
+        completions.validate(append(completions.getInteractions().values(), targets.completions()));
+
+        buttons.swap(current -> append(current, targets.buttons()));
+        slashes.swap(current -> append(current, targets.slashes()));
+        completions.swap(current -> append(current, targets.completions()));
+
+        return targets.names().size();
+    }
+
+    /**
+     * Remove every interaction registered from a holder of the same class as the provided one.
+     *
+     * @param holder
+     *         The object whose interaction methods should be removed.
+     *
+     * @return The amount of methods unregistered.
+     *
+     * @throws UnsupportedOperationException
+     *         If one of the containers is not a {@link MutableInteractionContainer}. Nothing is unregistered.
+     */
+    public synchronized int unregister(Object holder) {
+
+        MutableInteractionContainer<ButtonInteractionTarget, ButtonInteraction>                   buttons     = mutable(this.buttonContainer);
+        MutableInteractionContainer<SlashInteractionTarget, SlashCommandInteraction>              slashes     = mutable(this.slashContainer);
+        MutableInteractionContainer<AutocompleteInteractionTarget, CommandAutoCompleteInteraction> completions = mutable(this.autocompleteContainer);
+
+        Set<String> names = this.getNames(holder.getClass());
+
+        for (String name : names) {
+            buttons.unregister(name);
+            slashes.unregister(name);
+            completions.unregister(name);
+        }
+
+        return names.size();
+    }
+
+    /**
+     * Replace every interaction registered from the previous holder with the ones declared by the replacement. The new
+     * targets of every container are validated before any of them is published, so an invalid replacement leaves all
+     * containers untouched. Each container is then swapped atomically: events received during the reload are
+     * dispatched either to the previous or to the new targets, and events already being dispatched finish with the
+     * previous targets.
+     * <p>
+     * Completion providers added to the previous auto-completion targets are carried over to the new targets with the
+     * same name.
+     *
+     * @param previous
+     *         The object whose interaction methods should be removed.
+     * @param replacement
+     *         The object on which the new interaction methods will be called.
+     *
+     * @return The amount of methods registered.
+     *
+     * @throws UnsupportedOperationException
+     *         If one of the containers is not a {@link MutableInteractionContainer}. Nothing is reloaded.
+     * @throws IllegalArgumentException
+     *         If the new targets conflict with each other or with the remaining ones. Nothing is reloaded.
+     * @throws IllegalStateException
+     *         If the new slash commands can't be registered with the remaining ones. Nothing is reloaded.
+     */
+    public synchronized int reload(Object previous, Object replacement) {
+
+        MutableInteractionContainer<ButtonInteractionTarget, ButtonInteraction>                   buttons     = mutable(this.buttonContainer);
+        MutableInteractionContainer<SlashInteractionTarget, SlashCommandInteraction>              slashes     = mutable(this.slashContainer);
+        MutableInteractionContainer<AutocompleteInteractionTarget, CommandAutoCompleteInteraction> completions = mutable(this.autocompleteContainer);
+
+        Set<String> removed = this.getNames(previous.getClass());
+        Targets     targets = this.createTargets(replacement);
+
+        buttons.validate(merge(buttons.getInteractions().values(), removed, targets.buttons()));
+        slashes.validate(merge(slashes.getInteractions().values(), removed, targets.slashes()));
+        completions.validate(merge(completions.getInteractions().values(), removed, targets.completions()));
+
+        carryOver(completions.getInteractions().values(), targets.completions());
+
+        buttons.swap(current -> merge(current, removed, targets.buttons()));
+        slashes.swap(current -> merge(current, removed, targets.slashes()));
+        completions.swap(current -> merge(current, removed, targets.completions()));
+
+        return targets.names().size();
+    }
+
+    private Set<String> getNames(Class<?> type) {
+
+        Set<String> names = new HashSet<>();
+        for (Declaration declaration : METHODS.get(type)) {
+            names.add(declaration.buttonMeta().name());
+        }
+        return names;
+    }
+
+    private Targets createTargets(Object holder) {
+
+        Targets targets = new Targets(new HashSet<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        for (Declaration declaration : METHODS.get(holder.getClass())) {
+            InteractionInvoker invoker    = declaration.invoker();
+            InteractionMeta    buttonMeta = declaration.buttonMeta();
+            InteractionMeta    slashMeta  = declaration.slashMeta();
+
+            targets.names().add(buttonMeta.name());
+            targets.buttons().add(invoker == null
+                                          ? new ButtonInteractionTargetImpl(holder, declaration.method().get(), buttonMeta)
+                                          : new ButtonInteractionTargetImpl(holder, declaration.method(), buttonMeta, invoker));
+
+            if (slashMeta.name().indexOf('{') >= 0) {
+                continue;
+            }
+
+            targets.slashes().add(invoker == null
+                                          ? new SlashInteractionTargetImpl(holder, declaration.method().get(), slashMeta)
+                                          : new SlashInteractionTargetImpl(holder, declaration.method(), slashMeta, invoker));
+
+            if (slashMeta.options().stream().anyMatch(OptionMeta::isAutoCompletable)) {
+                targets.completions().add(new AutocompleteInteractionTargetImpl(slashMeta));
+            }
+        }
+
+        return targets;
+    }
+
+    private record Targets(
+            Set<String> names,
+            List<ButtonInteractionTarget> buttons,
+            List<SlashInteractionTarget> slashes,
+            List<AutocompleteInteractionTarget> completions
+    ) {
+
+    }
+
+    private record Declaration(
+            Supplier<Method> method,
+            @Nullable InteractionInvoker invoker,
+            InteractionMeta buttonMeta,
+            InteractionMeta slashMeta
+    ) {
+
+    }
+
+}
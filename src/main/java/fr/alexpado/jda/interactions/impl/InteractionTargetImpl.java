@@ -2,31 +2,43 @@ package fr.alexpado.jda.interactions.impl;
 
 import fr.alexpado.jda.interactions.annotations.Param;
 import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.entities.LazyEntity;
 import fr.alexpado.jda.interactions.exceptions.InteractionDeclarationException;
 import fr.alexpado.jda.interactions.exceptions.InteractionInjectionException;
 import fr.alexpado.jda.interactions.interfaces.interactions.Injection;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionArguments;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionInvoker;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import fr.alexpado.jda.interactions.interfaces.interactions.MetaContainer;
 import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import fr.alexpado.jda.interactions.processor.InteractionProcessor;
+import net.dv8tion.jda.api.entities.ISnowflake;
 import net.dv8tion.jda.api.interactions.Interaction;
-import net.dv8tion.jda.api.interactions.callbacks.IMessageEditCallback;
-import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
 
 /**
  * Class implementing the default behavior of an {@link InteractionTarget}.
+ * <p>
+ * The parameters of the target method are analyzed once when this {@link InteractionTargetImpl} is created, and the
+ * method itself is bound to a {@link MethodHandle}, so executing the interaction only consists in filling an array
+ * and invoking the handle.
+ * <p>
+ * When an {@link InteractionInvoker} generated by the {@link InteractionProcessor} is provided, the method is called
+ * through it instead, and no parameter analysis occurs.
  *
  * @param <T>
  *         The type of the interaction
@@ -41,9 +53,13 @@ public class InteractionTargetImpl<T extends Interaction> implements Interaction
 
     private final static Logger LOGGER = LoggerFactory.getLogger(InteractionTargetImpl.class);
 
-    private final Object          instance;
-    private final Method          method;
-    private final InteractionMeta meta;
+    private final    Object                       instance;
+    private final    Supplier<Method>             declaration;
+    private final    InteractionMeta              meta;
+    private final    Slot[]                       slots;
+    private final    MethodHandle                 invoker;
+    private final    @Nullable InteractionInvoker generated;
+    private volatile Method                       method;
 
     /**
      * Create a new {@link InteractionTargetImpl} implementation instance.
@@ -57,9 +73,47 @@ public class InteractionTargetImpl<T extends Interaction> implements Interaction
      */
     public InteractionTargetImpl(Object instance, Method method, InteractionMeta meta) {
 
-        this.instance = instance;
-        this.method   = method;
-        this.meta     = meta;
+        this.instance    = instance;
+        this.declaration = () -> method;
+        this.method      = method;
+        this.meta        = meta;
+        this.slots       = this.createSlots();
+        this.invoker     = this.createInvoker();
+        this.generated   = null;
+    }
+
+    /**
+     * Create a new {@link InteractionTargetImpl} implementation instance calling the method through a generated
+     * {@link InteractionInvoker}.
+     *
+     * @param instance
+     *         The instance object within which the interaction exists.
+     * @param method
+     *         The lookup of the method executing the interaction. It is only called, once, to describe errors.
+     * @param meta
+     *         The meta representing this {@link InteractionTargetImpl}.
+     * @param generated
+     *         The {@link InteractionInvoker} calling the method.
+     */
+    public InteractionTargetImpl(Object instance, Supplier<Method> method, InteractionMeta meta, InteractionInvoker generated) {
+
+        this.instance    = instance;
+        this.declaration = method;
+        this.meta        = meta;
+        this.slots       = new Slot[0];
+        this.invoker     = null;
+        this.generated   = generated;
+    }
+
+    private Method method() {
+
+        Method method = this.method;
+
+        if (method == null) {
+            method      = this.declaration.get();
+            this.method = method;
+        }
+        return method;
     }
 
     /**
@@ -80,86 +134,73 @@ public class InteractionTargetImpl<T extends Interaction> implements Interaction
     @Override
     public Object execute(DispatchEvent<T> event, Map<Class<?>, Injection<DispatchEvent<T>, ?>> mapping) throws Exception {
 
+        event.deferral().configure(this.getMeta().name(), this.getMeta().shouldReply(), this.getMeta().isHidden());
+
         if (this.getMeta().isDeferred()) {
             event.timedAction().action("deferring", "Deferring the interaction");
-            boolean     reply       = this.getMeta().shouldReply();
-            Interaction interaction = event.interaction();
+            event.deferral().defer();
+            event.timedAction().endAction();
+        }
 
-            if (reply && interaction instanceof IReplyCallback callback) {
-                callback.deferReply(this.getMeta().isHidden()).complete();
-            } else if (!reply && interaction instanceof IMessageEditCallback callback) {
-                callback.deferEdit().complete();
-            } else {
-                throw new UnsupportedOperationException("Couldn't pre-handle deferred request");
-            }
+        if (this.generated != null) {
+            event.timedAction().action("invoke", "Running the interaction");
+            Object result = this.generated.invoke(this.instance, new Arguments(event, mapping));
             event.timedAction().endAction();
+            return result;
         }
 
         event.timedAction().action("injection", "Injecting parameters");
-        Collection<Object> callParameters = new ArrayList<>();
+        Object[] callParameters = new Object[this.slots.length];
+
+        for (int i = 0; i < this.slots.length; i++) {
+            Slot slot = this.slots[i];
+            event.timedAction().action("param", slot.description());
 
-        for (Parameter parameter : this.method.getParameters()) {
-            event.timedAction().action("param", "Injecting " + parameter.getName());
-            String  name        = parameter.getName();
-            String  type        = parameter.getType().getSimpleName();
-            boolean isOption    = parameter.isAnnotationPresent(Param.class);
-            boolean isInjection = mapping.containsKey(parameter.getType());
+            Injection<DispatchEvent<T>, ?> injection = mapping.get(slot.type());
 
-            LOGGER.debug("Parameter {} is type {} (Option: {}, Injection: {})", name, type, isOption, isInjection);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(
+                        "Parameter {} is type {} (Option: {}, Injection: {})",
+                        slot.parameter().getName(),
+                        slot.type().getSimpleName(),
+                        slot.isOption(),
+                        injection != null
+                );
+            }
 
             @Nullable
             Object parameterInput;
 
-            if (isOption) {
-                Param  param = parameter.getAnnotation(Param.class);
-                Object obj   = event.options().get(param.value());
+            if (slot.isOption()) {
+                Object obj = entity(slot.type(), event.options().get(slot.option()));
 
-                if (!this.canMap(parameter, obj) && isInjection) { // Special case where the injection is used as converter
-                    Injection<DispatchEvent<T>, ?> injection = mapping.get(parameter.getType());
-                    Supplier<?>                    injecter  = injection.inject(event, param.value());
-
-                    try {
-                        parameterInput = injecter.get();
-                    } catch (Exception e) {
-                        throw new InteractionInjectionException(e, this.instance.getClass(), this.method, parameter);
-                    }
+                if (injection != null && !slot.accepts(obj)) { // Special case where the injection is used as converter
+                    parameterInput = this.inject(i, injection, event, slot.option());
                 } else {
                     parameterInput = obj;
                 }
-            } else if (isInjection) {
-                Injection<DispatchEvent<T>, ?> injection = mapping.get(parameter.getType());
-                Supplier<?>                    injecter  = injection.inject(event, null);
-
-                try {
-                    parameterInput = injecter.get();
-                } catch (Exception e) {
-                    throw new InteractionInjectionException(e, this.instance.getClass(), this.method, parameter);
-                }
+            } else if (injection != null) {
+                parameterInput = this.inject(i, injection, event, null);
             } else {
-                throw new InteractionDeclarationException(
-                        this.instance.getClass(),
-                        this.method,
-                        this.meta.name(),
-                        "Unmapped parameter " + type
-                );
+                throw this.unmapped(slot.type());
             }
 
-            this.checkMapping(parameter, parameterInput);
-            callParameters.add(parameterInput);
+            this.checkMapping(slot.parameter(), slot.type(), slot.boxed(), parameterInput);
+            callParameters[i] = parameterInput;
             event.timedAction().endAction();
         }
         event.timedAction().endAction();
 
         try {
             event.timedAction().action("invoke", "Running the interaction");
-            Object result = this.method.invoke(this.instance, callParameters.toArray(Object[]::new));
+            Object result = (Object) this.invoker.invokeExact(callParameters);
             event.timedAction().endAction();
             return result;
-        } catch (InvocationTargetException e) {
-            if (e.getCause() instanceof Exception ex) {
-                throw ex;
-            }
+        } catch (Exception e) {
             throw e;
+        } catch (Throwable t) {
+            // Keep the same contract as a reflective call for anything that isn't an Exception.
+            throw new InvocationTargetException(t);
         }
     }
 
@@ -174,53 +215,235 @@ public class InteractionTargetImpl<T extends Interaction> implements Interaction
         return this.meta;
     }
 
+    private Object inject(int index, Injection<DispatchEvent<T>, ?> injection, DispatchEvent<T> event, String option) throws InteractionInjectionException {
+
+        Supplier<?> injecter = injection.inject(event, option);
+
+        try {
+            return injecter.get();
+        } catch (Exception e) {
+            throw new InteractionInjectionException(e, this.instance.getClass(), this.method(), this.parameter(index));
+        }
+    }
+
+    private Parameter parameter(int index) {
+
+        return this.method().getParameters()[index];
+    }
+
+    private InteractionDeclarationException unmapped(Class<?> type) {
+
+        return new InteractionDeclarationException(
+                this.instance.getClass(),
+                this.method(),
+                this.meta.name(),
+                "Unmapped parameter " + type.getSimpleName()
+        );
+    }
+
+    private Slot[] createSlots() {
 
-    private boolean canMap(Parameter parameter, Object parameterInput) {
+        Parameter[] parameters = this.method().getParameters();
+        Slot[]      slots      = new Slot[parameters.length];
+
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Param     param     = parameter.getAnnotation(Param.class);
+            Class<?>  type      = parameter.getType();
+
+            slots[i] = new Slot(
+                    parameter,
+                    param == null ? null : param.value(),
+                    type,
+                    type.isPrimitive() ? PRIMITIVE_MAP.get(type) : type,
+                    "Injecting " + parameter.getName()
+            );
+        }
+
+        return slots;
+    }
+
+    private MethodHandle createInvoker() {
 
         try {
-            this.checkMapping(parameter, parameterInput);
-            return true;
-        } catch (InteractionInjectionException e) {
-            return false;
+            MethodHandle handle = MethodHandles.lookup().unreflect(this.method()).asFixedArity();
+
+            if (!Modifier.isStatic(this.method().getModifiers())) {
+                handle = handle.bindTo(this.instance);
+            }
+
+            return handle.asSpreader(Object[].class, this.slots.length)
+                         .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new InteractionDeclarationException(
+                    this.instance.getClass(),
+                    this.method(),
+                    this.meta.name(),
+                    "Unable to access the method: " + e.getMessage()
+            );
         }
     }
 
-    private void checkMapping(Parameter parameter, Object parameterInput) throws InteractionInjectionException {
+    private void checkMapping(Parameter parameter, Class<?> type, Class<?> boxed, Object parameterInput) throws InteractionInjectionException {
         // Sanity checks, please bear with me :(
-        if (parameter.getType().isPrimitive()) {
+        if (type.isPrimitive()) {
             if (parameterInput == null) {
                 throw new InteractionInjectionException(
                         this.instance.getClass(),
-                        this.method,
+                        this.method(),
                         parameter,
                         "Unable to assign null-value to a primitive typed parameter."
                 );
             }
 
-            if (!PRIMITIVE_MAP.containsKey(parameter.getType())) {
+            if (boxed == null) {
                 throw new InteractionInjectionException(
                         this.instance.getClass(),
-                        this.method,
+                        this.method(),
                         parameter,
                         "Parameter is an unsupported primitive type (supported: long, boolean, double)."
                 );
             }
 
-            if (!PRIMITIVE_MAP.get(parameter.getType()).isAssignableFrom(parameterInput.getClass())) {
+            if (!boxed.isInstance(parameterInput)) {
                 throw new InteractionInjectionException(
                         this.instance.getClass(),
-                        this.method,
+                        this.method(),
                         parameter,
                         parameterInput
                 );
             }
-        } else if (parameterInput != null && !parameter.getType().isAssignableFrom(parameterInput.getClass())) {
+        } else if (parameterInput != null && !type.isInstance(parameterInput)) {
             throw new InteractionInjectionException(
                     this.instance.getClass(),
-                    this.method,
+                    this.method(),
                     parameter,
                     parameterInput
             );
         }
     }
+
+    /**
+     * Adapt an entity option to the type of the parameter receiving it: a {@link LazyEntity} handle is only looked up
+     * in the cache when the parameter expects the entity itself, and an entity already resolved by JDA is wrapped when
+     * the parameter expects a {@link LazyEntity}.
+     *
+     * @param type
+     *         The declared type of the parameter.
+     * @param value
+     *         The option value.
+     *
+     * @return The value to inject.
+     */
+    private static @Nullable Object entity(Class<?> type, @Nullable Object value) {
+
+        if (value instanceof LazyEntity<?> lazy) {
+            return type.isInstance(lazy) ? lazy : lazy.getCached();
+        }
+
+        if (value instanceof ISnowflake entity && type == LazyEntity.class) {
+            return LazyEntity.of(entity);
+        }
+
+        return value;
+    }
+
+    private static boolean accepts(Class<?> type, Class<?> boxed, Object value) {
+
+        return value == null ? !type.isPrimitive() : boxed.isInstance(value);
+    }
+
+    /**
+     * {@link InteractionArguments} implementation used by generated {@link InteractionInvoker}, applying the same
+     * conversions as the reflective path. As the processor already checked each parameter type, values are returned as
+     * soon as they fit: injections are only tried as converters, and the {@link Parameter} of the method only looked
+     * up, when they don't.
+     */
+    private final class Arguments implements InteractionArguments {
+
+        private final DispatchEvent<T>                              event;
+        private final Map<Class<?>, Injection<DispatchEvent<T>, ?>> mapping;
+
+        private Arguments(DispatchEvent<T> event, Map<Class<?>, Injection<DispatchEvent<T>, ?>> mapping) {
+
+            this.event   = event;
+            this.mapping = mapping;
+        }
+
+        @Override
+        public <V> V option(int index, String option, Class<?> type, Class<V> boxed) throws InteractionInjectionException {
+
+            Object value = entity(type, this.event.options().get(option));
+
+            // Unless the processor was lenient, only narrower entity types or a missing primitive can still not fit.
+            if (accepts(type, boxed, value)) {
+                return boxed.cast(value);
+            }
+            return this.convert(index, option, type, boxed, value);
+        }
+
+        @Override
+        public <V> V inject(int index, Class<?> type, Class<V> boxed) throws InteractionInjectionException {
+
+            Injection<DispatchEvent<T>, ?> injection = this.mapping.get(type);
+
+            if (injection == null) {
+                throw InteractionTargetImpl.this.unmapped(type);
+            }
+
+            Object value = InteractionTargetImpl.this.inject(index, injection, this.event, null);
+            return this.require(index, type, boxed, value);
+        }
+
+        private <V> V convert(int index, String option, Class<?> type, Class<V> boxed, Object value) throws InteractionInjectionException {
+
+            Injection<DispatchEvent<T>, ?> injection = this.mapping.get(type);
+
+            if (injection != null) {
+                value = InteractionTargetImpl.this.inject(index, injection, this.event, option);
+            }
+            return this.require(index, type, boxed, value);
+        }
+
+        private <V> V require(int index, Class<?> type, Class<V> boxed, Object value) throws InteractionInjectionException {
+
+            if (!accepts(type, boxed, value)) {
+                InteractionTargetImpl.this.checkMapping(InteractionTargetImpl.this.parameter(index), type, boxed, value);
+            }
+            return boxed.cast(value);
+        }
+
+    }
+
+    /**
+     * Pre-resolved binding of a single method parameter.
+     *
+     * @param parameter
+     *         The {@link Parameter} being bound.
+     * @param option
+     *         The option name if the parameter is annotated with {@link Param}, {@code null} otherwise.
+     * @param type
+     *         The declared type of the parameter.
+     * @param boxed
+     *         The type a value must have to be assigned to the parameter ({@code null} for unsupported primitives).
+     * @param description
+     *         The description used when timing the injection of this parameter.
+     */
+    private record Slot(Parameter parameter, String option, Class<?> type, Class<?> boxed, String description) {
+
+        boolean isOption() {
+
+            return this.option != null;
+        }
+
+        boolean accepts(Object value) {
+
+            if (this.type.isPrimitive()) {
+                return value != null && this.boxed != null && this.boxed.isInstance(value);
+            }
+            return value == null || this.type.isInstance(value);
+        }
+
+    }
+
 }
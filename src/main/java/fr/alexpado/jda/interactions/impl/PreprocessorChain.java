@@ -0,0 +1,220 @@
+package fr.alexpado.jda.interactions.impl;
+
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionPreprocessor;
+import net.dv8tion.jda.api.interactions.Interaction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Class holding the registered {@link InteractionPreprocessor}, compiled per {@link Interaction} type.
+ * <p>
+ * The interaction types and route patterns declared by each {@link InteractionPreprocessor} are read once. Running
+ * the chain for an interaction then only loops over the preprocessors applying to its type, checking the route
+ * patterns of those declaring some.
+ */
+public class PreprocessorChain {
+
+    private static final Link[] EMPTY = new Link[0];
+
+    private final List<InteractionPreprocessor>             preprocessors;
+    private final Map<Class<? extends Interaction>, Link[]> compiled;
+
+    /**
+     * Create a new, empty, {@link PreprocessorChain}.
+     */
+    public PreprocessorChain() {
+
+        this.preprocessors = new ArrayList<>();
+        this.compiled      = new ConcurrentHashMap<>();
+    }
+
+    private static @Nullable Pattern compile(Collection<String> patterns) {
+
+        if (patterns.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder regex = new StringBuilder();
+
+        for (String pattern : patterns) {
+            if (!regex.isEmpty()) {
+                regex.append('|');
+            }
+
+            regex.append("(?:");
+            int literal = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                if (pattern.charAt(i) != '*') {
+                    continue;
+                }
+
+                if (i > literal) {
+                    regex.append(Pattern.quote(pattern.substring(literal, i)));
+                }
+
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^/]*");
+                }
+                literal = i + 1;
+            }
+
+            if (literal < pattern.length()) {
+                regex.append(Pattern.quote(pattern.substring(literal)));
+            }
+            regex.append(')');
+        }
+
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Register a new {@link InteractionPreprocessor}. Preprocessors are called in registration order.
+     *
+     * @param preprocessor
+     *         The {@link InteractionPreprocessor} to register.
+     */
+    public synchronized void register(InteractionPreprocessor preprocessor) {
+
+        this.preprocessors.add(preprocessor);
+        this.compiled.clear();
+    }
+
+    /**
+     * Check if the provided {@link DispatchEvent} should be handled, by asking every applicable
+     * {@link InteractionPreprocessor}.
+     *
+     * @param type
+     *         The {@link Interaction} type of the event.
+     * @param event
+     *         The {@link DispatchEvent} ready to be dispatched.
+     * @param <T>
+     *         The {@link Interaction} type
+     *
+     * @return True if this {@link DispatchEvent} should be handled, false otherwise.
+     */
+    public <T extends Interaction> boolean mayContinue(Class<T> type, DispatchEvent<T> event) {
+
+        Link[] links = this.links(type);
+        String route = null;
+
+        for (Link link : links) {
+            if (link.route() != null) {
+                route = route == null ? event.route() : route;
+                if (!link.route().matcher(route).matches()) {
+                    continue;
+                }
+            }
+
+            if (!link.preprocessor().mayContinue(event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Preprocess the provided {@link DispatchEvent}, returning the first result given by an applicable
+     * {@link InteractionPreprocessor}.
+     *
+     * @param type
+     *         The {@link Interaction} type of the event.
+     * @param event
+     *         The {@link DispatchEvent} ready to be dispatched.
+     * @param <T>
+     *         The {@link Interaction} type
+     *
+     * @return The result to use instead of dispatching the event, or {@code null} if the event should be dispatched.
+     */
+    public <T extends Interaction> @Nullable Object preprocess(Class<T> type, DispatchEvent<T> event) {
+
+        Link[] links = this.links(type);
+        String route = null;
+
+        for (Link link : links) {
+            if (link.route() != null) {
+                route = route == null ? event.route() : route;
+                if (!link.route().matcher(route).matches()) {
+                    continue;
+                }
+            }
+
+            Optional<Object> result = link.preprocessor().preprocess(event);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Notify every applicable {@link InteractionPreprocessor} that the interaction flow of the provided
+     * {@link DispatchEvent} completed.
+     *
+     * @param type
+     *         The {@link Interaction} type of the event.
+     * @param event
+     *         The {@link DispatchEvent} which completed.
+     * @param <T>
+     *         The {@link Interaction} type
+     */
+    public <T extends Interaction> void postprocess(Class<T> type, DispatchEvent<T> event) {
+
+        Link[] links = this.links(type);
+        String route = null;
+
+        for (Link link : links) {
+            if (link.route() != null) {
+                route = route == null ? event.route() : route;
+                if (!link.route().matcher(route).matches()) {
+                    continue;
+                }
+            }
+
+            link.preprocessor().postprocess(event);
+        }
+    }
+
+    private Link[] links(Class<? extends Interaction> type) {
+
+        Link[] links = this.compiled.get(type);
+        return links == null ? this.compile(type) : links;
+    }
+
+    private synchronized Link[] compile(Class<? extends Interaction> type) {
+
+        Link[] existing = this.compiled.get(type);
+        if (existing != null) {
+            return existing;
+        }
+
+        List<Link> links = new ArrayList<>();
+
+        for (InteractionPreprocessor preprocessor : this.preprocessors) {
+            Collection<Class<? extends Interaction>> types = preprocessor.getInteractionTypes();
+
+            if (types.isEmpty() || types.stream().anyMatch(declared -> declared.isAssignableFrom(type))) {
+                links.add(new Link(preprocessor, compile(preprocessor.getRoutePatterns())));
+            }
+        }
+
+        Link[] compiled = links.isEmpty() ? EMPTY : links.toArray(Link[]::new);
+        this.compiled.put(type, compiled);
+        return compiled;
+    }
+
+    private record Link(InteractionPreprocessor preprocessor, @Nullable Pattern route) {
+
+    }
+
+}
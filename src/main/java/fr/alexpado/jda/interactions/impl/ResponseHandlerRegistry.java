@@ -0,0 +1,114 @@
+package fr.alexpado.jda.interactions.impl;
+
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
+import net.dv8tion.jda.api.interactions.Interaction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Class holding the registered {@link InteractionResponseHandler}, indexed by the response types they declare.
+ * <p>
+ * For each response class, the handlers that may accept it (those declaring a matching type, and those declaring no
+ * type at all) are computed once and cached, in registration order. Resolving a handler then only calls
+ * {@link InteractionResponseHandler#canHandle(DispatchEvent, Object)} on these candidates.
+ */
+public class ResponseHandlerRegistry {
+
+    private static final InteractionResponseHandler[] EMPTY = new InteractionResponseHandler[0];
+
+    private final    List<Registration>                       handlers;
+    private volatile InteractionResponseHandler[]             undeclared;
+    private volatile ClassValue<InteractionResponseHandler[]> candidates;
+
+    /**
+     * Create a new, empty, {@link ResponseHandlerRegistry}.
+     */
+    public ResponseHandlerRegistry() {
+
+        this.handlers   = new ArrayList<>();
+        this.undeclared = EMPTY;
+        this.candidates = this.createCache(List.of());
+    }
+
+    /**
+     * Register a new {@link InteractionResponseHandler}.
+     *
+     * @param handler
+     *         The {@link InteractionResponseHandler} to register.
+     */
+    public synchronized void register(InteractionResponseHandler handler) {
+
+        this.handlers.add(new Registration(handler, List.copyOf(handler.getResponseTypes())));
+
+        List<Registration> snapshot = List.copyOf(this.handlers);
+        this.undeclared = snapshot.stream()
+                                  .filter(registration -> registration.types().isEmpty())
+                                  .map(Registration::handler)
+                                  .toArray(InteractionResponseHandler[]::new);
+        // A ClassValue can't be cleared: replace it so every class is computed again with the new handler.
+        this.candidates = this.createCache(snapshot);
+    }
+
+    /**
+     * Find the first registered {@link InteractionResponseHandler} able to handle the provided response.
+     *
+     * @param event
+     *         The {@link DispatchEvent} source of the response.
+     * @param response
+     *         The object representing the response given by an interaction.
+     * @param <T>
+     *         Type of the interaction.
+     *
+     * @return The {@link InteractionResponseHandler}, or {@code null} if none can handle the response.
+     */
+    public <T extends Interaction> @Nullable InteractionResponseHandler resolve(DispatchEvent<T> event, @Nullable Object response) {
+
+        InteractionResponseHandler[] handlers = response == null
+                                                ? this.undeclared
+                                                : this.candidates.get(response.getClass());
+
+        for (InteractionResponseHandler handler : handlers) {
+            if (handler.canHandle(event, response)) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    private ClassValue<InteractionResponseHandler[]> createCache(List<Registration> registrations) {
+
+        return new ClassValue<>() {
+            @Override
+            protected InteractionResponseHandler[] computeValue(Class<?> type) {
+
+                return registrations.stream()
+                                    .filter(registration -> registration.accepts(type))
+                                    .map(Registration::handler)
+                                    .toArray(InteractionResponseHandler[]::new);
+            }
+        };
+    }
+
+    private record Registration(InteractionResponseHandler handler, Collection<Class<?>> types) {
+
+        boolean accepts(Class<?> type) {
+
+            if (this.types.isEmpty()) {
+                return true;
+            }
+
+            for (Class<?> declared : this.types) {
+                if (declared.isAssignableFrom(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,36 @@
+package fr.alexpado.jda.interactions.impl.executors;
+
+import fr.alexpado.jda.interactions.enums.DispatchOrder;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionExecutor;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+/**
+ * Factory creating the {@link InteractionExecutor} implementations which can't be expressed through the factories of
+ * {@link InteractionExecutor} itself.
+ */
+public final class InteractionExecutors {
+
+    private InteractionExecutors() {
+
+    }
+
+    /**
+     * Create an {@link InteractionExecutor} based on the provided one, but executing {@link Interaction} sharing the
+     * same {@link DispatchOrder} key one after the other, in the order they were received.
+     *
+     * @param delegate
+     *         The {@link InteractionExecutor} running the tasks.
+     * @param order
+     *         The {@link DispatchOrder} to guarantee.
+     *
+     * @return An {@link InteractionExecutor}.
+     */
+    public static InteractionExecutor ordered(InteractionExecutor delegate, DispatchOrder order) {
+
+        if (order == DispatchOrder.NONE) {
+            return delegate;
+        }
+        return new OrderedInteractionExecutor(delegate, order);
+    }
+
+}
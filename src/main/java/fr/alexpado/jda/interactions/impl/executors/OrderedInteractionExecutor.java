@@ -0,0 +1,87 @@
+package fr.alexpado.jda.interactions.impl.executors;
+
+import fr.alexpado.jda.interactions.enums.DispatchOrder;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionExecutor;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class implementing an {@link InteractionExecutor} that serializes the execution of {@link Interaction} sharing the
+ * same {@link DispatchOrder} key, while {@link Interaction} with different keys still run concurrently on the
+ * underlying {@link InteractionExecutor}.
+ */
+class OrderedInteractionExecutor implements InteractionExecutor {
+
+    private final InteractionExecutor                   delegate;
+    private final DispatchOrder                         order;
+    private final Map<Object, CompletableFuture<Void>> tails;
+
+    /**
+     * Create a new {@link OrderedInteractionExecutor}.
+     *
+     * @param delegate
+     *         The {@link InteractionExecutor} running the tasks.
+     * @param order
+     *         The {@link DispatchOrder} defining which {@link Interaction} must run in order.
+     */
+    OrderedInteractionExecutor(InteractionExecutor delegate, DispatchOrder order) {
+
+        this.delegate = delegate;
+        this.order    = order;
+        this.tails    = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Execute the flow of the provided {@link Interaction} once every previously received {@link Interaction} sharing
+     * its key has been executed.
+     *
+     * @param interaction
+     *         The {@link Interaction} being handled.
+     * @param task
+     *         The task running the flow of the {@link Interaction}.
+     */
+    @Override
+    public void execute(Interaction interaction, Runnable task) {
+
+        Object key = this.order.getKey(interaction);
+
+        if (key == null) {
+            this.delegate.execute(interaction, task);
+            return;
+        }
+
+        CompletableFuture<Void> current  = new CompletableFuture<>();
+        CompletableFuture<Void> previous = this.tails.put(key, current);
+
+        Runnable step = () -> {
+            try {
+                task.run();
+            } finally {
+                this.tails.remove(key, current);
+                current.complete(null);
+            }
+        };
+
+        if (previous == null) {
+            this.submit(interaction, step, key, current);
+        } else {
+            previous.whenComplete((ignored, throwable) -> this.submit(interaction, step, key, current));
+        }
+    }
+
+    private void submit(Interaction interaction, Runnable step, Object key, CompletableFuture<Void> current) {
+
+        try {
+            this.delegate.execute(interaction, step);
+        } catch (RuntimeException e) {
+            // Never leave the following interactions waiting on a task that will never run.
+            this.tails.remove(key, current);
+            current.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+}
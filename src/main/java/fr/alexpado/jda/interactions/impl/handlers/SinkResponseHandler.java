@@ -2,6 +2,7 @@ package fr.alexpado.jda.interactions.impl.handlers;
 
 import fr.alexpado.jda.interactions.entities.DispatchEvent;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
+import fr.alexpado.jda.interactions.tools.InteractionUtils;
 import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.api.interactions.callbacks.IAutoCompleteCallback;
 import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
@@ -13,6 +14,7 @@ import net.dv8tion.jda.api.utils.messages.MessageEditBuilder;
 import net.dv8tion.jda.api.utils.messages.MessageRequest;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -52,40 +54,60 @@ public class SinkResponseHandler implements InteractionResponseHandler {
     @Override
     public <T extends Interaction> void handleResponse(DispatchEvent<T> event, @Nullable Object response) {
 
+        InteractionUtils.await(this.handleResponseAsync(event, response));
+    }
+
+    /**
+     * Handle the response resulting from the {@link DispatchEvent} event provided without waiting for Discord to
+     * acknowledge it.
+     *
+     * @param event
+     *         The {@link DispatchEvent} source of the response.
+     * @param response
+     *         The {@link Object} to handle.
+     *
+     * @return A {@link CompletableFuture} completing once the response has been sent.
+     */
+    @Override
+    public <T extends Interaction> CompletableFuture<?> handleResponseAsync(DispatchEvent<T> event, @Nullable Object response) {
+
         if (event.interaction() instanceof SlashCommandInteraction slash) {
-            this.answer(slash, data -> data.setContent("*Nothing to display*"));
+            return this.answer(event, slash, data -> data.setContent("*Nothing to display*"));
         } else if (event.interaction() instanceof ButtonInteraction button) {
-            this.acknowledgeButton(button);
+            return this.acknowledgeButton(event, button);
         } else if (event.interaction() instanceof CommandAutoCompleteInteraction auto) {
-            this.acknowledgeAutocomplete(auto);
+            return this.acknowledgeAutocomplete(auto);
         }
+        return CompletableFuture.completedFuture(null);
     }
 
-    private <T extends Interaction & IReplyCallback> void answer(T interaction, Consumer<MessageRequest<?>> consumer) {
+    private <T extends Interaction & IReplyCallback> CompletableFuture<?> answer(DispatchEvent<?> event, T interaction, Consumer<MessageRequest<?>> consumer) {
 
-        if (interaction.isAcknowledged()) {
+        if (interaction.isAcknowledged() || event.deferral().isDeferred()) {
             MessageEditBuilder builder = new MessageEditBuilder();
             consumer.accept(builder);
-            interaction.getHook().editOriginal(builder.build()).complete();
+            return interaction.getHook().editOriginal(builder.build()).submit();
         } else {
             MessageCreateBuilder builder = new MessageCreateBuilder();
             consumer.accept(builder);
-            interaction.reply(builder.build()).setEphemeral(true).complete();
+            return interaction.reply(builder.build()).setEphemeral(true).submit();
         }
     }
 
-    private void acknowledgeButton(IReplyCallback button) {
+    private CompletableFuture<?> acknowledgeButton(DispatchEvent<?> event, IReplyCallback button) {
 
-        if (!button.isAcknowledged()) {
-            button.deferReply().complete();
+        if (!button.isAcknowledged() && !event.deferral().isDeferred()) {
+            return button.deferReply().submit();
         }
+        return CompletableFuture.completedFuture(null);
     }
 
-    private void acknowledgeAutocomplete(IAutoCompleteCallback auto) {
+    private CompletableFuture<?> acknowledgeAutocomplete(IAutoCompleteCallback auto) {
 
         if (!auto.isAcknowledged()) {
-            auto.replyChoices().complete();
+            return auto.replyChoices().submit();
         }
+        return CompletableFuture.completedFuture(null);
     }
 
 }
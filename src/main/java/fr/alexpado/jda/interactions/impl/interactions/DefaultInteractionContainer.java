@@ -5,33 +5,48 @@ import fr.alexpado.jda.interactions.exceptions.InteractionNotFoundException;
 import fr.alexpado.jda.interactions.ext.sentry.ITimedAction;
 import fr.alexpado.jda.interactions.interfaces.interactions.*;
 import net.dv8tion.jda.api.interactions.Interaction;
+import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Class implementing the default behaviour of an {@link InteractionContainer}.
+ * <p>
+ * Registered targets are held in an immutable snapshot, replaced as a whole on each registration: dispatching never
+ * takes a lock, and targets can be registered at any time while events are being handled.
  *
  * @param <T>
  *         The type of the {@link InteractionTarget} being contained.
  * @param <U>
  *         The type of the {@link Interaction}.
  */
-public abstract class DefaultInteractionContainer<T extends InteractionTarget<U> & MetaContainer, U extends Interaction> implements InteractionContainer<T, U>, InteractionEventHandler<U> {
+public abstract class DefaultInteractionContainer<T extends InteractionTarget<U> & MetaContainer, U extends Interaction> implements MutableInteractionContainer<T, U>, InteractionEventHandler<U> {
 
-    private final Map<URI, T>                                   interactions;
-    private final Map<Class<?>, Injection<DispatchEvent<U>, ?>> mappings;
+    private final    Map<Class<?>, Injection<DispatchEvent<U>, ?>> mappings;
+    private final    Object                                        lock;
+    private volatile Snapshot<T>                                   snapshot;
 
     /**
      * Create a new instance of this {@link InteractionContainer} implementation.
      */
     public DefaultInteractionContainer() {
 
-        this.interactions = new HashMap<>();
-        this.mappings     = new HashMap<>();
+        this.mappings = new ConcurrentHashMap<>();
+        this.lock     = new Object();
+        this.snapshot = new Snapshot<>(new RouteTree<>(), Collections.emptyMap());
     }
 
     /**
@@ -45,11 +60,24 @@ public abstract class DefaultInteractionContainer<T extends InteractionTarget<U>
     @Override
     public URI createURI(String path) {
 
-        return URI.create(String.format("%s://%s", this.getInteractionSchema(), path));
+        String schema = this.getInteractionSchema();
+
+        try {
+            return URI.create(schema + "://" + path);
+        } catch (IllegalArgumentException e) {
+            // Routes with parameters, such as "vote/{pollId}", contain characters that must be quoted.
+            try {
+                return new URI(schema, "//" + path, null);
+            } catch (URISyntaxException ex) {
+                throw new IllegalArgumentException(ex.getMessage(), ex);
+            }
+        }
     }
 
     /**
-     * Register the provided {@link InteractionTarget} into this {@link InteractionContainer}.
+     * Register the provided {@link InteractionTarget} into this {@link InteractionContainer}. The name of the
+     * {@link InteractionTarget} may contain parameter segments, such as {@code vote/{pollId}}, whose values will be
+     * available in {@link DispatchEvent#options()} when dispatching.
      *
      * @param target
      *         The {@link InteractionTarget} to register.
@@ -59,25 +87,197 @@ public abstract class DefaultInteractionContainer<T extends InteractionTarget<U>
     @Override
     public boolean register(T target) {
 
-        URI uri = this.createURI(target.getMeta().name());
+        String name = target.getMeta().name();
+        URI    uri  = this.createURI(name);
+
+        synchronized (this.lock) {
+            Snapshot<T>  current = this.snapshot;
+            RouteTree<T> routes  = current.routes().copy();
+
+            if (!routes.insert(name, target)) {
+                return false;
+            }
 
-        if (this.getInteractions().containsKey(uri)) {
-            return false;
+            Map<URI, T> interactions = new LinkedHashMap<>(current.interactions());
+            interactions.put(uri, target);
+            this.check(interactions.values());
+            this.snapshot = new Snapshot<>(routes, Collections.unmodifiableMap(interactions));
+            this.published(Collections.emptyList(), List.of(target));
         }
+        return true;
+    }
 
-        this.getInteractions().put(uri, target);
+    /**
+     * Remove the {@link InteractionTarget} registered with the provided name from this {@link InteractionContainer}.
+     * Events already being dispatched to it are not affected.
+     *
+     * @param name
+     *         The name of the {@link InteractionTarget}, as declared in its meta.
+     *
+     * @return True if an {@link InteractionTarget} has been removed, false otherwise.
+     */
+    @Override
+    public boolean unregister(String name) {
+
+        URI uri = this.createURI(name);
+
+        synchronized (this.lock) {
+            Map<URI, T> interactions = new LinkedHashMap<>(this.snapshot.interactions());
+            T           removed      = interactions.remove(uri);
+
+            if (removed == null) {
+                return false;
+            }
+
+            this.publish(interactions.values());
+            this.published(List.of(removed), Collections.emptyList());
+        }
         return true;
     }
 
     /**
-     * Retrieve all {@link InteractionTarget} registered so far.
+     * Register the provided {@link InteractionTarget} into this {@link InteractionContainer}, replacing the one
+     * registered with the same name if any. Events already being dispatched to the previous one are not affected.
+     *
+     * @param target
+     *         The {@link InteractionTarget} to register.
+     */
+    @Override
+    public void replace(T target) {
+
+        URI uri = this.createURI(target.getMeta().name());
+
+        synchronized (this.lock) {
+            Map<URI, T> interactions = new LinkedHashMap<>(this.snapshot.interactions());
+            T           removed      = interactions.put(uri, target);
+
+            this.publish(interactions.values());
+            this.published(removed == null ? Collections.emptyList() : List.of(removed), List.of(target));
+        }
+    }
+
+    /**
+     * Atomically replace every {@link InteractionTarget} of this {@link InteractionContainer} with the provided ones:
+     * new events will only see the new targets, while events already being dispatched finish with the previous ones.
+     *
+     * @param targets
+     *         The {@link InteractionTarget} to register.
+     *
+     * @throws IllegalArgumentException
+     *         If two targets share the same name. The container is left untouched.
+     */
+    @Override
+    public void swap(Collection<? extends T> targets) {
+
+        synchronized (this.lock) {
+            Collection<T> previous = this.snapshot.interactions().values();
+            this.publish(targets);
+
+            // Targets are compared by identity: whatever remains in this set afterward is new.
+            Set<T> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            kept.addAll(targets);
+
+            List<T> removed = previous.stream().filter(target -> !kept.remove(target)).toList();
+            List<T> added   = Collections.unmodifiableList(targets.stream().filter(kept::contains).toList());
+            this.published(removed, added);
+        }
+    }
+
+    /**
+     * Atomically replace every {@link InteractionTarget} of this {@link InteractionContainer} with the ones computed
+     * from the currently registered ones. The function is called while holding the registration lock, so it must not
+     * register anything itself.
+     *
+     * @param update
+     *         The function computing the new {@link InteractionTarget} from the current ones.
+     *
+     * @throws IllegalArgumentException
+     *         If two targets share the same name. The container is left untouched.
+     */
+    @Override
+    public void swap(UnaryOperator<Collection<T>> update) {
+
+        synchronized (this.lock) {
+            this.swap(update.apply(this.snapshot.interactions().values()));
+        }
+    }
+
+    /**
+     * Check that the provided {@link InteractionTarget} could be published by {@link #swap(Collection)}, without
+     * publishing them.
+     *
+     * @param targets
+     *         The {@link InteractionTarget} to check.
+     *
+     * @throws IllegalArgumentException
+     *         If two targets share the same name.
+     */
+    @Override
+    public void validate(Collection<? extends T> targets) {
+
+        this.createSnapshot(targets);
+        this.check(targets);
+    }
+
+    private void publish(Collection<? extends T> targets) {
+
+        Snapshot<T> snapshot = this.createSnapshot(targets);
+        this.check(targets);
+        this.snapshot = snapshot;
+    }
+
+    private Snapshot<T> createSnapshot(Collection<? extends T> targets) {
+
+        RouteTree<T> routes       = new RouteTree<>();
+        Map<URI, T>  interactions = new LinkedHashMap<>();
+
+        for (T target : targets) {
+            String name = target.getMeta().name();
+
+            if (!routes.insert(name, target)) {
+                throw new IllegalArgumentException("Two interaction targets are named " + name);
+            }
+            interactions.put(this.createURI(name), target);
+        }
+
+        return new Snapshot<>(routes, Collections.unmodifiableMap(interactions));
+    }
+
+    /**
+     * Called, while holding the registration lock, with every {@link InteractionTarget} about to be published, and by
+     * {@link #validate(Collection)}. This allows implementations to reject a set of targets before any of them is
+     * visible: the container is left untouched when this method throws.
+     *
+     * @param targets
+     *         The {@link InteractionTarget} about to be published.
+     */
+    protected void check(Collection<? extends T> targets) {
+
+    }
+
+    /**
+     * Called, while holding the registration lock, each time the registered {@link InteractionTarget} changed. This
+     * allows implementations to maintain state derived from their targets.
+     *
+     * @param removed
+     *         The {@link InteractionTarget} no longer registered.
+     * @param added
+     *         The {@link InteractionTarget} newly registered.
+     */
+    protected void published(Collection<T> removed, Collection<T> added) {
+
+    }
+
+    /**
+     * Retrieve all {@link InteractionTarget} registered so far. The returned map is an immutable snapshot: it won't
+     * reflect later registrations.
      *
      * @return A list of {@link InteractionTarget}
      */
     @Override
     public Map<URI, T> getInteractions() {
 
-        return this.interactions;
+        return this.snapshot.interactions();
     }
 
     /**
@@ -91,7 +291,58 @@ public abstract class DefaultInteractionContainer<T extends InteractionTarget<U>
     @Override
     public Optional<T> resolve(URI uri) {
 
-        return Optional.ofNullable(this.getInteractions().get(uri));
+        return Optional.ofNullable(this.match(uri)).map(RouteTree.Match::value);
+    }
+
+    /**
+     * Try to find the {@link InteractionTarget} matching the {@link URI}, along with the values of its parameter
+     * segments. The query part of the {@link URI} is ignored.
+     *
+     * @param uri
+     *         The {@link URI} to match.
+     *
+     * @return The {@link RouteTree.Match}, or {@code null} if no {@link InteractionTarget} matched.
+     */
+    protected @Nullable RouteTree.Match<T> match(URI uri) {
+
+        if (!this.getInteractionSchema().equalsIgnoreCase(uri.getScheme())) {
+            return null;
+        }
+
+        // The raw scheme-specific part is kept by the URI as-is: matching on it does not create any new string.
+        String route = uri.getRawSchemeSpecificPart();
+        int    start = route.startsWith("//") ? 2 : 0;
+        int    end   = route.indexOf('?', start);
+
+        return this.snapshot.routes().match(route, start, end == -1 ? route.length() : end);
+    }
+
+    /**
+     * Retrieve the {@link InteractionTarget} matching the route of the provided {@link DispatchEvent}, resolving it
+     * if this hasn't been done yet when {@link #handle(ITimedAction, Interaction) handling} the event.
+     *
+     * @param event
+     *         The {@link DispatchEvent} to resolve.
+     *
+     * @return The {@link InteractionTarget}, or {@code null} if no {@link InteractionTarget} matched.
+     */
+    @SuppressWarnings("unchecked")
+    protected @Nullable T target(DispatchEvent<U> event) {
+
+        if (event.target() == null) {
+            if (!this.getInteractionSchema().equalsIgnoreCase(event.schema())) {
+                return null;
+            }
+
+            RouteTree.Match<T> match = this.snapshot.routes().match(event.rawRoute(), 0, event.queryIndex());
+
+            if (match == null) {
+                return null;
+            }
+            event.resolve(match.value(), match.value().getMeta().name(), match.parameters());
+        }
+        // Events are only resolved by the container handling them: the target is one of ours.
+        return (T) event.target();
     }
 
     /**
@@ -106,16 +357,17 @@ public abstract class DefaultInteractionContainer<T extends InteractionTarget<U>
     public Object dispatch(DispatchEvent<U> event) throws Exception {
 
         event.timedAction().action("resolve", "Finding the interaction target");
-        Optional<T> optionalTarget = this.resolve(event.path());
+        T target = this.target(event);
 
-        if (optionalTarget.isEmpty()) {
+        if (target == null) {
             throw new InteractionNotFoundException(this, event);
         }
+        event.timedAction().tag("route", target.getMeta().name());
+        event.parameters().forEach(event.options()::putIfAbsent);
         event.timedAction().endAction();
 
         event.timedAction().action("execute", "Running the interaction target");
-        T      target = optionalTarget.get();
-        Object obj    = target.execute(event, this.getMappedClasses());
+        Object obj = target.execute(event, this.getMappedClasses());
         event.timedAction().endAction();
         return obj;
     }
@@ -157,6 +409,65 @@ public abstract class DefaultInteractionContainer<T extends InteractionTarget<U>
     @Override
     public DispatchEvent<U> handle(ITimedAction timedAction, U event) {
 
-        return new DispatchEvent<>(timedAction, this.getEventUri(event), event);
+        return this.createEvent(timedAction, event, new HashMap<>());
+    }
+
+    /**
+     * Wrap the provided event in a {@link DispatchEvent} and resolve its {@link InteractionTarget}, without creating
+     * any {@link URI}.
+     *
+     * @param timedAction
+     *         An {@link ITimedAction} implementation allowing to time performance.
+     * @param event
+     *         The Discord event
+     * @param options
+     *         The additional options to use when executing the {@link InteractionTarget}.
+     *
+     * @return A {@link DispatchEvent}.
+     */
+    protected DispatchEvent<U> createEvent(ITimedAction timedAction, U event, Map<String, Object> options) {
+
+        String           route  = this.getEventRoute(event);
+        int              schema = route.indexOf("://");
+        DispatchEvent<U> dispatchEvent;
+
+        if (schema == -1) {
+            dispatchEvent = new DispatchEvent<>(timedAction, this.getInteractionSchema(), route, event, options);
+        } else {
+            dispatchEvent = new DispatchEvent<>(timedAction, route.substring(0, schema), route.substring(schema + 3), event, options);
+        }
+
+        this.target(dispatchEvent);
+        return dispatchEvent;
     }
+
+    /**
+     * Retrieve the raw route of the provided {@link Interaction}, with or without schema, used to create its
+     * {@link DispatchEvent}. Defaults to the string form of {@link #getEventUri(Interaction)}: implementations should
+     * override it to avoid creating an {@link URI} for each event.
+     *
+     * @param event
+     *         The Discord event
+     *
+     * @return The raw route, such as {@code vote/12?choice=1}.
+     */
+    protected String getEventRoute(U event) {
+
+        return this.getEventUri(event).toString();
+    }
+
+    /**
+     * Immutable state of the container: once published, neither the {@link RouteTree} nor the map are modified.
+     *
+     * @param routes
+     *         The {@link RouteTree} used to dispatch events.
+     * @param interactions
+     *         The registered {@link InteractionTarget}, by {@link URI}.
+     * @param <T>
+     *         The type of the {@link InteractionTarget}.
+     */
+    private record Snapshot<T>(RouteTree<T> routes, Map<URI, T> interactions) {
+
+    }
+
 }
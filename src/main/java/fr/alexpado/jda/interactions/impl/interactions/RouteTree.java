@@ -0,0 +1,295 @@
+package fr.alexpado.jda.interactions.impl.interactions;
+
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
+import fr.alexpado.jda.interactions.tools.InteractionUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Segment trie used by an {@link InteractionContainer} to find the {@link InteractionTarget} matching a route.
+ * <p>
+ * Routes are split on {@code /} (and on spaces, so a full slash command name can be matched as-is). A segment written
+ * as {@code {name}} when registering a route matches any value, which is then available in
+ * {@link Match#parameters()}. Static segments always take precedence over parameters.
+ * <p>
+ * Matching works directly on the provided {@link CharSequence} range: no intermediate string is created unless a
+ * parameter value has to be captured. The first segment is compared ignoring case, as it used to be the host of the
+ * {@link java.net.URI} identifying the target; the following ones are case-sensitive.
+ * <p>
+ * A {@link RouteTree} is not thread-safe for writes. Containers never modify a published tree: they insert into a
+ * {@link #copy()} and publish it afterward, so concurrent reads don't need any lock.
+ *
+ * @param <T>
+ *         The type of the value stored in the tree.
+ */
+public class RouteTree<T> {
+
+    private final Node<T> root;
+
+    /**
+     * Create a new, empty, {@link RouteTree}.
+     */
+    public RouteTree() {
+
+        this.root            = new Node<>();
+        this.root.ignoreCase = true;
+    }
+
+    private static boolean isSeparator(char c) {
+
+        return c == '/' || c == ' ';
+    }
+
+    private static int compare(String key, CharSequence route, int start, int end, boolean ignoreCase) {
+
+        int length = Math.min(key.length(), end - start);
+
+        for (int i = 0; i < length; i++) {
+            char a = key.charAt(i);
+            char b = route.charAt(start + i);
+
+            if (ignoreCase) {
+                a = Character.toLowerCase(a);
+                b = Character.toLowerCase(b);
+            }
+
+            int diff = a - b;
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return key.length() - (end - start);
+    }
+
+    /**
+     * Create a deep copy of this {@link RouteTree}. Modifying the copy does not affect this tree.
+     *
+     * @return A new {@link RouteTree} holding the same routes.
+     */
+    public RouteTree<T> copy() {
+
+        RouteTree<T> copy = new RouteTree<>();
+        this.root.copyInto(copy.root);
+        return copy;
+    }
+
+    /**
+     * Register a value for the provided route.
+     *
+     * @param route
+     *         The route, without schema, such as {@code vote/{pollId}}.
+     * @param value
+     *         The value to associate to the route.
+     *
+     * @return True if the value has been registered, false if another value was already registered for the route.
+     */
+    public boolean insert(String route, T value) {
+
+        Node<T> node  = this.root;
+        int     start = 0;
+        int     end   = route.length();
+
+        while (start < end) {
+            int next = start;
+            while (next < end && !isSeparator(route.charAt(next))) {
+                next++;
+            }
+
+            String segment = route.substring(start, next);
+
+            if (segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+
+                if (node.parameter == null) {
+                    node.parameter     = new Node<>();
+                    node.parameterName = name;
+                } else if (!node.parameterName.equals(name)) {
+                    throw new IllegalStateException(String.format(
+                            "Route %s declares parameter {%s} where {%s} is already declared.",
+                            route,
+                            name,
+                            node.parameterName
+                    ));
+                }
+                node = node.parameter;
+            } else {
+                node = node.child(segment);
+            }
+
+            start = next + 1;
+        }
+
+        if (node.value != null) {
+            return false;
+        }
+
+        node.value = value;
+        return true;
+    }
+
+    /**
+     * Find the value matching the provided route.
+     *
+     * @param route
+     *         The route, without schema.
+     *
+     * @return The {@link Match}, or {@code null} if no value matched the route.
+     */
+    public @Nullable Match<T> match(CharSequence route) {
+
+        return this.match(route, 0, route.length());
+    }
+
+    /**
+     * Find the value matching the provided range of a route.
+     *
+     * @param route
+     *         The {@link CharSequence} containing the route.
+     * @param start
+     *         The index (inclusive) where the route starts.
+     * @param end
+     *         The index (exclusive) where the route ends.
+     *
+     * @return The {@link Match}, or {@code null} if no value matched the route.
+     */
+    public @Nullable Match<T> match(CharSequence route, int start, int end) {
+
+        return this.match(this.root, route, start, end, null);
+    }
+
+    private @Nullable Match<T> match(Node<T> node, CharSequence route, int start, int end, @Nullable Map<String, String> parameters) {
+
+        if (start >= end) {
+            if (node.value == null) {
+                return null;
+            }
+            return new Match<>(node.value, parameters == null ? Collections.emptyMap() : parameters);
+        }
+
+        int next = start;
+        while (next < end && !isSeparator(route.charAt(next))) {
+            next++;
+        }
+
+        Node<T> child = node.find(route, start, next);
+        if (child != null) {
+            Match<T> match = this.match(child, route, next + 1, end, parameters);
+            if (match != null) {
+                return match;
+            }
+        }
+
+        if (node.parameter != null) {
+            Map<String, String> captured = parameters == null ? new HashMap<>() : new HashMap<>(parameters);
+            captured.put(node.parameterName, InteractionUtils.decode(route, start, next));
+            return this.match(node.parameter, route, next + 1, end, captured);
+        }
+
+        return null;
+    }
+
+    /**
+     * Represents the result of a successful route matching.
+     *
+     * @param value
+     *         The value registered for the route.
+     * @param parameters
+     *         The values captured by the parameter segments of the route.
+     * @param <T>
+     *         The type of the value.
+     */
+    public record Match<T>(T value, Map<String, String> parameters) {
+
+    }
+
+    private static final class Node<T> {
+
+        private String[]  keys     = new String[0];
+        private Node<T>[] children = newArray(0);
+        private Node<T>   parameter;
+        private String    parameterName;
+        private T         value;
+        private boolean   ignoreCase;
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(int size) {
+
+            return (Node<T>[]) new Node[size];
+        }
+
+        private int indexOf(CharSequence route, int start, int end) {
+
+            int low  = 0;
+            int high = this.keys.length - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(this.keys[mid], route, start, end, this.ignoreCase);
+
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private @Nullable Node<T> find(CharSequence route, int start, int end) {
+
+            int index = this.indexOf(route, start, end);
+            return index < 0 ? null : this.children[index];
+        }
+
+        private void copyInto(Node<T> target) {
+
+            target.keys          = this.keys.clone();
+            target.children      = newArray(this.children.length);
+            target.parameterName = this.parameterName;
+            target.value         = this.value;
+            target.ignoreCase    = this.ignoreCase;
+
+            for (int i = 0; i < this.children.length; i++) {
+                target.children[i] = new Node<>();
+                this.children[i].copyInto(target.children[i]);
+            }
+
+            if (this.parameter != null) {
+                target.parameter = new Node<>();
+                this.parameter.copyInto(target.parameter);
+            }
+        }
+
+        private Node<T> child(String segment) {
+
+            int index = this.indexOf(segment, 0, segment.length());
+
+            if (index >= 0) {
+                return this.children[index];
+            }
+
+            int       insertion = -(index + 1);
+            Node<T>   node      = new Node<>();
+            String[]  keys      = Arrays.copyOf(this.keys, this.keys.length + 1);
+            Node<T>[] children  = Arrays.copyOf(this.children, this.children.length + 1);
+
+            System.arraycopy(keys, insertion, keys, insertion + 1, this.keys.length - insertion);
+            System.arraycopy(children, insertion, children, insertion + 1, this.children.length - insertion);
+            keys[insertion]     = segment;
+            children[insertion] = node;
+
+            this.keys     = keys;
+            this.children = children;
+            return node;
+        }
+
+    }
+
+}
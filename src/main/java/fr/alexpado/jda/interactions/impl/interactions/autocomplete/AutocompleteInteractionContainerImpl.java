@@ -8,6 +8,7 @@ import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionTarget;
 import fr.alexpado.jda.interactions.responses.AutoCompleteResponse;
+import fr.alexpado.jda.interactions.tools.InteractionUtils;
 import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
@@ -15,7 +16,9 @@ import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class implementing {@link InteractionContainer} handling {@link CommandAutoCompleteInteraction} with target of type
@@ -45,7 +48,32 @@ public class AutocompleteInteractionContainerImpl extends DefaultInteractionCont
     @Override
     public URI getEventUri(CommandAutoCompleteInteraction event) {
 
-        return this.createURI(event.getFullCommandName().replace(" ", "/"));
+        return this.createURI(event.getFullCommandName().replace(' ', '/'));
+    }
+
+    /**
+     * Retrieve the raw route of the provided {@link CommandAutoCompleteInteraction}: its full command name.
+     *
+     * @param event
+     *         The Discord event
+     *
+     * @return The raw route.
+     */
+    @Override
+    protected String getEventRoute(CommandAutoCompleteInteraction event) {
+
+        return event.getFullCommandName().replace(' ', '/');
+    }
+
+    /**
+     * Retrieve the response types this {@link InteractionResponseHandler} accepts.
+     *
+     * @return A collection containing {@link AutoCompleteResponse}.
+     */
+    @Override
+    public Collection<Class<?>> getResponseTypes() {
+
+        return List.of(AutoCompleteResponse.class);
     }
 
     /**
@@ -75,7 +103,28 @@ public class AutocompleteInteractionContainerImpl extends DefaultInteractionCont
     @Override
     public <T extends Interaction> void handleResponse(DispatchEvent<T> event, @Nullable Object response) {
 
+        InteractionUtils.await(this.handleResponseAsync(event, response));
+    }
+
+    /**
+     * Handle the response resulting from the {@link DispatchEvent} event provided without waiting for Discord to
+     * acknowledge it.
+     *
+     * @param event
+     *         The {@link DispatchEvent} source of the response.
+     * @param response
+     *         The {@link Object} to handle.
+     *
+     * @return A {@link CompletableFuture} completing once the response has been sent.
+     */
+    @Override
+    public <T extends Interaction> CompletableFuture<?> handleResponseAsync(DispatchEvent<T> event, @Nullable Object response) {
+
         if (event.interaction() instanceof CommandAutoCompleteInteraction interaction && response instanceof AutoCompleteResponse completion) {
+            if (AutocompleteScheduler.isCancelled()) {
+                return CompletableFuture.completedFuture(null); // A newer request will answer instead
+            }
+
             event.timedAction().action("build", "Building the response");
             List<Command.Choice> choices = completion.getChoices()
                                                      .stream()
@@ -83,9 +132,16 @@ public class AutocompleteInteractionContainerImpl extends DefaultInteractionCont
                                                      .toList();
             event.timedAction().endAction();
 
+            if (AutocompleteScheduler.isCancelled()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
             event.timedAction().action("replying", "Sending the reply");
-            interaction.replyChoices(choices).complete();
-            event.timedAction().endAction();
+            return interaction.replyChoices(choices)
+                              .submit()
+                              .whenComplete((result, throwable) -> event.timedAction().endAction());
         }
+
+        return CompletableFuture.completedFuture(null);
     }
 }
@@ -8,7 +8,6 @@ import fr.alexpado.jda.interactions.interfaces.interactions.MetaContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutoCompleteProvider;
 import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionTarget;
-import fr.alexpado.jda.interactions.meta.ChoiceMeta;
 import fr.alexpado.jda.interactions.meta.InteractionMeta;
 import fr.alexpado.jda.interactions.meta.OptionMeta;
 import fr.alexpado.jda.interactions.responses.AutoCompleteResponse;
@@ -19,7 +18,7 @@ import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 /**
@@ -29,6 +28,8 @@ public class AutocompleteInteractionTargetImpl implements AutocompleteInteractio
 
     private final InteractionMeta                   meta;
     private final Map<String, AutoCompleteProvider> completionProviders;
+    private final Map<String, OptionMeta>           options;
+    private final Map<String, ChoiceIndex>          indexes;
 
     /**
      * Create a new instance of this {@link AutocompleteInteractionContainer} implementation.
@@ -39,7 +40,14 @@ public class AutocompleteInteractionTargetImpl implements AutocompleteInteractio
     public AutocompleteInteractionTargetImpl(InteractionMeta meta) {
 
         this.meta                = meta;
-        this.completionProviders = new HashMap<>();
+        this.completionProviders = new ConcurrentHashMap<>();
+        this.options             = new HashMap<>();
+        this.indexes             = new HashMap<>();
+
+        for (OptionMeta option : meta.options()) {
+            this.options.putIfAbsent(option.getName(), option);
+            this.indexes.putIfAbsent(option.getName(), new ChoiceIndex(option));
+        }
     }
 
     /**
@@ -64,23 +72,19 @@ public class AutocompleteInteractionTargetImpl implements AutocompleteInteractio
         String name  = focused.getName();
         String value = focused.getValue();
 
-        Optional<OptionMeta> optionalOptionMeta = this.meta.options().stream()
-                                                           .filter(option -> option.getName().equals(name))
-                                                           .findFirst();
-
-        String completionName = optionalOptionMeta.map(OptionMeta::getAutoCompleteName).orElse(name);
+        OptionMeta option         = this.options.get(name);
+        String     completionName = option == null ? name : option.getAutoCompleteName();
 
-        if (this.completionProviders.containsKey(completionName)) {
-            return () -> this.completionProviders.get(completionName).complete(event, name, completionName, value);
+        AutoCompleteProvider provider = this.completionProviders.get(completionName);
+        if (provider != null) {
+            return () -> provider.complete(event, name, completionName, value);
         }
 
-        return optionalOptionMeta.<AutoCompleteResponse>map(optionMeta -> () -> optionMeta
-                .getChoices()
-                .stream()
-                .filter(choice -> choice.contains(value))
-                .map(ChoiceMeta::asChoice)
-                .toList()).orElseGet(() -> Collections::emptyList);
-
+        ChoiceIndex index = this.indexes.get(name);
+        if (index == null) {
+            return Collections::emptyList;
+        }
+        return () -> index.search(value);
     }
 
     /**
@@ -109,6 +113,17 @@ public class AutocompleteInteractionTargetImpl implements AutocompleteInteractio
         this.completionProviders.remove(name);
     }
 
+    /**
+     * Retrieve the completion providers added to this {@link AutocompleteInteractionTarget}, by option name.
+     *
+     * @return An immutable map of {@link AutoCompleteProvider}.
+     */
+    @Override
+    public Map<String, AutoCompleteProvider> getCompletionProviders() {
+
+        return Map.copyOf(this.completionProviders);
+    }
+
     /**
      * Retrieve the {@link InteractionMeta} of this {@link MetaContainer}.
      *
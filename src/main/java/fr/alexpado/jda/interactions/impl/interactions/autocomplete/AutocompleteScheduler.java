@@ -0,0 +1,102 @@
+package fr.alexpado.jda.interactions.impl.interactions.autocomplete;
+
+import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutoCompleteProvider;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class tracking the auto-completion requests of each user, so that requests superseded by a newer one (the user kept
+ * typing) can be skipped or short-circuited.
+ * <p>
+ * Requests are keyed on the user, the full command name and the focused option. When a request is registered, any
+ * older request with the same key is marked as cancelled. A cancelled request which did not start yet is skipped
+ * entirely; a running one can check {@link #isCancelled()} (for example from an {@link AutoCompleteProvider}) to stop
+ * early, and its reply won't be sent.
+ */
+public class AutocompleteScheduler {
+
+    private static final ThreadLocal<Ticket> CURRENT = new ThreadLocal<>();
+
+    private final Map<Key, Ticket> latest;
+
+    /**
+     * Create a new {@link AutocompleteScheduler}.
+     */
+    public AutocompleteScheduler() {
+
+        this.latest = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Check if the auto-completion request being executed by the current thread has been superseded by a newer one.
+     *
+     * @return True if the request has been cancelled, false otherwise or if the current thread isn't executing an
+     *         auto-completion request scheduled by an {@link AutocompleteScheduler}.
+     */
+    public static boolean isCancelled() {
+
+        Ticket ticket = CURRENT.get();
+        return ticket != null && ticket.cancelled;
+    }
+
+    /**
+     * Register the provided auto-completion request, cancelling any older request with the same key, and wrap the
+     * task executing it. This must be called as soon as the request is received, before handing the task to an
+     * executor, so that requests are tracked in the order Discord created them.
+     *
+     * @param interaction
+     *         The {@link CommandAutoCompleteInteraction} received.
+     * @param task
+     *         The task executing the request.
+     *
+     * @return The {@link Runnable} to execute instead of the task.
+     */
+    public Runnable schedule(CommandAutoCompleteInteraction interaction, Runnable task) {
+
+        Key    key    = new Key(interaction.getUser().getIdLong(), interaction.getFullCommandName(), interaction.getFocusedOption().getName());
+        Ticket ticket = new Ticket(interaction.getIdLong());
+
+        this.latest.merge(key, ticket, (previous, current) -> {
+            // Interaction ids are snowflakes: the greater one is the most recent request.
+            if (previous.id > current.id) {
+                current.cancelled = true;
+                return previous;
+            }
+            previous.cancelled = true;
+            return current;
+        });
+
+        return () -> {
+            try {
+                if (ticket.cancelled) {
+                    return;
+                }
+
+                CURRENT.set(ticket);
+                task.run();
+            } finally {
+                CURRENT.remove();
+                this.latest.remove(key, ticket);
+            }
+        };
+    }
+
+    private record Key(long user, String command, String option) {
+
+    }
+
+    private static final class Ticket {
+
+        private final    long    id;
+        private volatile boolean cancelled;
+
+        private Ticket(long id) {
+
+            this.id = id;
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+package fr.alexpado.jda.interactions.impl.interactions.autocomplete;
+
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.enums.CompletionScope;
+import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutoCompleteProvider;
+import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutocompleteInteractionTarget;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * {@link AutoCompleteProvider} caching the results of another {@link AutoCompleteProvider}. It can be registered like
+ * any other provider through {@link AutocompleteInteractionTarget#addCompletionProvider(String, AutoCompleteProvider)}.
+ * <p>
+ * Results are keyed on the completion name, the normalized (trimmed, lowercase) value and the {@link CompletionScope}
+ * key of the interaction. The cache holds at most {@code maxSize} entries, evicting the least recently used one, and
+ * each entry expires after the configured time-to-live.
+ * <p>
+ * When a refinement filter is set, a value missing from the cache can also be answered from the results cached for
+ * one of its prefixes, as long as those results were not truncated to {@link OptionData#MAX_CHOICES}.
+ */
+public class CachedAutoCompleteProvider implements AutoCompleteProvider {
+
+    private final AutoCompleteProvider delegate;
+    private final CompletionScope      scope;
+    private final long                 ttl;
+    private final Map<Key, Entry>      entries;
+    private final LongAdder            hits;
+    private final LongAdder            misses;
+
+    private @Nullable BiPredicate<Command.Choice, String> refinement;
+
+    /**
+     * Create a new {@link CachedAutoCompleteProvider}.
+     *
+     * @param delegate
+     *         The {@link AutoCompleteProvider} whose results will be cached.
+     * @param scope
+     *         The {@link CompletionScope} defining which interactions can share cached results.
+     * @param maxSize
+     *         The maximum amount of entries held by the cache.
+     * @param ttl
+     *         The duration after which an entry expires.
+     */
+    public CachedAutoCompleteProvider(AutoCompleteProvider delegate, CompletionScope scope, int maxSize, Duration ttl) {
+
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The cache size must be positive.");
+        }
+
+        this.delegate = delegate;
+        this.scope    = scope;
+        this.ttl      = ttl.toNanos();
+        this.hits     = new LongAdder();
+        this.misses   = new LongAdder();
+        this.entries  = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Filter matching a choice against the normalized value, keeping choices whose name contains the value.
+     *
+     * @param choice
+     *         The {@link Command.Choice} to check.
+     * @param value
+     *         The normalized value typed by the user.
+     *
+     * @return True if the choice matches the value, false otherwise.
+     */
+    public static boolean nameContains(Command.Choice choice, String value) {
+
+        return choice.getName().toLowerCase(Locale.ROOT).contains(value);
+    }
+
+    private static String normalize(String value) {
+
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Define the filter allowing to answer a value from the results cached for one of its prefixes. The filter
+     * receives each cached {@link Command.Choice} and the normalized value, and must reproduce the filtering done by
+     * the delegated {@link AutoCompleteProvider}. Use {@code null} (the default) to disable this behavior.
+     *
+     * @param refinement
+     *         The filter, or {@code null}.
+     */
+    public void setRefinement(@Nullable BiPredicate<Command.Choice, String> refinement) {
+
+        this.refinement = refinement;
+    }
+
+    /**
+     * Complete the focused option, using the cached results when available.
+     *
+     * @param event
+     *         The {@link DispatchEvent} context in which the completion is required.
+     * @param name
+     *         The name of the option that need to be auto-completed.
+     * @param completionName
+     *         The completion name used when auto-completed.
+     * @param value
+     *         The value of the option that need to be auto-completed.
+     *
+     * @return A {@link List} of {@link Command.Choice}.
+     */
+    @Override
+    public List<Command.Choice> complete(DispatchEvent<CommandAutoCompleteInteraction> event, String name, String completionName, String value) {
+
+        String normalized = normalize(value);
+        long   scopeKey   = this.scope.getKey(event.interaction());
+        Key    key        = new Key(completionName, normalized, scopeKey);
+        long   now        = System.nanoTime();
+
+        List<Command.Choice> cached = this.lookup(key, now);
+        if (cached == null) {
+            cached = this.refine(completionName, normalized, scopeKey, now);
+        }
+
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+
+        this.misses.increment();
+        List<Command.Choice> choices = List.copyOf(this.delegate.complete(event, name, completionName, value));
+
+        synchronized (this.entries) {
+            this.entries.put(key, new Entry(choices, now + this.ttl));
+        }
+        return choices;
+    }
+
+    private @Nullable List<Command.Choice> lookup(Key key, long now) {
+
+        synchronized (this.entries) {
+            Entry entry = this.entries.get(key);
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (entry.expiresAt() - now <= 0) {
+                this.entries.remove(key);
+                return null;
+            }
+            return entry.choices();
+        }
+    }
+
+    private @Nullable List<Command.Choice> refine(String completionName, String value, long scopeKey, long now) {
+
+        BiPredicate<Command.Choice, String> refinement = this.refinement;
+
+        if (refinement == null) {
+            return null;
+        }
+
+        for (int length = value.length() - 1; length >= 0; length--) {
+            Key   key;
+            Entry entry;
+
+            synchronized (this.entries) {
+                key   = new Key(completionName, value.substring(0, length), scopeKey);
+                entry = this.entries.get(key);
+            }
+
+            if (entry == null || entry.expiresAt() - now <= 0) {
+                continue;
+            }
+
+            if (entry.choices().size() >= OptionData.MAX_CHOICES) {
+                // The results may have been truncated: choices matching the value could be missing.
+                return null;
+            }
+
+            List<Command.Choice> choices = entry.choices()
+                                                .stream()
+                                                .filter(choice -> refinement.test(choice, value))
+                                                .toList();
+
+            synchronized (this.entries) {
+                // Keep the expiration of the source: the refined results can't be fresher than what they come from.
+                this.entries.put(new Key(completionName, value, scopeKey), new Entry(choices, entry.expiresAt()));
+            }
+            return choices;
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove all cached results for the provided completion name.
+     *
+     * @param completionName
+     *         The completion name.
+     */
+    public void invalidate(String completionName) {
+
+        synchronized (this.entries) {
+            this.entries.keySet().removeIf(key -> key.completionName().equals(completionName));
+        }
+    }
+
+    /**
+     * Remove all cached results.
+     */
+    public void invalidateAll() {
+
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Retrieve the amount of completions answered from the cache.
+     *
+     * @return The amount of hits.
+     */
+    public long getHits() {
+
+        return this.hits.sum();
+    }
+
+    /**
+     * Retrieve the amount of completions delegated to the cached {@link AutoCompleteProvider}.
+     *
+     * @return The amount of misses.
+     */
+    public long getMisses() {
+
+        return this.misses.sum();
+    }
+
+    /**
+     * Retrieve the amount of entries currently held by the cache, including expired ones not evicted yet.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private record Key(String completionName, String value, long scope) {
+
+    }
+
+    private record Entry(List<Command.Choice> choices, long expiresAt) {
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package fr.alexpado.jda.interactions.impl.interactions.autocomplete;
+
+import fr.alexpado.jda.interactions.meta.ChoiceMeta;
+import fr.alexpado.jda.interactions.meta.OptionMeta;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Precomputed search index over the static {@link ChoiceMeta} list of an {@link OptionMeta}.
+ * <p>
+ * Ids and display texts are normalized to lowercase once, when the index is built. Matching choices are ranked with
+ * prefix matches first, then infix matches, each ordered by display length (shortest first). The search stops as soon
+ * as {@link OptionData#MAX_CHOICES} results are found.
+ */
+public class ChoiceIndex {
+
+    private final Command.Choice[]     choices;
+    private final String[]             ids;
+    private final String[]             displays;
+    private final List<Command.Choice> defaults;
+
+    /**
+     * Create a new {@link ChoiceIndex}.
+     *
+     * @param option
+     *         The {@link OptionMeta} for which the index will be built.
+     */
+    public ChoiceIndex(OptionMeta option) {
+
+        List<ChoiceMeta> declared = option.getChoices();
+        List<ChoiceMeta> sorted   = new ArrayList<>(declared);
+        sorted.sort(Comparator.comparingInt(choice -> choice.getDisplay().length())); // Stable, keeps declared order
+
+        this.choices  = new Command.Choice[sorted.size()];
+        this.ids      = new String[sorted.size()];
+        this.displays = new String[sorted.size()];
+
+        for (int i = 0; i < sorted.size(); i++) {
+            ChoiceMeta choice = sorted.get(i);
+            this.choices[i]  = choice.asChoice();
+            this.ids[i]      = choice.getId().toLowerCase(Locale.ROOT);
+            this.displays[i] = choice.getDisplay().toLowerCase(Locale.ROOT);
+        }
+
+        this.defaults = declared.stream()
+                                .limit(OptionData.MAX_CHOICES)
+                                .map(ChoiceMeta::asChoice)
+                                .toList();
+    }
+
+    /**
+     * Find the choices matching the provided user input (case-insensitive).
+     *
+     * @param query
+     *         The text typed by the user.
+     *
+     * @return The ranked {@link List} of matching {@link Command.Choice}, containing at most
+     *         {@link OptionData#MAX_CHOICES} elements. An empty query returns the first choices in declaration order.
+     */
+    public List<Command.Choice> search(String query) {
+
+        if (query.isEmpty()) {
+            return this.defaults;
+        }
+
+        if (this.choices.length == 0) {
+            return Collections.emptyList();
+        }
+
+        String               needle  = query.toLowerCase(Locale.ROOT);
+        List<Command.Choice> results = new ArrayList<>(Math.min(this.choices.length, OptionData.MAX_CHOICES));
+
+        // Flags infix-only matches found during the prefix pass, to avoid scanning them twice.
+        boolean[] infix    = new boolean[this.choices.length];
+        boolean   hasInfix = false;
+
+        for (int i = 0; i < this.choices.length && results.size() < OptionData.MAX_CHOICES; i++) {
+            if (this.displays[i].startsWith(needle) || this.ids[i].startsWith(needle)) {
+                results.add(this.choices[i]);
+            } else if (this.displays[i].contains(needle) || this.ids[i].contains(needle)) {
+                infix[i] = true;
+                hasInfix = true;
+            }
+        }
+
+        if (hasInfix) {
+            for (int i = 0; i < this.choices.length && results.size() < OptionData.MAX_CHOICES; i++) {
+                if (infix[i]) {
+                    results.add(this.choices[i]);
+                }
+            }
+        }
+
+        return results;
+    }
+
+}
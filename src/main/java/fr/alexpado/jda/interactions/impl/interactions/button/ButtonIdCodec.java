@@ -0,0 +1,472 @@
+package fr.alexpado.jda.interactions.impl.interactions.button;
+
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonCodec;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import fr.alexpado.jda.interactions.meta.OptionMeta;
+import fr.alexpado.jda.interactions.tools.InteractionUtils;
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ButtonCodec} implementation, generated from the {@link OptionMeta} list of a button interaction.
+ * <p>
+ * Options declared as parameter segments in the interaction name (such as {@code vote/{pollId}}) are written in the
+ * path. All other options are written positionally in the query, in declaration order, without their name:
+ * {@code button://vote/42?1&some%20text}. A missing value is written as an empty field, and trailing empty fields are
+ * omitted. Component ids using the named form ({@code ?key=value&...}) are still decoded.
+ * <p>
+ * Numeric and boolean values are parsed directly from the component id, without creating intermediate strings.
+ */
+public class ButtonIdCodec implements ButtonCodec {
+
+    private final String       schema;
+    private final String[]     template;
+    private final OptionMeta[] parameters;
+    private final OptionMeta[] fields;
+
+    /**
+     * Create a new {@link ButtonIdCodec}.
+     *
+     * @param schema
+     *         The schema used by the button interactions.
+     * @param meta
+     *         The {@link InteractionMeta} of the button interaction.
+     */
+    public ButtonIdCodec(String schema, InteractionMeta meta) {
+
+        this.schema   = schema;
+        this.template = createTemplate(meta.name());
+
+        OptionMeta[]     parameters = new OptionMeta[this.template.length / 2];
+        List<OptionMeta> fields     = new ArrayList<>();
+
+        for (OptionMeta option : meta.options()) {
+            int index = this.indexOfParameter(option.getName());
+
+            if (index == -1) {
+                fields.add(option);
+            } else {
+                parameters[index] = option;
+            }
+        }
+
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] == null) {
+                // Parameter without declared option, kept as a raw string.
+                parameters[i] = new OptionMeta(this.template[i * 2 + 1], "", true, false, OptionType.STRING);
+            }
+        }
+
+        this.parameters = parameters;
+        this.fields     = fields.toArray(OptionMeta[]::new);
+    }
+
+    private int indexOfParameter(String name) {
+
+        for (int i = 1; i < this.template.length; i += 2) {
+            if (this.template[i].equals(name)) {
+                return i / 2;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Split the route into literal chunks (even indexes) and parameter names (odd indexes).
+     */
+    private static String[] createTemplate(String route) {
+
+        List<String> template = new ArrayList<>();
+        int          literal  = 0;
+        int          start    = 0;
+
+        while (start <= route.length()) {
+            int end = start;
+            while (end < route.length() && route.charAt(end) != '/' && route.charAt(end) != ' ') {
+                end++;
+            }
+
+            if (end - start > 2 && route.charAt(start) == '{' && route.charAt(end - 1) == '}') {
+                template.add(route.substring(literal, start));
+                template.add(route.substring(start + 1, end - 1));
+                literal = end;
+            }
+            start = end + 1;
+        }
+
+        template.add(route.substring(literal));
+        return template.toArray(String[]::new);
+    }
+
+    private static boolean isAllowed(char c, boolean path) {
+
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return true;
+        }
+
+        return switch (c) {
+            case '-', '.', '_', '~', '!', '$', '\'', '(', ')', '*', '+', ',', ';', ':', '@' -> true;
+            case '/', '?' -> !path;
+            default -> false;
+        };
+    }
+
+    private static void escape(StringBuilder builder, String value, boolean path) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (isAllowed(c, path)) {
+                builder.append(c);
+                continue;
+            }
+
+            int end = Character.isHighSurrogate(c) && i + 1 < value.length() ? i + 2 : i + 1;
+            for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                builder.append('%')
+                       .append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)))
+                       .append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+            }
+            i = end - 1;
+        }
+    }
+
+    private static boolean regionEquals(String name, CharSequence value, int start, int end) {
+
+        if (name.length() != end - start) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != value.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean parseBoolean(CharSequence value, int start, int end) {
+
+        if (end - start == 1) {
+            return value.charAt(start) == '1';
+        }
+
+        return end - start == 4 && "true".regionMatches(true, 0, value.toString(), start, 4);
+    }
+
+    /**
+     * Create a new {@link Encoder} allowing to build a component id for this button interaction.
+     *
+     * @return A new {@link Encoder}.
+     */
+    @Override
+    public Encoder encoder() {
+
+        return new Encoder();
+    }
+
+    /**
+     * Decode the values contained in a component id into the provided options map. Options with no value in the
+     * component id are not added to the map.
+     *
+     * @param parameters
+     *         The values of the parameter segments, as captured when matching the route.
+     * @param query
+     *         The raw (still percent-encoded) query of the component id, if any.
+     * @param output
+     *         The map into which decoded values will be put.
+     */
+    @Override
+    public void decode(Map<String, String> parameters, @Nullable String query, Map<String, Object> output) {
+
+        for (OptionMeta option : this.parameters) {
+            String value = parameters.get(option.getName());
+
+            if (value != null && !value.isEmpty()) {
+                // Path values have already been percent-decoded when matching the route.
+                output.put(option.getName(), option.getType() == OptionType.STRING ? value : this.read(option, value, 0, value.length()));
+            }
+        }
+
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+
+        if (query.indexOf('=') == -1) {
+            this.decodePositional(query, output);
+        } else {
+            this.decodeNamed(query, output);
+        }
+    }
+
+    private void decodePositional(String query, Map<String, Object> output) {
+
+        int start = 0;
+        int index = 0;
+
+        while (start <= query.length() && index < this.fields.length) {
+            int end = query.indexOf('&', start);
+            if (end == -1) {
+                end = query.length();
+            }
+
+            if (end > start) {
+                OptionMeta option = this.fields[index];
+                output.put(option.getName(), this.read(option, query, start, end));
+            }
+
+            start = end + 1;
+            index++;
+        }
+    }
+
+    private void decodeNamed(String query, Map<String, Object> output) {
+
+        int start = 0;
+
+        while (start < query.length()) {
+            int end = query.indexOf('&', start);
+            if (end == -1) {
+                end = query.length();
+            }
+
+            int separator = query.indexOf('=', start);
+            if (separator != -1 && separator < end && separator + 1 < end) {
+                for (OptionMeta option : this.fields) {
+                    if (regionEquals(option.getName(), query, start, separator)) {
+                        output.put(option.getName(), this.read(option, query, separator + 1, end));
+                        break;
+                    }
+                }
+            }
+
+            start = end + 1;
+        }
+    }
+
+    private @Nullable Object read(OptionMeta option, CharSequence value, int start, int end) {
+
+        return switch (option.getType()) {
+            case STRING -> InteractionUtils.decode(value, start, end);
+            case INTEGER, USER, CHANNEL, ROLE -> Long.parseLong(value, start, end, 10);
+            case BOOLEAN -> parseBoolean(value, start, end);
+            case NUMBER -> Double.parseDouble(value.subSequence(start, end).toString());
+            default -> null; // Unsupported option through component id
+        };
+    }
+
+    /**
+     * {@link ButtonCodec.Encoder} implementation writing the values in the positions computed by the
+     * {@link ButtonIdCodec}.
+     */
+    public final class Encoder implements ButtonCodec.Encoder {
+
+        private final Object[] parameterValues;
+        private final Object[] fieldValues;
+
+        private Encoder() {
+
+            this.parameterValues = new Object[ButtonIdCodec.this.parameters.length];
+            this.fieldValues     = new Object[ButtonIdCodec.this.fields.length];
+        }
+
+        /**
+         * Set the value of a {@link OptionType#STRING} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        @Override
+        public Encoder with(String name, @Nullable String value) {
+
+            return this.set(name, value, OptionType.STRING);
+        }
+
+        /**
+         * Set the value of a {@link OptionType#INTEGER} option, or the id of a {@link OptionType#USER},
+         * {@link OptionType#CHANNEL} or {@link OptionType#ROLE} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        @Override
+        public Encoder with(String name, long value) {
+
+            return this.set(name, value, OptionType.INTEGER, OptionType.USER, OptionType.CHANNEL, OptionType.ROLE);
+        }
+
+        /**
+         * Set the value of a {@link OptionType#BOOLEAN} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        @Override
+        public Encoder with(String name, boolean value) {
+
+            return this.set(name, value, OptionType.BOOLEAN);
+        }
+
+        /**
+         * Set the value of a {@link OptionType#NUMBER} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        @Override
+        public Encoder with(String name, double value) {
+
+            return this.set(name, value, OptionType.NUMBER);
+        }
+
+        /**
+         * Set the value of a {@link OptionType#USER}, {@link OptionType#CHANNEL} or {@link OptionType#ROLE} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The entity to use as option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        @Override
+        public Encoder with(String name, @Nullable ISnowflake value) {
+
+            return this.set(name, value == null ? null : value.getIdLong(), OptionType.USER, OptionType.CHANNEL, OptionType.ROLE);
+        }
+
+        private Encoder set(String name, @Nullable Object value, OptionType... types) {
+
+            Object[]     values;
+            OptionMeta[] options;
+            int          index = indexOf(ButtonIdCodec.this.parameters, name);
+
+            if (index == -1) {
+                index   = indexOf(ButtonIdCodec.this.fields, name);
+                values  = this.fieldValues;
+                options = ButtonIdCodec.this.fields;
+            } else {
+                values  = this.parameterValues;
+                options = ButtonIdCodec.this.parameters;
+            }
+
+            if (index == -1) {
+                throw new IllegalArgumentException(String.format("Option %s does not exist.", name));
+            }
+
+            OptionType type = options[index].getType();
+            if (!Arrays.asList(types).contains(type)) {
+                throw new IllegalArgumentException(String.format("Option %s is of type %s.", name, type));
+            }
+
+            values[index] = value;
+            return this;
+        }
+
+        private static int indexOf(OptionMeta[] options, String name) {
+
+            for (int i = 0; i < options.length; i++) {
+                if (options[i].getName().equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Build the component id.
+         *
+         * @return The component id, usable with {@code Button.primary(...)} and similar methods.
+         *
+         * @throws IllegalStateException
+         *         If a required option is missing, or if the component id exceeds {@link ButtonCodec#MAX_LENGTH}
+         *         characters.
+         */
+        @Override
+        public String build() {
+
+            StringBuilder builder = new StringBuilder(MAX_LENGTH);
+            builder.append(ButtonIdCodec.this.schema).append("://");
+
+            for (int i = 0; i < ButtonIdCodec.this.parameters.length; i++) {
+                Object value = this.parameterValues[i];
+
+                if (value == null) {
+                    throw new IllegalStateException(String.format(
+                            "Option %s is required.",
+                            ButtonIdCodec.this.parameters[i].getName()
+                    ));
+                }
+
+                builder.append(ButtonIdCodec.this.template[i * 2]);
+                this.write(builder, value, true);
+            }
+            builder.append(ButtonIdCodec.this.template[ButtonIdCodec.this.template.length - 1]);
+
+            int last = -1;
+            for (int i = 0; i < ButtonIdCodec.this.fields.length; i++) {
+                if (this.fieldValues[i] != null) {
+                    last = i;
+                } else if (ButtonIdCodec.this.fields[i].isRequired()) {
+                    throw new IllegalStateException(String.format(
+                            "Option %s is required.",
+                            ButtonIdCodec.this.fields[i].getName()
+                    ));
+                }
+            }
+
+            for (int i = 0; i <= last; i++) {
+                builder.append(i == 0 ? '?' : '&');
+                if (this.fieldValues[i] != null) {
+                    this.write(builder, this.fieldValues[i], false);
+                }
+            }
+
+            if (builder.length() > MAX_LENGTH) {
+                throw new IllegalStateException(String.format(
+                        "Component id %s exceeds %s characters.",
+                        builder,
+                        MAX_LENGTH
+                ));
+            }
+
+            return builder.toString();
+        }
+
+        private void write(StringBuilder builder, Object value, boolean path) {
+
+            if (value instanceof String str) {
+                escape(builder, str, path);
+            } else if (value instanceof Boolean bool) {
+                builder.append(bool ? '1' : '0');
+            } else {
+                builder.append(value);
+            }
+        }
+
+    }
+
+}
@@ -1,16 +1,19 @@
 package fr.alexpado.jda.interactions.impl.interactions.button;
 
 import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.entities.LazyEntity;
 import fr.alexpado.jda.interactions.exceptions.InteractionNotFoundException;
 import fr.alexpado.jda.interactions.ext.sentry.ITimedAction;
 import fr.alexpado.jda.interactions.impl.interactions.DefaultInteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonCodec;
 import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionTarget;
 import fr.alexpado.jda.interactions.meta.OptionMeta;
 import fr.alexpado.jda.interactions.responses.ButtonResponse;
+import fr.alexpado.jda.interactions.tools.InteractionUtils;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
@@ -19,11 +22,13 @@ import net.dv8tion.jda.api.utils.messages.MessageEditBuilder;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Class implementing {@link InteractionContainer} handling {@link ButtonInteraction} with target of type
@@ -31,6 +36,16 @@ import java.util.function.Consumer;
  */
 public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<ButtonInteractionTarget, ButtonInteraction> implements ButtonInteractionContainer {
 
+    private final Map<ButtonInteractionTarget, ButtonIdCodec> codecs;
+
+    /**
+     * Create a new instance of {@link ButtonInteractionContainerImpl}.
+     */
+    public ButtonInteractionContainerImpl() {
+
+        this.codecs = new ConcurrentHashMap<>();
+    }
+
     /**
      * Retrieve the schema for the {@link URI} of each {@link InteractionTarget}.
      *
@@ -43,33 +58,44 @@ public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<
     }
 
     /**
-     * Try to find an {@link InteractionTarget} matching the {@link URI}.
+     * Create the {@link ButtonIdCodec} of newly registered {@link ButtonInteractionTarget} and forget the ones of
+     * removed {@link ButtonInteractionTarget}.
      *
-     * @param uri
-     *         The {@link URI} to match.
-     *
-     * @return An optional {@link InteractionTarget}
+     * @param removed
+     *         The {@link ButtonInteractionTarget} no longer registered.
+     * @param added
+     *         The {@link ButtonInteractionTarget} newly registered.
      */
     @Override
-    public Optional<ButtonInteractionTarget> resolve(URI uri) {
-
-        try {
-            URI raw = new URI(
-                    uri.getScheme(),
-                    uri.getAuthority(),
-                    uri.getPath(),
-                    null, // Ignore the query part of the input url
-                    uri.getFragment()
-            );
-
-            return super.resolve(raw);
-        } catch (URISyntaxException e) {
-            throw new IllegalArgumentException(e.getMessage(), e);
+    protected void published(Collection<ButtonInteractionTarget> removed, Collection<ButtonInteractionTarget> added) {
+
+        for (ButtonInteractionTarget target : removed) {
+            this.codecs.remove(target);
         }
+
+        // Codecs are tied to the target instance, so a replaced target keeps decoding with its own codec.
+        for (ButtonInteractionTarget target : added) {
+            this.codecs.put(target, new ButtonIdCodec(this.getInteractionSchema(), target.getMeta()));
+        }
+    }
+
+    /**
+     * Retrieve the {@link ButtonCodec} of the button interaction registered with the provided name.
+     *
+     * @param name
+     *         The name of the button interaction, as declared.
+     *
+     * @return An optional {@link ButtonCodec}.
+     */
+    @Override
+    public Optional<ButtonCodec> getCodec(String name) {
+
+        return Optional.ofNullable(this.getInteractions().get(this.createURI(name))).<ButtonCodec>map(this.codecs::get);
     }
 
     /**
-     * Called when an {@link DispatchEvent} is being fired.
+     * Called when an {@link DispatchEvent} is being fired. Entity options are put into the options as
+     * {@link LazyEntity} handles: nothing is looked up until the {@link ButtonInteractionTarget} asks for the entity.
      *
      * @param event
      *         The {@link DispatchEvent}
@@ -80,30 +106,28 @@ public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<
     public Object dispatch(DispatchEvent<ButtonInteraction> event) throws Exception {
 
         event.timedAction().action("resolve", "Finding the interaction target");
-        Optional<ButtonInteractionTarget> optionalTarget = this.resolve(event.path());
+        ButtonInteractionTarget target = this.target(event);
 
-        if (optionalTarget.isEmpty()) {
+        if (target == null) {
             throw new InteractionNotFoundException(this, event);
         }
+        event.timedAction().tag("route", target.getMeta().name());
         event.timedAction().endAction();
 
-        ButtonInteractionTarget target = optionalTarget.get();
+        ButtonIdCodec codec = this.codecs.get(target);
+
+        if (codec == null) {
+            // The target has been removed since it was matched.
+            throw new InteractionNotFoundException(this, event);
+        }
 
         // Build Options
         event.timedAction().action("convert", "Converting URI to interaction options");
-        Map<String, String> query = new HashMap<>();
-
-        if (event.path().getQuery() != null) {
-            String[] options = event.path().getQuery().split("&");
-            for (String option : options) {
-                String[] parts = option.split("=");
-                query.put(parts[0], parts[1]);
-            }
-        }
+        codec.decode(event.parameters(), event.query(), event.options());
 
         for (OptionMeta option : target.getMeta().options()) {
             String name  = option.getName();
-            String value = query.get(name);
+            Object value = event.options().get(name);
 
             if (null == value) {
                 if (option.isRequired()) {
@@ -113,33 +137,15 @@ public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<
                 continue;
             }
 
-            switch (option.getType()) {
-                case STRING -> event.options().put(name, value);
-                case INTEGER -> event.options().put(name, Long.parseLong(value));
-                case BOOLEAN -> event.options().put(name, Boolean.parseBoolean(value));
-                case USER -> {
-                    long id = Long.parseLong(value);
-                    event.options().put(name, event.interaction().getJDA().getUserById(id));
-                }
-                case CHANNEL -> {
-                    long  id    = Long.parseLong(value);
-                    Guild guild = event.interaction().getGuild();
-                    if (null == guild) {
-                        throw new IllegalStateException("Cannot load guild in a private channel context.");
-                    }
-                    event.options().put(name, guild.getGuildChannelById(id));
-                }
-                case ROLE -> {
-                    long  id    = Long.parseLong(value);
-                    Guild guild = event.interaction().getGuild();
-                    if (null == guild) {
-                        throw new IllegalStateException("Cannot load guild in a private channel context.");
-                    }
-                    event.options().put(name, guild.getRoleById(id));
-                }
-                case NUMBER -> event.options().put(name, Double.parseDouble(value));
-                default -> // Unsupported option through URI
-                        event.options().put(name, null);
+            LazyEntity<?> entity = switch (option.getType()) {
+                case USER -> LazyEntity.ofUser(event.interaction().getJDA(), (Long) value);
+                case CHANNEL -> LazyEntity.ofChannel(this.getGuild(event), (Long) value);
+                case ROLE -> LazyEntity.ofRole(this.getGuild(event), (Long) value);
+                default -> null; // Already converted by the codec
+            };
+
+            if (entity != null) {
+                event.options().put(name, entity);
             }
         }
         event.timedAction().endAction();
@@ -150,6 +156,15 @@ public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<
         return obj;
     }
 
+    private Guild getGuild(DispatchEvent<ButtonInteraction> event) {
+
+        Guild guild = event.interaction().getGuild();
+        if (null == guild) {
+            throw new IllegalStateException("Cannot load guild in a private channel context.");
+        }
+        return guild;
+    }
+
     /**
      * Generate the {@link URI} for the provided {@link Interaction}.
      *
@@ -161,12 +176,37 @@ public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<
     @Override
     public URI getEventUri(ButtonInteraction event) {
 
-        if (event.getComponentId().matches(".*://.*")) {
+        if (event.getComponentId().contains("://")) {
             return URI.create(event.getComponentId());
         }
         return this.createURI(event.getComponentId());
     }
 
+    /**
+     * Retrieve the raw route of the provided {@link ButtonInteraction}: its component id, as-is.
+     *
+     * @param event
+     *         The Discord event
+     *
+     * @return The raw route.
+     */
+    @Override
+    protected String getEventRoute(ButtonInteraction event) {
+
+        return event.getComponentId();
+    }
+
+    /**
+     * Retrieve the response types this {@link InteractionResponseHandler} accepts.
+     *
+     * @return A collection containing {@link ButtonResponse}.
+     */
+    @Override
+    public Collection<Class<?>> getResponseTypes() {
+
+        return List.of(ButtonResponse.class);
+    }
+
     /**
      * Check if this {@link InteractionResponseHandler} can handle the provided response.
      *
@@ -194,38 +234,57 @@ public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<
     @Override
     public <T extends Interaction> void handleResponse(DispatchEvent<T> event, @Nullable Object response) {
 
+        InteractionUtils.await(this.handleResponseAsync(event, response));
+    }
+
+    /**
+     * Handle the response resulting from the {@link DispatchEvent} event provided without waiting for Discord to
+     * acknowledge it.
+     *
+     * @param event
+     *         The {@link DispatchEvent} source of the response.
+     * @param response
+     *         The {@link Object} to handle.
+     *
+     * @return A {@link CompletableFuture} completing once the response has been sent.
+     */
+    @Override
+    public <T extends Interaction> CompletableFuture<?> handleResponseAsync(DispatchEvent<T> event, @Nullable Object response) {
+
         if (event.interaction() instanceof ButtonInteraction callback && response instanceof ButtonResponse buttonResponse) {
-            if (callback.isAcknowledged()) {
-                this.doResponseHandling(
+            if (callback.isAcknowledged() || event.deferral().isDeferred()) {
+                return this.doResponseHandling(
                         event.timedAction(),
                         buttonResponse,
                         builder -> callback
                                 .getHook()
                                 .editOriginal(builder.build())
-                                .complete(),
+                                .submit(),
                         builder -> callback
                                 .getHook()
                                 .sendMessage(builder.build())
                                 .setEphemeral(buttonResponse.isEphemeral())
-                                .complete()
+                                .submit()
                 );
             } else {
-                this.doResponseHandling(
+                return this.doResponseHandling(
                         event.timedAction(),
                         buttonResponse,
                         builder -> callback
                                 .editMessage(builder.build())
-                                .complete(),
+                                .submit(),
                         builder -> callback
                                 .reply(builder.build())
                                 .setEphemeral(buttonResponse.isEphemeral())
-                                .complete()
+                                .submit()
                 );
             }
         }
+
+        return CompletableFuture.completedFuture(null);
     }
 
-    private void doResponseHandling(ITimedAction action, ButtonResponse response, Consumer<MessageEditBuilder> editCall, Consumer<MessageCreateBuilder> createCall) {
+    private CompletableFuture<?> doResponseHandling(ITimedAction action, ButtonResponse response, Function<MessageEditBuilder, CompletableFuture<?>> editCall, Function<MessageCreateBuilder, CompletableFuture<?>> createCall) {
 
         if (response.shouldEditOriginalMessage()) {
             action.action("build", "Building the response");
@@ -233,16 +292,14 @@ public class ButtonInteractionContainerImpl extends DefaultInteractionContainer<
             action.endAction();
 
             action.action("reply", "Replying to the interaction (EDIT)");
-            editCall.accept(builder);
-            action.endAction();
+            return editCall.apply(builder).whenComplete((result, throwable) -> action.endAction());
         } else {
             action.action("build", "Building the response");
             MessageCreateBuilder builder = this.getMessageCreateBuilder(response);
             action.endAction();
 
             action.action("reply", "Replying to the interaction (CREATE)");
-            createCall.accept(builder);
-            action.endAction();
+            return createCall.apply(builder).whenComplete((result, throwable) -> action.endAction());
         }
     }
 
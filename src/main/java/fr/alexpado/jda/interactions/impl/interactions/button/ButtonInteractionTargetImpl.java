@@ -1,6 +1,7 @@
 package fr.alexpado.jda.interactions.impl.interactions.button;
 
 import fr.alexpado.jda.interactions.impl.InteractionTargetImpl;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionInvoker;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonInteractionTarget;
 import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionTarget;
@@ -8,6 +9,7 @@ import fr.alexpado.jda.interactions.meta.InteractionMeta;
 import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
 
 import java.lang.reflect.Method;
+import java.util.function.Supplier;
 
 /**
  * Class implementing {@link InteractionTarget} being the execution target of {@link ButtonInteraction}.
@@ -28,4 +30,23 @@ public class ButtonInteractionTargetImpl extends InteractionTargetImpl<ButtonInt
 
         super(instance, method, meta);
     }
+
+    /**
+     * Create a new {@link ButtonInteractionTarget} implementation instance calling the method through a generated
+     * {@link InteractionInvoker}.
+     *
+     * @param instance
+     *         The instance object within which the interaction exists.
+     * @param method
+     *         The lookup of the method executing the interaction, only used to describe errors.
+     * @param meta
+     *         The meta representing this {@link ButtonInteractionTarget}.
+     * @param invoker
+     *         The {@link InteractionInvoker} calling the method.
+     */
+    public ButtonInteractionTargetImpl(Object instance, Supplier<Method> method, InteractionMeta meta, InteractionInvoker invoker) {
+
+        super(instance, method, meta, invoker);
+    }
+
 }
@@ -9,7 +9,6 @@ import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseH
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionTarget;
-import fr.alexpado.jda.interactions.meta.InteractionMeta;
 import fr.alexpado.jda.interactions.responses.SlashResponse;
 import fr.alexpado.jda.interactions.tools.InteractionUtils;
 import net.dv8tion.jda.api.interactions.Interaction;
@@ -22,9 +21,12 @@ import net.dv8tion.jda.api.utils.messages.MessageEditBuilder;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class implementing {@link InteractionContainer} handling {@link SlashCommandInteraction} with target of type
@@ -32,36 +34,46 @@ import java.util.Map;
  */
 public class SlashInteractionContainerImpl extends DefaultInteractionContainer<SlashInteractionTarget, SlashCommandInteraction> implements SlashInteractionContainer {
 
-    private final Map<String, InteractionCommandData> dataMap;
+    private final List<InteractionCommandData> commandData;
 
     /**
      * Create a new {@link SlashInteractionContainerImpl} instance.
      */
     public SlashInteractionContainerImpl() {
 
-        this.dataMap = new HashMap<>();
+        this.commandData = new ArrayList<>();
     }
 
     /**
-     * Register the provided {@link InteractionTarget} into this {@link InteractionContainer}.
+     * Build the command data of the provided {@link SlashInteractionTarget}: an invalid command tree is rejected before
+     * any target is published.
      *
-     * @param target
-     *         The {@link InteractionTarget} to register.
-     *
-     * @return True if it has been registered, false otherwise.
+     * @param targets
+     *         The {@link SlashInteractionTarget} about to be published.
      */
     @Override
-    public boolean register(SlashInteractionTarget target) {
+    protected void check(Collection<? extends SlashInteractionTarget> targets) {
+
+        InteractionCommandData.of(targets);
+    }
 
-        InteractionMeta meta   = target.getMeta();
-        String          name   = meta.name();
-        String          prefix = Arrays.asList(name.split("/")).getFirst();
+    /**
+     * Rebuild the command data from the registered {@link SlashInteractionTarget}.
+     *
+     * @param removed
+     *         The {@link SlashInteractionTarget} no longer registered.
+     * @param added
+     *         The {@link SlashInteractionTarget} newly registered.
+     */
+    @Override
+    protected void published(Collection<SlashInteractionTarget> removed, Collection<SlashInteractionTarget> added) {
 
-        InteractionCommandData data = this.dataMap.getOrDefault(prefix, new InteractionCommandData(prefix, meta));
-        data.register(meta);
-        this.dataMap.put(prefix, data);
+        List<InteractionCommandData> data = InteractionCommandData.of(this.getInteractions().values());
 
-        return super.register(target);
+        synchronized (this.commandData) {
+            this.commandData.clear();
+            this.commandData.addAll(data);
+        }
     }
 
     /**
@@ -86,7 +98,21 @@ public class SlashInteractionContainerImpl extends DefaultInteractionContainer<S
     @Override
     public URI getEventUri(SlashCommandInteraction event) {
 
-        return this.createURI(event.getFullCommandName().replace(" ", "/"));
+        return this.createURI(event.getFullCommandName().replace(' ', '/'));
+    }
+
+    /**
+     * Retrieve the raw route of the provided {@link SlashCommandInteraction}: its full command name.
+     *
+     * @param event
+     *         The Discord event
+     *
+     * @return The raw route.
+     */
+    @Override
+    protected String getEventRoute(SlashCommandInteraction event) {
+
+        return event.getFullCommandName().replace(' ', '/');
     }
 
     /**
@@ -100,8 +126,6 @@ public class SlashInteractionContainerImpl extends DefaultInteractionContainer<S
     @Override
     public DispatchEvent<SlashCommandInteraction> handle(ITimedAction timedAction, SlashCommandInteraction event) {
 
-        URI uri = this.getEventUri(event);
-
         timedAction.action("read-options", "Reading command options");
         Map<String, Object> options = new HashMap<>();
 
@@ -110,7 +134,18 @@ public class SlashInteractionContainerImpl extends DefaultInteractionContainer<S
         }
         timedAction.endAction();
 
-        return new DispatchEvent<>(timedAction, uri, event, options);
+        return this.createEvent(timedAction, event, options);
+    }
+
+    /**
+     * Retrieve the response types this {@link InteractionResponseHandler} accepts.
+     *
+     * @return A collection containing {@link SlashResponse}.
+     */
+    @Override
+    public Collection<Class<?>> getResponseTypes() {
+
+        return List.of(SlashResponse.class);
     }
 
     /**
@@ -140,25 +175,48 @@ public class SlashInteractionContainerImpl extends DefaultInteractionContainer<S
     @Override
     public <T extends Interaction> void handleResponse(DispatchEvent<T> event, @Nullable Object response) {
 
+        InteractionUtils.await(this.handleResponseAsync(event, response));
+    }
+
+    /**
+     * Handle the response resulting from the {@link DispatchEvent} event provided without waiting for Discord to
+     * acknowledge it.
+     *
+     * @param event
+     *         The {@link DispatchEvent} source of the response.
+     * @param response
+     *         The {@link Object} to handle.
+     *
+     * @return A {@link CompletableFuture} completing once the response has been sent.
+     */
+    @Override
+    public <T extends Interaction> CompletableFuture<?> handleResponseAsync(DispatchEvent<T> event, @Nullable Object response) {
+
         if (event.interaction() instanceof IReplyCallback callback && response instanceof SlashResponse slashResponse) {
-            if (callback.isAcknowledged()) {
+            if (callback.isAcknowledged() || event.deferral().isDeferred()) {
                 event.timedAction().action("build", "Building the response");
                 MessageEditBuilder builder = this.getMessageEditBuilder(slashResponse);
                 event.timedAction().endAction();
 
                 event.timedAction().action("reply", "Replying to the interaction (EDIT)");
-                callback.getHook().editOriginal(builder.build()).complete();
-                event.timedAction().endAction();
+                return callback.getHook()
+                               .editOriginal(builder.build())
+                               .submit()
+                               .whenComplete((message, throwable) -> event.timedAction().endAction());
             } else {
                 event.timedAction().action("build", "Building the response");
                 MessageCreateBuilder builder = this.getMessageCreateBuilder(slashResponse);
                 event.timedAction().endAction();
 
                 event.timedAction().action("reply", "Replying to the interaction (CREATE)");
-                callback.reply(builder.build()).setEphemeral(slashResponse.isEphemeral()).complete();
-                event.timedAction().endAction();
+                return callback.reply(builder.build())
+                               .setEphemeral(slashResponse.isEphemeral())
+                               .submit()
+                               .whenComplete((hook, throwable) -> event.timedAction().endAction());
             }
         }
+
+        return CompletableFuture.completedFuture(null);
     }
 
     private MessageEditBuilder getMessageEditBuilder(SlashResponse response) {
@@ -187,13 +245,27 @@ public class SlashInteractionContainerImpl extends DefaultInteractionContainer<S
     @Override
     public CommandListUpdateAction upsertCommands(CommandListUpdateAction action) {
 
-        for (InteractionCommandData command : this.dataMap.values()) {
-            command.prepare();
-            //noinspection ResultOfMethodCallIgnored
-            action.addCommands(command);
-        }
-
+        //noinspection ResultOfMethodCallIgnored
+        action.addCommands(this.getCommandData());
         return action;
     }
 
+    /**
+     * Retrieve the {@link InteractionCommandData} of every registered {@link SlashInteractionTarget}, ready to be sent
+     * to Discord.
+     *
+     * @return A list of {@link InteractionCommandData}, in registration order.
+     */
+    @Override
+    public List<InteractionCommandData> getCommandData() {
+
+        synchronized (this.commandData) {
+            for (InteractionCommandData command : this.commandData) {
+                command.prepare();
+            }
+
+            return List.copyOf(this.commandData);
+        }
+    }
+
 }
@@ -1,12 +1,14 @@
 package fr.alexpado.jda.interactions.impl.interactions.slash;
 
 import fr.alexpado.jda.interactions.impl.InteractionTargetImpl;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionInvoker;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import fr.alexpado.jda.interactions.interfaces.interactions.slash.SlashInteractionTarget;
 import fr.alexpado.jda.interactions.meta.InteractionMeta;
 import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
 
 import java.lang.reflect.Method;
+import java.util.function.Supplier;
 
 /**
  * Class implementing {@link InteractionTarget} being the execution target of {@link SlashCommandInteraction}.
@@ -27,4 +29,23 @@ public class SlashInteractionTargetImpl extends InteractionTargetImpl<SlashComma
 
         super(instance, method, meta);
     }
+
+    /**
+     * Create a new {@link SlashInteractionTarget} implementation instance calling the method through a generated
+     * {@link InteractionInvoker}.
+     *
+     * @param instance
+     *         The instance object within which the interaction exists.
+     * @param method
+     *         The lookup of the method executing the interaction, only used to describe errors.
+     * @param meta
+     *         The meta representing this {@link SlashInteractionTarget}.
+     * @param invoker
+     *         The {@link InteractionInvoker} calling the method.
+     */
+    public SlashInteractionTargetImpl(Object instance, Supplier<Method> method, InteractionMeta meta, InteractionInvoker invoker) {
+
+        super(instance, method, meta, invoker);
+    }
+
 }
@@ -0,0 +1,457 @@
+package fr.alexpado.jda.interactions.impl.preprocessors;
+
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.enums.RateLimitScope;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionPreprocessor;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
+import fr.alexpado.jda.interactions.responses.AutoCompleteResponse;
+import fr.alexpado.jda.interactions.responses.ButtonResponse;
+import fr.alexpado.jda.interactions.responses.SlashResponse;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import net.dv8tion.jda.api.utils.messages.MessageRequest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link InteractionPreprocessor} limiting how often each route can be used, and how many executions of a route may run
+ * at the same time.
+ * <p>
+ * Rate limits are defined per {@link RateLimitScope}: for each route, every user, guild, or the route as a whole uses
+ * its own bucket, following the generic cell rate algorithm (a token bucket storing a single timestamp updated without
+ * locking). Buckets which have been idle long enough to be full again behave exactly like new ones, so they are
+ * evicted periodically, keeping the memory used proportional to the recent activity.
+ * <p>
+ * The concurrency cap of a route counts the interactions of this route between {@link #preprocess(DispatchEvent)} and
+ * {@link #postprocess(DispatchEvent)}, preventing one expensive route from using every thread of the
+ * {@link fr.alexpado.jda.interactions.interfaces.interactions.InteractionExecutor}.
+ * <p>
+ * Rejected interactions are answered through their {@link InteractionResponseHandler} with an ephemeral message, or
+ * with no choices for auto-completions. Routes are identified by the {@link DispatchEvent#pattern() pattern} of their
+ * target, including its schema, such as {@code slash://admin/ban} or {@code button://vote/{pollId}}: every button of
+ * a target using route parameters shares the same limits. Interactions without any target use their own route.
+ */
+public class RateLimitPreprocessor implements InteractionPreprocessor {
+
+    private static final RateLimitScope[] SCOPES = RateLimitScope.values();
+
+    private final Map<Key, Bucket>           buckets;
+    private final Map<String, Limit[]>       routeLimits;
+    private final Map<String, Integer>       routeConcurrency;
+    private final Map<String, AtomicInteger> running;
+    private final Map<Long, Permit>          permits;
+    private final AtomicLong                 nextSweep;
+
+    private volatile Limit[]                     limits;
+    private volatile int                         concurrency;
+    private volatile long                        sweepInterval;
+    private volatile Function<Rejection, String> message;
+
+    /**
+     * Create a new {@link RateLimitPreprocessor}, without any limit.
+     */
+    public RateLimitPreprocessor() {
+
+        this.buckets          = new ConcurrentHashMap<>();
+        this.routeLimits      = new ConcurrentHashMap<>();
+        this.routeConcurrency = new ConcurrentHashMap<>();
+        this.running          = new ConcurrentHashMap<>();
+        this.permits          = new ConcurrentHashMap<>();
+        this.nextSweep        = new AtomicLong(System.nanoTime());
+        this.limits           = new Limit[SCOPES.length];
+        this.sweepInterval    = TimeUnit.MINUTES.toNanos(1);
+        this.message          = RateLimitPreprocessor::defaultMessage;
+    }
+
+    private static String defaultMessage(Rejection rejection) {
+
+        if (rejection.scope() == null) {
+            return "This interaction is already being used a lot, please try again in a moment.";
+        }
+
+        long seconds = Math.max(1, (rejection.retryAfter().toMillis() + 999) / 1000);
+        return String.format("You are doing this too often, please try again in %s second%s.", seconds, seconds > 1 ? "s" : "");
+    }
+
+    private static String routeOf(DispatchEvent<?> event) {
+
+        String pattern = event.pattern();
+        return pattern == null ? event.schema() + "://" + event.route() : pattern;
+    }
+
+    /**
+     * Define the rate limit applied to every route for the provided {@link RateLimitScope}.
+     *
+     * @param scope
+     *         The {@link RateLimitScope} of the limit.
+     * @param limit
+     *         The {@link Limit} to apply, or {@code null} to remove it.
+     */
+    public synchronized void setLimit(RateLimitScope scope, @Nullable Limit limit) {
+
+        Limit[] limits = this.limits.clone();
+        limits[scope.ordinal()] = limit;
+        this.limits = limits;
+    }
+
+    /**
+     * Define the rate limit applied to the provided route for the provided {@link RateLimitScope}, replacing the one
+     * defined by {@link #setLimit(RateLimitScope, Limit)}.
+     *
+     * @param route
+     *         The route pattern, including its schema (for example {@code slash://admin/ban} or
+     *         {@code button://vote/{pollId}}).
+     * @param scope
+     *         The {@link RateLimitScope} of the limit.
+     * @param limit
+     *         The {@link Limit} to apply, or {@code null} to use the one applied to every route.
+     */
+    public synchronized void setLimit(String route, RateLimitScope scope, @Nullable Limit limit) {
+
+        Limit[] limits = this.routeLimits.getOrDefault(route, new Limit[SCOPES.length]).clone();
+        limits[scope.ordinal()] = limit;
+        this.routeLimits.put(route, limits);
+    }
+
+    /**
+     * Define how many interactions of a same route may be executed at the same time.
+     *
+     * @param concurrency
+     *         The maximum amount of concurrent executions per route, or 0 for no limit (default).
+     */
+    public void setConcurrency(int concurrency) {
+
+        this.concurrency = Math.max(0, concurrency);
+    }
+
+    /**
+     * Define how many interactions of the provided route may be executed at the same time, replacing the value defined
+     * by {@link #setConcurrency(int)}.
+     *
+     * @param route
+     *         The route pattern, including its schema (for example {@code slash://report} or
+     *         {@code button://vote/{pollId}}).
+     * @param concurrency
+     *         The maximum amount of concurrent executions, 0 for no limit, or a negative value to use the value
+     *         applied to every route.
+     */
+    public void setConcurrency(String route, int concurrency) {
+
+        if (concurrency < 0) {
+            this.routeConcurrency.remove(route);
+        } else {
+            this.routeConcurrency.put(route, concurrency);
+        }
+    }
+
+    /**
+     * Define how often idle buckets are evicted. Defaults to one minute.
+     *
+     * @param interval
+     *         The interval between two evictions.
+     */
+    public void setSweepInterval(Duration interval) {
+
+        this.sweepInterval = interval.toNanos();
+    }
+
+    /**
+     * Define the message sent to the user when an interaction is rejected.
+     *
+     * @param message
+     *         The {@link Function} creating the message for a {@link Rejection}.
+     */
+    public void setMessage(Function<Rejection, String> message) {
+
+        this.message = message;
+    }
+
+    /**
+     * Retrieve the amount of rate limit buckets currently held in memory.
+     *
+     * @return The amount of buckets.
+     */
+    public int getBucketCount() {
+
+        return this.buckets.size();
+    }
+
+    /**
+     * Retrieve the amount of routes currently holding a concurrency counter, meaning they have interactions running.
+     *
+     * @return The amount of routes.
+     */
+    public int getRunningRouteCount() {
+
+        return this.running.size();
+    }
+
+    /**
+     * Retrieve the {@link Interaction} types this {@link InteractionPreprocessor} applies to.
+     *
+     * @return The slash command, button and auto-completion {@link Interaction} types.
+     */
+    @Override
+    public Collection<Class<? extends Interaction>> getInteractionTypes() {
+
+        return List.of(SlashCommandInteraction.class, ButtonInteraction.class, CommandAutoCompleteInteraction.class);
+    }
+
+    /**
+     * Check if the provided {@link DispatchEvent} should be handled. Rate limited interactions are still handled, in
+     * order to answer them.
+     *
+     * @param event
+     *         The {@link DispatchEvent} ready to be dispatched.
+     * @param <T>
+     *         The {@link Interaction} type
+     *
+     * @return Always true.
+     */
+    @Override
+    public <T extends Interaction> boolean mayContinue(@NotNull DispatchEvent<T> event) {
+
+        return true;
+    }
+
+    /**
+     * Consume a token from every bucket applying to the provided {@link DispatchEvent}, then take a concurrency permit
+     * for its route.
+     *
+     * @param event
+     *         The {@link DispatchEvent} ready to be dispatched.
+     * @param <T>
+     *         The {@link Interaction} type
+     *
+     * @return The rejection response if the interaction has been rate limited, an empty {@link Optional} otherwise.
+     */
+    @Override
+    public <T extends Interaction> Optional<Object> preprocess(@NotNull DispatchEvent<T> event) {
+
+        T       interaction = event.interaction();
+        String  route       = routeOf(event);
+        long    now         = System.nanoTime();
+        Limit[] defaults    = this.limits;
+        Limit[] overrides   = this.routeLimits.get(route);
+
+        this.sweep(now);
+
+        for (RateLimitScope scope : SCOPES) {
+            Limit limit = overrides != null && overrides[scope.ordinal()] != null
+                          ? overrides[scope.ordinal()]
+                          : defaults[scope.ordinal()];
+
+            if (limit == null) {
+                continue;
+            }
+
+            Key  key  = new Key(scope, scope.getKey(interaction), route);
+            long wait = this.buckets.computeIfAbsent(key, ignored -> new Bucket(now)).acquire(limit, now);
+
+            if (wait > 0) {
+                return Optional.of(this.reject(interaction, new Rejection(route, scope, Duration.ofNanos(wait))));
+            }
+        }
+
+        int max = this.routeConcurrency.getOrDefault(route, this.concurrency);
+        if (max > 0) {
+            AtomicInteger counter = this.acquire(route, max);
+
+            if (counter == null) {
+                return Optional.of(this.reject(interaction, new Rejection(route, null, Duration.ZERO)));
+            }
+            this.permits.put(interaction.getIdLong(), new Permit(route, counter));
+        }
+
+        return Optional.empty();
+    }
+
+    private @Nullable AtomicInteger acquire(String route, int max) {
+
+        while (true) {
+            AtomicInteger counter = this.running.computeIfAbsent(route, ignored -> new AtomicInteger());
+            int           current = counter.get();
+
+            if (current < 0) {
+                continue; // Evicted meanwhile, a new counter will be created.
+            }
+            if (current >= max) {
+                return null;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return counter;
+            }
+        }
+    }
+
+    /**
+     * Release the concurrency permit taken for the provided {@link DispatchEvent}, if any.
+     *
+     * @param event
+     *         The {@link DispatchEvent} which completed.
+     * @param <T>
+     *         The {@link Interaction} type
+     */
+    @Override
+    public <T extends Interaction> void postprocess(@NotNull DispatchEvent<T> event) {
+
+        Permit permit = this.permits.remove(event.interaction().getIdLong());
+
+        if (permit != null && permit.counter().decrementAndGet() == 0) {
+            // Counters are evicted once idle, marking them so that a concurrent acquire retries with a new one.
+            this.running.computeIfPresent(
+                    permit.route(),
+                    (route, counter) -> counter == permit.counter() && counter.compareAndSet(0, -1) ? null : counter
+            );
+        }
+    }
+
+    private void sweep(long now) {
+
+        long next = this.nextSweep.get();
+        if (now - next < 0 || !this.nextSweep.compareAndSet(next, now + this.sweepInterval)) {
+            return;
+        }
+
+        // A bucket evicted while being used only lets one extra interaction through.
+        this.buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private Object reject(Interaction interaction, Rejection rejection) {
+
+        if (interaction instanceof CommandAutoCompleteInteraction) {
+            return (AutoCompleteResponse) Collections::emptyList;
+        }
+        return new Reply(this.message.apply(rejection));
+    }
+
+    /**
+     * Record representing a rate limit: at most {@code permits} interactions per {@code period}, which may all be used
+     * at once.
+     *
+     * @param permits
+     *         The amount of interactions allowed per period.
+     * @param period
+     *         The period over which permits are refilled.
+     */
+    public record Limit(int permits, Duration period) {
+
+        /**
+         * Create a new {@link Limit}.
+         *
+         * @param permits
+         *         The amount of interactions allowed per period.
+         * @param period
+         *         The period over which permits are refilled.
+         */
+        public Limit {
+
+            if (permits <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("A limit must allow at least one interaction over a positive period.");
+            }
+        }
+
+        private long interval() {
+
+            return Math.max(1, this.period.toNanos() / this.permits);
+        }
+
+    }
+
+    /**
+     * Record representing the reason why an interaction has been rejected.
+     *
+     * @param route
+     *         The route pattern of the interaction.
+     * @param scope
+     *         The {@link RateLimitScope} of the limit reached, or {@code null} if the concurrency cap of the route has
+     *         been reached.
+     * @param retryAfter
+     *         The time to wait before the interaction would be allowed again, or {@link Duration#ZERO} if unknown.
+     */
+    public record Rejection(String route, @Nullable RateLimitScope scope, Duration retryAfter) {
+
+    }
+
+    private record Key(RateLimitScope scope, long id, String route) {
+
+    }
+
+    private record Permit(String route, AtomicInteger counter) {
+
+    }
+
+    private record Reply(String message) implements SlashResponse, ButtonResponse {
+
+        @Override
+        public Consumer<MessageRequest<?>> getHandler() {
+
+            return request -> request.setContent(this.message);
+        }
+
+        @Override
+        public boolean shouldEditOriginalMessage() {
+
+            return false;
+        }
+
+        @Override
+        public boolean isEphemeral() {
+
+            return true;
+        }
+
+    }
+
+    // Package-private so that the algorithm can be tested with explicit timestamps.
+    static final class Bucket {
+
+        // Theoretical arrival time: the bucket is full when it is in the past.
+        private final AtomicLong arrival;
+
+        Bucket(long now) {
+
+            this.arrival = new AtomicLong(now);
+        }
+
+        long acquire(Limit limit, long now) {
+
+            long interval  = limit.interval();
+            long tolerance = limit.period().toNanos();
+
+            while (true) {
+                long current = this.arrival.get();
+                long next    = (current - now < 0 ? now : current) + interval;
+
+                if (next - now > tolerance) {
+                    return next - tolerance - now;
+                }
+                if (this.arrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+
+            return this.arrival.get() - now <= 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package fr.alexpado.jda.interactions.interfaces.interactions;
+
+import fr.alexpado.jda.interactions.annotations.Param;
+import fr.alexpado.jda.interactions.exceptions.InteractionInjectionException;
+
+/**
+ * Interface used by {@link InteractionInvoker} to retrieve the value of each parameter of an interaction method.
+ * <p>
+ * The declared type of a parameter is given along with its boxed type, which is the type of the returned value. Both
+ * are identical unless the parameter is a primitive, in which case a {@code null} value is rejected.
+ */
+public interface InteractionArguments {
+
+    /**
+     * Retrieve the value of a parameter annotated with {@link Param}. When the option value can't be assigned to the
+     * parameter, the {@link Injection} registered for its type is used as converter.
+     *
+     * @param index
+     *         The index of the parameter.
+     * @param option
+     *         The name of the option.
+     * @param type
+     *         The declared type of the parameter.
+     * @param boxed
+     *         The boxed type of the parameter.
+     * @param <V>
+     *         The type of the value.
+     *
+     * @return The value of the parameter.
+     *
+     * @throws InteractionInjectionException
+     *         If the value can't be assigned to the parameter.
+     */
+    <V> V option(int index, String option, Class<?> type, Class<V> boxed) throws InteractionInjectionException;
+
+    /**
+     * Retrieve the value of a parameter not annotated with {@link Param}, using the {@link Injection} registered for
+     * its type.
+     *
+     * @param index
+     *         The index of the parameter.
+     * @param type
+     *         The declared type of the parameter.
+     * @param boxed
+     *         The boxed type of the parameter.
+     * @param <V>
+     *         The type of the value.
+     *
+     * @return The value of the parameter.
+     *
+     * @throws InteractionInjectionException
+     *         If the value can't be assigned to the parameter.
+     */
+    <V> V inject(int index, Class<?> type, Class<V> boxed) throws InteractionInjectionException;
+
+}
@@ -6,6 +6,7 @@ import net.dv8tion.jda.api.interactions.Interaction;
 import java.net.URI;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -75,6 +76,24 @@ public interface InteractionContainer<T extends InteractionTarget<V>, V extends
      */
     Object dispatch(DispatchEvent<V> event) throws Exception;
 
+    /**
+     * Called when an {@link DispatchEvent} is being fired, allowing the {@link InteractionTarget} to be executed once
+     * the data it needs has been retrieved without blocking the calling thread. By default, the event is dispatched
+     * right away through {@link #dispatch(DispatchEvent)}.
+     *
+     * @param event
+     *         The {@link DispatchEvent}
+     *
+     * @return A {@link CompletableFuture} completing with the interaction result.
+     *
+     * @throws Exception
+     *         Any exception is possible, as exception thrown by an {@link InteractionTarget} will be forwarded.
+     */
+    default CompletableFuture<Object> dispatchAsync(DispatchEvent<V> event) throws Exception {
+
+        return CompletableFuture.completedFuture(this.dispatch(event));
+    }
+
     /**
      * Add a mapping class to the dependency map used as parameters injection source. Using {@link Supplier} allow to
      * lazy-load the value.
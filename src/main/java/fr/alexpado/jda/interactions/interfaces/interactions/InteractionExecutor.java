@@ -0,0 +1,90 @@
+package fr.alexpado.jda.interactions.interfaces.interactions;
+
+import fr.alexpado.jda.interactions.InteractionExtension;
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface representing an object deciding on which thread the {@link InteractionExtension} executes the flow of an
+ * {@link Interaction}.
+ *
+ * @see InteractionExecutors#ordered(InteractionExecutor, DispatchOrder)
+ */
+public interface InteractionExecutor {
+
+    /**
+     * Create an {@link InteractionExecutor} running every {@link Interaction} directly on the thread that received it,
+     * where everything runs on the JDA event thread.
+     *
+     * @return An {@link InteractionExecutor}.
+     */
+    static InteractionExecutor inline() {
+
+        return (interaction, task) -> task.run();
+    }
+
+    /**
+     * Create an {@link InteractionExecutor} running each {@link Interaction} in its own virtual thread. This is the
+     * default behavior.
+     *
+     * @return An {@link InteractionExecutor}.
+     */
+    static InteractionExecutor virtualThreads() {
+
+        return of(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("interaction-", 0).factory()));
+    }
+
+    /**
+     * Create an {@link InteractionExecutor} running {@link Interaction} on a bounded pool of daemon platform threads.
+     * When the pool and its queue are both full, the {@link Interaction} is executed on the thread that received it,
+     * slowing down the event thread instead of dropping the interaction.
+     *
+     * @param threads
+     *         The number of threads in the pool.
+     * @param queueSize
+     *         The number of {@link Interaction} that may wait for a thread.
+     *
+     * @return An {@link InteractionExecutor}.
+     */
+    static InteractionExecutor pooled(int threads, int queueSize) {
+
+        return of(new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                Thread.ofPlatform().daemon().name("interaction-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        ));
+    }
+
+    /**
+     * Create an {@link InteractionExecutor} delegating to the provided {@link Executor}.
+     *
+     * @param executor
+     *         The {@link Executor} to use.
+     *
+     * @return An {@link InteractionExecutor}.
+     */
+    static InteractionExecutor of(Executor executor) {
+
+        return (interaction, task) -> executor.execute(task);
+    }
+
+    /**
+     * Execute the flow of the provided {@link Interaction}.
+     *
+     * @param interaction
+     *         The {@link Interaction} being handled.
+     * @param task
+     *         The task running the flow of the {@link Interaction}.
+     */
+    void execute(Interaction interaction, Runnable task);
+
+}
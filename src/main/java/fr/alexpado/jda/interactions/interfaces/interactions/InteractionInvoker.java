@@ -0,0 +1,53 @@
+package fr.alexpado.jda.interactions.interfaces.interactions;
+
+import fr.alexpado.jda.interactions.annotations.Interact;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import fr.alexpado.jda.interactions.processor.InteractionProcessor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Interface representing a direct call to a method annotated with {@link Interact}. Implementations are generated at
+ * compile time by the {@link InteractionProcessor}, so that executing an interaction does not involve any reflection.
+ * <p>
+ * Generated implementations also carry the {@link InteractionMeta} read from the {@link Interact} annotation, so that
+ * registering the method does not involve any reflection either.
+ */
+@FunctionalInterface
+public interface InteractionInvoker {
+
+    /**
+     * Call the interaction method.
+     *
+     * @param holder
+     *         The object on which the method is called (ignored for static methods).
+     * @param arguments
+     *         The {@link InteractionArguments} providing the value of each parameter.
+     *
+     * @return The value returned by the method, or {@code null} if it returns {@code void}.
+     *
+     * @throws Exception
+     *         If a parameter could not be resolved, or due to a userland exception defined in the interaction.
+     */
+    Object invoke(Object holder, InteractionArguments arguments) throws Exception;
+
+    /**
+     * Retrieve the {@link InteractionMeta} of the method when registered as a button, built at compile time.
+     *
+     * @return The {@link InteractionMeta}, or {@code null} if it must be read from the {@link Interact} annotation.
+     */
+    default @Nullable InteractionMeta getButtonMeta() {
+
+        return null;
+    }
+
+    /**
+     * Retrieve the {@link InteractionMeta} of the method when registered as a slash command, built at compile time.
+     *
+     * @return The {@link InteractionMeta}, or {@code null} if it must be read from the {@link Interact} annotation.
+     */
+    default @Nullable InteractionMeta getSlashMeta() {
+
+        return null;
+    }
+
+}
@@ -5,6 +5,8 @@ import fr.alexpado.jda.interactions.entities.DispatchEvent;
 import net.dv8tion.jda.api.interactions.Interaction;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
 /**
@@ -12,6 +14,33 @@ import java.util.Optional;
  */
 public interface InteractionPreprocessor {
 
+    /**
+     * Retrieve the {@link Interaction} types this {@link InteractionPreprocessor} applies to. An interaction is
+     * preprocessed if its type is, or extends, one of the returned types.
+     * <p>
+     * This is read once, when the {@link InteractionExtension} compiles its preprocessor chain.
+     *
+     * @return The {@link Interaction} types, or an empty collection (default) to apply to every interaction.
+     */
+    default Collection<Class<? extends Interaction>> getInteractionTypes() {
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Retrieve the route patterns this {@link InteractionPreprocessor} applies to. Patterns are matched against the
+     * path of the interaction, without schema nor query (for example {@code admin/ban}). Within a pattern, {@code *}
+     * matches anything within a segment and {@code **} matches anything, including {@code /}.
+     * <p>
+     * This is read once, when the {@link InteractionExtension} compiles its preprocessor chain.
+     *
+     * @return The route patterns, or an empty collection (default) to apply to every route.
+     */
+    default Collection<String> getRoutePatterns() {
+
+        return Collections.emptyList();
+    }
+
     /**
      * Check if the provided {@link DispatchEvent} should be handled. This may prove useful if you want to completely
      * ignore some interaction (not acknowledging them).
@@ -43,4 +72,21 @@ public interface InteractionPreprocessor {
      */
     <T extends Interaction> Optional<Object> preprocess(@NotNull DispatchEvent<T> event);
 
+    /**
+     * Called once the interaction flow of a {@link DispatchEvent} allowed by {@link #mayContinue(DispatchEvent)}
+     * completed, whether its response has been sent or an error has been handled. This allows to release any resource
+     * held for the event, such as a concurrency permit.
+     * <p>
+     * This is called on every applicable {@link InteractionPreprocessor}, even if {@link #preprocess(DispatchEvent)}
+     * has not been called because a previous {@link InteractionPreprocessor} returned a result.
+     *
+     * @param event
+     *         The {@link DispatchEvent} which completed.
+     * @param <T>
+     *         The {@link Interaction} type
+     */
+    default <T extends Interaction> void postprocess(@NotNull DispatchEvent<T> event) {
+
+    }
+
 }
@@ -4,12 +4,30 @@ import fr.alexpado.jda.interactions.entities.DispatchEvent;
 import net.dv8tion.jda.api.interactions.Interaction;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface representing an object being able to handle a specific type of interaction response defined by
  * {@link #canHandle(DispatchEvent, Object)}.
  */
 public interface InteractionResponseHandler {
 
+    /**
+     * Retrieve the response types this {@link InteractionResponseHandler} accepts. When declared,
+     * {@link #canHandle(DispatchEvent, Object)} is only called for responses being an instance of one of these types,
+     * and never for {@code null} responses.
+     * <p>
+     * This is read once, when the handler is registered.
+     *
+     * @return The accepted response types, or an empty collection (default) if this handler may accept any response.
+     */
+    default Collection<Class<?>> getResponseTypes() {
+
+        return Collections.emptyList();
+    }
+
     /**
      * Check if this {@link InteractionResponseHandler} can handle the provided response.
      *
@@ -36,4 +54,28 @@ public interface InteractionResponseHandler {
      */
     <T extends Interaction> void handleResponse(DispatchEvent<T> event, @Nullable Object response);
 
+    /**
+     * Handle the response resulting from the {@link DispatchEvent} event provided without waiting for Discord to
+     * acknowledge it. The default implementation delegates to {@link #handleResponse(DispatchEvent, Object)} and
+     * returns an already completed {@link CompletableFuture}.
+     *
+     * @param event
+     *         The {@link DispatchEvent} source of the response.
+     * @param response
+     *         The {@link Object} to handle.
+     * @param <T>
+     *         Type of the interaction.
+     *
+     * @return A {@link CompletableFuture} completing once the response has been sent.
+     */
+    default <T extends Interaction> CompletableFuture<?> handleResponseAsync(DispatchEvent<T> event, @Nullable Object response) {
+
+        try {
+            this.handleResponse(event, response);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
 }
@@ -0,0 +1,78 @@
+package fr.alexpado.jda.interactions.interfaces.interactions;
+
+import net.dv8tion.jda.api.interactions.Interaction;
+
+import java.util.Collection;
+import java.util.function.UnaryOperator;
+
+/**
+ * Interface representing an {@link InteractionContainer} whose {@link InteractionTarget} can be removed or replaced
+ * after being registered, while events are being dispatched.
+ *
+ * @param <T>
+ *         The {@link InteractionTarget} precise type.
+ * @param <V>
+ *         The type of event the {@link InteractionTarget} is capable of handling.
+ */
+public interface MutableInteractionContainer<T extends InteractionTarget<V>, V extends Interaction> extends InteractionContainer<T, V> {
+
+    /**
+     * Remove the {@link InteractionTarget} registered with the provided name from this {@link InteractionContainer}.
+     * Events already being dispatched to it are not affected.
+     *
+     * @param name
+     *         The name of the {@link InteractionTarget}, as declared in its meta.
+     *
+     * @return True if an {@link InteractionTarget} has been removed, false otherwise.
+     */
+    boolean unregister(String name);
+
+    /**
+     * Register the provided {@link InteractionTarget} into this {@link InteractionContainer}, replacing the one
+     * registered with the same name if any. Events already being dispatched to the previous one are not affected.
+     *
+     * @param target
+     *         The {@link InteractionTarget} to register.
+     */
+    void replace(T target);
+
+    /**
+     * Atomically replace every {@link InteractionTarget} of this {@link InteractionContainer} with the provided ones:
+     * new events will only see the new targets, while events already being dispatched finish with the previous ones.
+     *
+     * @param targets
+     *         The {@link InteractionTarget} to register.
+     *
+     * @throws IllegalArgumentException
+     *         If two targets share the same name. The container is left untouched.
+     */
+    void swap(Collection<? extends T> targets);
+
+    /**
+     * Atomically replace every {@link InteractionTarget} of this {@link InteractionContainer} with the ones computed
+     * from the currently registered ones. Unlike {@link #swap(Collection)}, targets registered concurrently can't be
+     * lost, as no other change can happen between reading the current targets and publishing the new ones.
+     *
+     * @param update
+     *         The function computing the new {@link InteractionTarget} from the current ones.
+     *
+     * @throws IllegalArgumentException
+     *         If two targets share the same name. The container is left untouched.
+     */
+    void swap(UnaryOperator<Collection<T>> update);
+
+    /**
+     * Check that the provided {@link InteractionTarget} could be published by {@link #swap(Collection)}, without
+     * publishing them. This allows to prepare changes spanning several containers before applying any of them.
+     *
+     * @param targets
+     *         The {@link InteractionTarget} to check.
+     *
+     * @throws IllegalArgumentException
+     *         If two targets share the same name.
+     * @throws IllegalStateException
+     *         If the targets can't be registered together, such as slash commands with an invalid nesting.
+     */
+    void validate(Collection<? extends T> targets);
+
+}
@@ -4,6 +4,8 @@ import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import fr.alexpado.jda.interactions.interfaces.interactions.MetaContainer;
 import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.function.Supplier;
 
 /**
@@ -29,4 +31,15 @@ public interface AutocompleteInteractionTarget extends InteractionTarget<Command
      */
     void removeCompletionProvider(String name);
 
+    /**
+     * Retrieve the completion providers added to this {@link AutocompleteInteractionTarget}, by option name. They are
+     * carried over to the target replacing this one when interactions are reloaded.
+     *
+     * @return An immutable map of {@link AutoCompleteProvider}, empty by default.
+     */
+    default Map<String, AutoCompleteProvider> getCompletionProviders() {
+
+        return Collections.emptyMap();
+    }
+
 }
@@ -0,0 +1,119 @@
+package fr.alexpado.jda.interactions.interfaces.interactions.button;
+
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Interface representing an object able to build and read the component ids of a button interaction, according to
+ * the options it declares.
+ */
+public interface ButtonCodec {
+
+    /**
+     * The maximum length of a component id allowed by Discord.
+     */
+    int MAX_LENGTH = 100;
+
+    /**
+     * Create a new {@link Encoder} allowing to build a component id for this button interaction.
+     *
+     * @return A new {@link Encoder}.
+     */
+    Encoder encoder();
+
+    /**
+     * Decode the values contained in a component id into the provided options map. Options with no value in the
+     * component id are not added to the map.
+     *
+     * @param parameters
+     *         The values of the parameter segments, as captured when matching the route.
+     * @param query
+     *         The raw (still percent-encoded) query of the component id, if any.
+     * @param output
+     *         The map into which decoded values will be put.
+     */
+    void decode(Map<String, String> parameters, @Nullable String query, Map<String, Object> output);
+
+    /**
+     * Type-safe builder of a component id. Each value is checked against the {@link OptionType} of the option it is
+     * assigned to.
+     */
+    interface Encoder {
+
+        /**
+         * Set the value of a {@link OptionType#STRING} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        Encoder with(String name, @Nullable String value);
+
+        /**
+         * Set the value of a {@link OptionType#INTEGER} option, or the id of a {@link OptionType#USER},
+         * {@link OptionType#CHANNEL} or {@link OptionType#ROLE} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        Encoder with(String name, long value);
+
+        /**
+         * Set the value of a {@link OptionType#BOOLEAN} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        Encoder with(String name, boolean value);
+
+        /**
+         * Set the value of a {@link OptionType#NUMBER} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        Encoder with(String name, double value);
+
+        /**
+         * Set the value of a {@link OptionType#USER}, {@link OptionType#CHANNEL} or {@link OptionType#ROLE} option.
+         *
+         * @param name
+         *         The option name.
+         * @param value
+         *         The entity to use as option value.
+         *
+         * @return This {@link Encoder}.
+         */
+        Encoder with(String name, @Nullable ISnowflake value);
+
+        /**
+         * Build the component id.
+         *
+         * @return The component id, usable with {@code Button.primary(...)} and similar methods.
+         *
+         * @throws IllegalStateException
+         *         If a required option is missing, or if the component id exceeds {@link #MAX_LENGTH} characters.
+         */
+        String build();
+
+    }
+
+}
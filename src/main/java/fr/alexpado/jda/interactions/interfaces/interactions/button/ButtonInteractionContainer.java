@@ -5,8 +5,25 @@ import fr.alexpado.jda.interactions.interfaces.interactions.InteractionEventHand
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
 import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
 
+import java.util.Optional;
+
 /**
  * Interface representing an {@link InteractionContainer} dedicated to {@link ButtonInteraction} events.
  */
 public interface ButtonInteractionContainer extends InteractionContainer<ButtonInteractionTarget, ButtonInteraction>, InteractionEventHandler<ButtonInteraction>, InteractionResponseHandler {
+
+    /**
+     * Retrieve the {@link ButtonCodec} of the button interaction registered with the provided name. The codec can be
+     * used to build component ids matching the interaction options.
+     *
+     * @param name
+     *         The name of the button interaction, as declared.
+     *
+     * @return An optional {@link ButtonCodec}, empty by default.
+     */
+    default Optional<ButtonCodec> getCodec(String name) {
+
+        return Optional.empty();
+    }
+
 }
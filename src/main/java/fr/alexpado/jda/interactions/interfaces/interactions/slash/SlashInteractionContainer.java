@@ -1,11 +1,15 @@
 package fr.alexpado.jda.interactions.interfaces.interactions.slash;
 
+import fr.alexpado.jda.interactions.ext.discord.CommandSynchronizer;
+import fr.alexpado.jda.interactions.ext.discord.InteractionCommandData;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionContainer;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionEventHandler;
 import fr.alexpado.jda.interactions.interfaces.interactions.InteractionResponseHandler;
 import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
 import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
 
+import java.util.List;
+
 /**
  * Interface representing an {@link InteractionContainer} dedicated to {@link SlashCommandInteraction} events.
  */
@@ -22,4 +26,19 @@ public interface SlashInteractionContainer extends InteractionContainer<SlashInt
      */
     CommandListUpdateAction upsertCommands(CommandListUpdateAction action);
 
+    /**
+     * Retrieve the {@link InteractionCommandData} of every registered {@link SlashInteractionTarget}, ready to be sent
+     * to Discord. By default, the command data is built from {@link #getInteractions()} on each call.
+     *
+     * @return A list of {@link InteractionCommandData}.
+     *
+     * @see CommandSynchronizer
+     */
+    default List<InteractionCommandData> getCommandData() {
+
+        List<InteractionCommandData> data = InteractionCommandData.of(this.getInteractions().values());
+        data.forEach(InteractionCommandData::prepare);
+        return data;
+    }
+
 }
@@ -6,6 +6,7 @@ import fr.alexpado.jda.interactions.interfaces.interactions.InteractionTarget;
 import net.dv8tion.jda.api.interactions.Interaction;
 import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -45,6 +46,30 @@ public record InteractionMeta(
 
     }
 
+    /**
+     * Create a new {@link InteractionMeta} from an {@link Interact} annotation.
+     *
+     * @param interact
+     *         The {@link Interact} annotation from which data will be loaded.
+     * @param hide
+     *         Define if the response should be hidden. This is usually {@link Interact#hideAsSlash()} or
+     *         {@link Interact#hideAsButton()} depending on the container receiving the {@link InteractionTarget}.
+     *
+     * @return A new {@link InteractionMeta}.
+     */
+    public static InteractionMeta of(Interact interact, boolean hide) {
+
+        return new InteractionMeta(
+                interact.name(),
+                interact.description(),
+                interact.target(),
+                Arrays.stream(interact.options()).map(OptionMeta::new).toList(),
+                hide,
+                interact.defer(),
+                interact.shouldReply()
+        );
+    }
+
     /**
      * Retrieve this {@link InteractionMeta} name
      *
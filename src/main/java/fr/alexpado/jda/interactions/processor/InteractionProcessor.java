@@ -0,0 +1,460 @@
+package fr.alexpado.jda.interactions.processor;
+
+import fr.alexpado.jda.interactions.annotations.Choice;
+import fr.alexpado.jda.interactions.annotations.Interact;
+import fr.alexpado.jda.interactions.annotations.Option;
+import fr.alexpado.jda.interactions.annotations.Param;
+import fr.alexpado.jda.interactions.entities.LazyEntity;
+import fr.alexpado.jda.interactions.enums.SlashTarget;
+import fr.alexpado.jda.interactions.impl.InteractionRegistrar;
+import fr.alexpado.jda.interactions.interfaces.interactions.Injection;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionArguments;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionContainer;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionInvoker;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor validating methods annotated with {@link Interact}, generating an {@link InteractionInvoker}
+ * for each of them and writing the {@link #INDEX_FILE} used by {@link InteractionRegistrar} to find them without
+ * scanning each class at runtime.
+ * <p>
+ * Each line of the index has the form {@code binary.class.Name#method(param.Type,long,...)=generated.Invoker}. Each
+ * generated {@link InteractionInvoker} also holds the {@link InteractionMeta} of its method, so that the
+ * {@link InteractionRegistrar} only needs to load the invoker class: the method signature is only resolved to describe
+ * errors.
+ * <p>
+ * The type of each parameter annotated with {@link Param} is checked against the type of its option. As a mismatch
+ * may be intended when a converter is registered through {@link InteractionContainer#addClassMapping(Class, Injection)},
+ * the {@value #LENIENT_OPTION} processor option turns those errors into warnings.
+ */
+public class InteractionProcessor extends AbstractProcessor {
+
+    /**
+     * Path of the resource holding the interaction index.
+     */
+    public static final String INDEX_FILE = "META-INF/jda-interactions.idx";
+
+    /**
+     * Processor option which, when set to {@code true}, reports parameter type mismatches as warnings.
+     */
+    public static final String LENIENT_OPTION = "jda.interactions.lenientTypes";
+
+    private static final Map<String, String> OPTION_TYPES = Map.of(
+            "STRING", "java.lang.String",
+            "INTEGER", "java.lang.Long",
+            "BOOLEAN", "java.lang.Boolean",
+            "NUMBER", "java.lang.Double",
+            "USER", "net.dv8tion.jda.api.entities.User",
+            "CHANNEL", "net.dv8tion.jda.api.entities.channel.middleman.GuildChannel",
+            "ROLE", "net.dv8tion.jda.api.entities.Role",
+            "MENTIONABLE", "net.dv8tion.jda.api.entities.IMentionable",
+            "ATTACHMENT", "net.dv8tion.jda.api.entities.Message.Attachment"
+    );
+
+    private static final String INTERACTION_META = "fr.alexpado.jda.interactions.meta.InteractionMeta";
+    private static final String OPTION_META      = "fr.alexpado.jda.interactions.meta.OptionMeta";
+    private static final String CHOICE_META      = "fr.alexpado.jda.interactions.meta.ChoiceMeta";
+    private static final String OPTION_TYPE      = "net.dv8tion.jda.api.interactions.commands.OptionType";
+
+    private static final Set<String>   VALUE_OPTIONS = Set.of("STRING", "INTEGER", "BOOLEAN", "NUMBER");
+    private static final Set<TypeKind> PRIMITIVES    = Set.of(TypeKind.LONG, TypeKind.BOOLEAN, TypeKind.DOUBLE);
+
+    private final Set<String>          entries = new TreeSet<>();
+    private final Map<String, Integer> names   = new HashMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+
+        return Set.of(Interact.class.getCanonicalName());
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+
+        return Set.of(LENIENT_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Interact.class)) {
+            if (element.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+
+            ExecutableElement method = (ExecutableElement) element;
+            if (this.validate(method)) {
+                this.entries.add(this.describe(method) + "=" + this.generate(method));
+            }
+        }
+
+        if (roundEnv.processingOver() && !this.entries.isEmpty()) {
+            this.writeIndex();
+        }
+
+        return false;
+    }
+
+    private boolean validate(ExecutableElement method) {
+
+        boolean     valid    = true;
+        Interact    interact = method.getAnnotation(Interact.class);
+        Set<String> options  = new HashSet<>();
+
+        if (method.getModifiers().contains(Modifier.PRIVATE)) {
+            this.error(method, "@Interact methods cannot be private.");
+            valid = false;
+        }
+
+        for (Element owner = method.getEnclosingElement(); owner instanceof TypeElement type; owner = owner.getEnclosingElement()) {
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                this.error(method, "@Interact methods cannot be declared in a private class.");
+                valid = false;
+            }
+            if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC) && type.getKind() == ElementKind.CLASS) {
+                this.error(method, "@Interact methods cannot be declared in an inner (non-static) class.");
+                valid = false;
+            }
+        }
+
+        if (interact.name().isBlank()) {
+            this.error(method, "@Interact name cannot be empty.");
+            valid = false;
+        }
+
+        for (Option option : interact.options()) {
+            if (!options.add(option.name())) {
+                this.error(method, "Option '" + option.name() + "' is declared more than once.");
+                valid = false;
+            }
+        }
+
+        Map<String, String> optionTypes = this.readOptionTypes(method);
+
+        for (VariableElement parameter : method.getParameters()) {
+            Param      param = parameter.getAnnotation(Param.class);
+            TypeMirror type  = parameter.asType();
+
+            if (type.getKind().isPrimitive() && !PRIMITIVES.contains(type.getKind())) {
+                this.error(parameter, "Parameter is an unsupported primitive type (supported: long, boolean, double).");
+                valid = false;
+            }
+
+            if (param == null) {
+                continue;
+            }
+
+            if (!options.contains(param.value())) {
+                this.error(parameter, "@Param refers to the undeclared option '" + param.value() + "'.");
+                valid = false;
+            } else if (!this.isCompatible(type, optionTypes.get(param.value()))) {
+                String message = String.format(
+                        "Parameter type %s does not match the type of option '%s' (%s).",
+                        type,
+                        param.value(),
+                        optionTypes.get(param.value())
+                );
+
+                if (Boolean.parseBoolean(this.processingEnv.getOptions().get(LENIENT_OPTION))) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, parameter);
+                } else {
+                    this.error(parameter, message + " Set -A" + LENIENT_OPTION + "=true if a converter is registered.");
+                    valid = false;
+                }
+            }
+        }
+
+        return valid;
+    }
+
+    private Map<String, String> readOptionTypes(ExecutableElement method) {
+
+        // Read through mirrors: the OptionType enum may not be available on the processor path.
+        Map<String, String> types = new HashMap<>();
+
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            if (!annotation.getAnnotationType().toString().equals(Interact.class.getCanonicalName())) {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals("options")) {
+                    continue;
+                }
+
+                for (Object item : (List<?>) entry.getValue().getValue()) {
+                    AnnotationMirror option = (AnnotationMirror) ((AnnotationValue) item).getValue();
+                    String           name   = null;
+                    String           type   = null;
+
+                    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : option.getElementValues().entrySet()) {
+                        switch (value.getKey().getSimpleName().toString()) {
+                            case "name" -> name = (String) value.getValue().getValue();
+                            case "type" -> type = ((VariableElement) value.getValue().getValue()).getSimpleName().toString();
+                            default -> {
+                            }
+                        }
+                    }
+                    types.put(name, type);
+                }
+            }
+        }
+
+        return types;
+    }
+
+    private boolean isCompatible(TypeMirror parameter, @Nullable String optionType) {
+
+        Types       types    = this.processingEnv.getTypeUtils();
+        Elements    elements = this.processingEnv.getElementUtils();
+        String      expected = optionType == null ? null : OPTION_TYPES.get(optionType);
+        TypeElement element  = expected == null ? null : elements.getTypeElement(expected);
+
+        if (element == null) {
+            return true; // Unknown option type or JDA not on the classpath, nothing to check against.
+        }
+
+        TypeMirror actual = parameter.getKind().isPrimitive()
+                            ? types.boxedClass((PrimitiveType) parameter).asType()
+                            : types.erasure(parameter);
+
+        if (types.isAssignable(element.asType(), actual)) {
+            return true;
+        }
+
+        if (VALUE_OPTIONS.contains(optionType)) {
+            return false;
+        }
+
+        // Narrower entity types (a TextChannel for a CHANNEL option) can only be checked at runtime, and entities can
+        // also be received as LazyEntity.
+        TypeElement lazy = elements.getTypeElement(LazyEntity.class.getCanonicalName());
+        return types.isAssignable(actual, element.asType()) || lazy != null && types.isSameType(actual, types.erasure(lazy.asType()));
+    }
+
+    private String describe(ExecutableElement method) {
+
+        TypeElement  owner      = (TypeElement) method.getEnclosingElement();
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+
+        for (VariableElement parameter : method.getParameters()) {
+            parameters.add(this.binaryName(parameter.asType()));
+        }
+
+        return this.processingEnv.getElementUtils().getBinaryName(owner) + "#" + method.getSimpleName() + parameters;
+    }
+
+    private String binaryName(TypeMirror type) {
+
+        TypeMirror erased = this.processingEnv.getTypeUtils().erasure(type);
+
+        return switch (erased) {
+            case ArrayType array -> this.binaryName(array.getComponentType()) + "[]";
+            case DeclaredType declared -> this.processingEnv.getElementUtils()
+                                                            .getBinaryName((TypeElement) declared.asElement())
+                                                            .toString();
+            default -> erased.toString(); // Primitive types
+        };
+    }
+
+    private String generate(ExecutableElement method) {
+
+        TypeElement owner       = (TypeElement) method.getEnclosingElement();
+        String      packageName = this.processingEnv.getElementUtils().getPackageOf(owner).getQualifiedName().toString();
+        String      binaryName  = this.processingEnv.getElementUtils().getBinaryName(owner).toString();
+        String      simpleName  = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String      baseName    = simpleName + "$" + method.getSimpleName() + "$Invoker";
+        int         occurrence  = this.names.merge(packageName + "." + baseName, 1, Integer::sum);
+        String      className   = occurrence == 1 ? baseName : baseName + occurrence;
+        String      qualified   = packageName.isEmpty() ? className : packageName + "." + className;
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        StringJoiner                    arguments  = new StringJoiner(",\n                ", "\n                ", "\n        ");
+
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            Param           param     = parameter.getAnnotation(Param.class);
+            TypeMirror      type      = this.processingEnv.getTypeUtils().erasure(parameter.asType());
+            String          boxed     = type.getKind().isPrimitive()
+                                        ? this.processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString()
+                                        : type.toString();
+
+            if (param == null) {
+                arguments.add(String.format("arguments.inject(%s, %s.class, %s.class)", i, type, boxed));
+            } else {
+                arguments.add(String.format("arguments.option(%s, \"%s\", %s.class, %s.class)", i, escape(param.value()), type, boxed));
+            }
+        }
+
+        String target = method.getModifiers().contains(Modifier.STATIC)
+                        ? owner.getQualifiedName().toString()
+                        : "((" + this.processingEnv.getTypeUtils().erasure(owner.asType()) + ") holder)";
+        String call   = target + "." + method.getSimpleName() + "(" + (parameters.isEmpty() ? "" : arguments.toString()) + ")";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(InteractionProcessor.class.getName()).append("\")\n")
+              .append("public final class ").append(className).append(" implements ").append(InteractionInvoker.class.getCanonicalName()).append(" {\n\n");
+
+        this.appendMeta(source, method);
+
+        source.append("    @Override\n")
+              .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+              .append("    public Object invoke(Object holder, ").append(InteractionArguments.class.getCanonicalName()).append(" arguments) throws Exception {\n\n");
+
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            source.append("        ").append(call).append(";\n")
+                  .append("        return null;\n");
+        } else {
+            source.append("        return ").append(call).append(";\n");
+        }
+        source.append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public ").append(INTERACTION_META).append(" getButtonMeta() {\n\n")
+              .append("        return BUTTON_META;\n")
+              .append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public ").append(INTERACTION_META).append(" getSlashMeta() {\n\n")
+              .append("        return SLASH_META;\n")
+              .append("    }\n\n}\n");
+
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(qualified, method, owner);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            this.error(method, "Unable to generate " + qualified + ": " + e.getMessage());
+        }
+
+        return qualified;
+    }
+
+    private void appendMeta(StringBuilder source, ExecutableElement method) {
+
+        Interact            interact    = method.getAnnotation(Interact.class);
+        Map<String, String> optionTypes = this.readOptionTypes(method);
+        StringJoiner        options     = new StringJoiner(",\n            ", "\n            ", "\n    ");
+
+        for (Option option : interact.options()) {
+            StringJoiner choices = new StringJoiner(", ");
+            for (Choice choice : option.choices()) {
+                choices.add(String.format("new %s(%s, %s)", CHOICE_META, literal(choice.id()), literal(choice.display())));
+            }
+
+            options.add(String.format(
+                    "new %s(%s, %s, %s, %s, %s, %s.%s, java.util.List.of(%s))",
+                    OPTION_META,
+                    literal(option.name()),
+                    literal(option.autoCompleteName()),
+                    literal(option.description()),
+                    option.required(),
+                    option.autoComplete(),
+                    OPTION_TYPE,
+                    optionTypes.get(option.name()),
+                    choices
+            ));
+        }
+
+        String common = String.format(
+                "%s, %s, %s.%s, OPTIONS",
+                literal(interact.name()),
+                literal(interact.description()),
+                SlashTarget.class.getCanonicalName(),
+                interact.target().name()
+        );
+
+        source.append("    private static final java.util.List<").append(OPTION_META).append("> OPTIONS = java.util.List.of(")
+              .append(interact.options().length == 0 ? "" : options.toString())
+              .append(");\n\n")
+              .append("    private static final ").append(INTERACTION_META).append(" BUTTON_META = new ").append(INTERACTION_META)
+              .append("(").append(common).append(", ").append(interact.hideAsButton()).append(", ").append(interact.defer())
+              .append(", ").append(interact.shouldReply()).append(");\n\n")
+              .append("    private static final ").append(INTERACTION_META).append(" SLASH_META = new ").append(INTERACTION_META)
+              .append("(").append(common).append(", ").append(interact.hideAsSlash()).append(", ").append(interact.defer())
+              .append(", ").append(interact.shouldReply()).append(");\n\n");
+    }
+
+    private static String escape(String value) {
+
+        return value.replace("\\", "\\\\")
+                    .replace("\"", "\\\"")
+                    .replace("\n", "\\n")
+                    .replace("\r", "\\r")
+                    .replace("\t", "\\t");
+    }
+
+    private static String literal(String value) {
+
+        return '"' + escape(value) + '"';
+    }
+
+    private void writeIndex() {
+
+        try {
+            FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("// Generated by " + InteractionProcessor.class.getSimpleName() + ", do not edit.\n");
+                for (String entry : this.entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Unable to write " + INDEX_FILE + ": " + e.getMessage()
+            );
+        }
+    }
+
+    private void error(Element element, String message) {
+
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
@@ -2,6 +2,12 @@ package fr.alexpado.jda.interactions.tools;
 
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
 /**
  * Class grouping all kind of utility methods
  */
@@ -33,4 +39,107 @@ public final class InteractionUtils {
         };
     }
 
+    /**
+     * Wait for the provided {@link CompletableFuture} to complete and return its value. Unlike
+     * {@link CompletableFuture#join()}, unchecked exceptions are rethrown as-is instead of being wrapped in a
+     * {@link CompletionException}.
+     *
+     * @param future
+     *         The {@link CompletableFuture} to wait for.
+     * @param <V>
+     *         The type of the value.
+     *
+     * @return The value of the {@link CompletableFuture}.
+     */
+    public static <V> V await(CompletableFuture<V> future) {
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieve the real cause of a {@link Throwable} received from a {@link CompletableFuture} callback.
+     *
+     * @param throwable
+     *         The {@link Throwable} received.
+     *
+     * @return The unwrapped {@link Throwable}.
+     */
+    public static Throwable unwrap(Throwable throwable) {
+
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException) && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Decode the percent-encoded characters ({@code %XX}) contained in the provided range of characters. Unlike
+     * {@link java.net.URLDecoder}, the {@code +} character is left untouched.
+     *
+     * @param value
+     *         The {@link CharSequence} to decode.
+     * @param start
+     *         The index (inclusive) where the value starts.
+     * @param end
+     *         The index (exclusive) where the value ends.
+     *
+     * @return The decoded value.
+     */
+    public static String decode(CharSequence value, int start, int end) {
+
+        boolean encoded = false;
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == '%') {
+                encoded = true;
+                break;
+            }
+        }
+
+        if (!encoded) {
+            return value.subSequence(start, end).toString();
+        }
+
+        StringBuilder         builder = new StringBuilder(end - start);
+        ByteArrayOutputStream bytes   = new ByteArrayOutputStream();
+
+        int i = start;
+        while (i < end) {
+            char c = value.charAt(i);
+
+            if (c == '%' && i + 2 < end) {
+                int high = Character.digit(value.charAt(i + 1), 16);
+                int low  = Character.digit(value.charAt(i + 2), 16);
+
+                if (high >= 0 && low >= 0) {
+                    bytes.write((high << 4) + low);
+                    i += 3;
+                    continue;
+                }
+            }
+
+            if (bytes.size() > 0) {
+                builder.append(bytes.toString(StandardCharsets.UTF_8));
+                bytes.reset();
+            }
+            builder.append(c);
+            i++;
+        }
+
+        if (bytes.size() > 0) {
+            builder.append(bytes.toString(StandardCharsets.UTF_8));
+        }
+        return builder.toString();
+    }
+
 }
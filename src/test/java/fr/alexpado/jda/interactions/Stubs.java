@@ -0,0 +1,113 @@
+package fr.alexpado.jda.interactions;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Factory creating JDA objects backed by {@link Proxy} instances, allowing to test the library without any connection
+ * to Discord.
+ * <p>
+ * Methods without an explicit answer return a default value: zero or false for primitives, a new stub for any other
+ * interface (such as the {@code RestAction} returned by {@code deferReply()}), and {@code null} otherwise. The name of
+ * every method called on a stub, or on a stub it created, is recorded in the provided list.
+ */
+public final class Stubs {
+
+    private Stubs() {
+
+    }
+
+    /**
+     * Create a stub of the provided interface, without recording calls.
+     *
+     * @param type
+     *         The interface to implement.
+     * @param answers
+     *         The values returned by methods, by method name.
+     * @param <T>
+     *         The type of the stub.
+     *
+     * @return A new stub.
+     */
+    public static <T> T stub(Class<T> type, Map<String, Object> answers) {
+
+        return stub(type, answers, null);
+    }
+
+    /**
+     * Create a stub of the provided interface.
+     *
+     * @param type
+     *         The interface to implement.
+     * @param answers
+     *         The values returned by methods, by method name.
+     * @param calls
+     *         The list into which the name of every called method is added, or {@code null} to not record them. It
+     *         must be thread-safe if the stub is used concurrently.
+     * @param <T>
+     *         The type of the stub.
+     *
+     * @return A new stub.
+     */
+    public static <T> T stub(Class<T> type, Map<String, Object> answers, @Nullable List<String> calls) {
+
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return self == args[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(self);
+                    }
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) {
+                        return "Stub(" + type.getSimpleName() + ")";
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (calls != null) {
+                calls.add(method.getName());
+            }
+
+            if (answers.containsKey(method.getName())) {
+                return answers.get(method.getName());
+            }
+
+            Class<?> returnType = method.getReturnType();
+
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == double.class) {
+                return 0D;
+            }
+            if (returnType.isPrimitive()) {
+                return null; // void
+            }
+            if (returnType.isInterface()) {
+                return stub(returnType, Map.of(), calls);
+            }
+            return null;
+        });
+
+        return type.cast(proxy);
+    }
+
+}
@@ -0,0 +1,202 @@
+package fr.alexpado.jda.interactions.entities;
+
+import fr.alexpado.jda.interactions.Stubs;
+import fr.alexpado.jda.interactions.impl.DeferralWatchdog;
+import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeferralTest {
+
+    private List<String>                calls;
+    private ScheduledThreadPoolExecutor scheduler;
+    private DeferralWatchdog            watchdog;
+
+    private static long count(List<String> calls, String method) {
+
+        return calls.stream().filter(method::equals).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        this.calls     = new CopyOnWriteArrayList<>();
+        this.scheduler = new ScheduledThreadPoolExecutor(1);
+        this.watchdog  = new DeferralWatchdog(this.scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        this.scheduler.shutdownNow();
+    }
+
+    private <T extends Interaction> Deferral deferral(Class<T> type) {
+
+        return new Deferral(Stubs.stub(type, Map.of(), this.calls));
+    }
+
+    @Test
+    void defersOnlyOnce() {
+
+        Deferral deferral = this.deferral(SlashCommandInteraction.class);
+
+        assertTrue(deferral.defer());
+        assertFalse(deferral.defer());
+        assertFalse(deferral.deferIfUnanswered());
+
+        assertTrue(deferral.isDeferred());
+        assertTrue(deferral.claim());
+        assertEquals(1, count(this.calls, "deferReply"));
+        assertEquals(1, count(this.calls, "queue"));
+    }
+
+    @Test
+    void claimPreventsDeferral() {
+
+        Deferral deferral = this.deferral(SlashCommandInteraction.class);
+
+        assertFalse(deferral.claim());
+        assertFalse(deferral.deferIfUnanswered());
+        assertFalse(deferral.defer());
+
+        assertFalse(deferral.isDeferred());
+        assertTrue(this.calls.isEmpty());
+    }
+
+    @Test
+    void defersEditOnceButtonIsConfigured() {
+
+        Deferral deferral = this.deferral(ButtonInteraction.class);
+
+        // The target isn't known yet: a button may either be deferred as a reply or as an edit.
+        assertFalse(deferral.deferIfUnanswered());
+        assertTrue(this.calls.isEmpty());
+
+        deferral.configure("vote/{pollId}", false, false);
+
+        assertTrue(deferral.isDeferred());
+        assertEquals(1, count(this.calls, "deferEdit"));
+        assertEquals(0, count(this.calls, "deferReply"));
+    }
+
+    @Test
+    void rejectsStrictDeferralOfAutoCompletions() {
+
+        Deferral deferral = this.deferral(CommandAutoCompleteInteraction.class);
+
+        assertThrows(UnsupportedOperationException.class, deferral::defer);
+        assertFalse(deferral.deferIfUnanswered());
+        assertFalse(deferral.isDeferred());
+    }
+
+    @Test
+    void claimAndWatchdogNeverBothAnswer() throws InterruptedException {
+
+        for (int i = 0; i < 500; i++) {
+            List<String>   calls    = new CopyOnWriteArrayList<>();
+            Deferral       deferral = new Deferral(Stubs.stub(SlashCommandInteraction.class, Map.of(), calls));
+            CountDownLatch start    = new CountDownLatch(1);
+            AtomicBoolean  deferred = new AtomicBoolean();
+
+            Thread response = new Thread(() -> {
+                await(start);
+                deferred.set(deferral.claim());
+            });
+            Thread timer = new Thread(() -> {
+                await(start);
+                deferral.deferIfUnanswered();
+            });
+
+            response.start();
+            timer.start();
+            start.countDown();
+            response.join();
+            timer.join();
+
+            // The response edits the original message if and only if the deferral went through first.
+            assertEquals(deferred.get() ? 1 : 0, count(calls, "deferReply"));
+        }
+    }
+
+    @Test
+    void coalescesFastTargets() {
+
+        Deferral deferral = this.deferral(SlashCommandInteraction.class);
+        this.watchdog.setThreshold(Duration.ofHours(1));
+
+        deferral.coalesce(this.watchdog);
+        deferral.configure("ping", true, false);
+
+        assertFalse(deferral.defer());
+        assertFalse(deferral.claim());
+        assertTrue(this.calls.isEmpty());
+        assertTrue(this.watchdog.getEstimate("ping").isPresent());
+    }
+
+    @Test
+    void coalescesSlowTargets() throws InterruptedException {
+
+        Deferral deferral = this.deferral(SlashCommandInteraction.class);
+        this.watchdog.setThreshold(Duration.ZERO);
+
+        deferral.coalesce(this.watchdog);
+        deferral.configure("ping", true, true);
+
+        assertFalse(deferral.defer());
+
+        // Delayed tasks still run after a shutdown.
+        this.scheduler.shutdown();
+        assertTrue(this.scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertTrue(deferral.isDeferred());
+        assertTrue(deferral.claim());
+        assertEquals(1, count(this.calls, "deferReply"));
+    }
+
+    @Test
+    void defersKnownSlowTargetsRightAway() {
+
+        for (int i = 0; i < 5; i++) {
+            this.watchdog.record("report", TimeUnit.SECONDS.toNanos(10));
+        }
+
+        Deferral deferral = this.deferral(SlashCommandInteraction.class);
+        this.watchdog.watch(deferral);
+
+        assertFalse(deferral.isDeferred());
+
+        deferral.configure("report", true, false);
+
+        assertTrue(deferral.isDeferred());
+        assertEquals(1, count(this.calls, "deferReply"));
+    }
+
+}
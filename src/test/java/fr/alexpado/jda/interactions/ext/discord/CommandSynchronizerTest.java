@@ -0,0 +1,114 @@
+package fr.alexpado.jda.interactions.ext.discord;
+
+import fr.alexpado.jda.interactions.Stubs;
+import fr.alexpado.jda.interactions.enums.SlashTarget;
+import fr.alexpado.jda.interactions.interfaces.interactions.MetaContainer;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import fr.alexpado.jda.interactions.meta.OptionMeta;
+import net.dv8tion.jda.api.interactions.IntegrationType;
+import net.dv8tion.jda.api.interactions.InteractionContextType;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.localization.LocalizationMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CommandSynchronizerTest {
+
+    private static InteractionMeta meta(String name, OptionMeta... options) {
+
+        return new InteractionMeta(name, "Description of " + name, SlashTarget.ALL, List.of(options), false, false, false);
+    }
+
+    private static OptionMeta option(String name, OptionType type, boolean required) {
+
+        return new OptionMeta(name, "Description of " + name, required, false, type);
+    }
+
+    /**
+     * Create a {@link Command} as JDA would read it from Discord, which fills in the fields left unset.
+     */
+    private static Command remote(InteractionCommandData data) {
+
+        List<Command.Option> options = data.getOptions()
+                                           .stream()
+                                           .map(option -> new Command.Option(option.toData()))
+                                           .toList();
+
+        List<Command.Subcommand> subcommands = data.getSubcommands()
+                                                   .stream()
+                                                   .map(subcommand -> new Command.Subcommand(subcommand.toData()))
+                                                   .toList();
+
+        // Discord sends empty localizations for commands without any.
+        LocalizationMap localizations = new Command.Option(new OptionData(OptionType.STRING, "any", "Any").toData()).getNameLocalizations();
+
+        return Stubs.stub(Command.class, Map.ofEntries(
+                Map.entry("getType", Command.Type.SLASH),
+                Map.entry("getName", data.getName()),
+                Map.entry("getDescription", data.getDescription()),
+                Map.entry("getOptions", options),
+                Map.entry("getSubcommands", subcommands),
+                Map.entry("getSubcommandGroups", List.of()),
+                Map.entry("getNameLocalizations", localizations),
+                Map.entry("getDescriptionLocalizations", localizations),
+                Map.entry("getContexts", EnumSet.of(InteractionContextType.GUILD, InteractionContextType.BOT_DM, InteractionContextType.PRIVATE_CHANNEL)),
+                Map.entry("getIntegrationTypes", EnumSet.of(IntegrationType.GUILD_INSTALL, IntegrationType.USER_INSTALL)),
+                Map.entry("getDefaultPermissions", DefaultMemberPermissions.ENABLED)
+        ));
+    }
+
+    @Test
+    void ignoresFieldsFilledInByDiscord() {
+
+        CommandData local  = Commands.slash("ping", "Ping the bot");
+        CommandData remote = Commands.slash("ping", "Ping the bot")
+                                     .setContexts(InteractionContextType.GUILD, InteractionContextType.PRIVATE_CHANNEL)
+                                     .setIntegrationTypes(IntegrationType.USER_INSTALL)
+                                     .setDefaultPermissions(DefaultMemberPermissions.DISABLED);
+
+        assertEquals(CommandSynchronizer.hash(local), CommandSynchronizer.hash(remote));
+        assertNotEquals(CommandSynchronizer.hash(local), CommandSynchronizer.hash(Commands.slash("ping", "Pong")));
+    }
+
+    @Test
+    void roundTripsCommandsWithOptions() {
+
+        InteractionMeta meta = meta(
+                "vote",
+                option("poll", OptionType.INTEGER, true),
+                option("comment", OptionType.STRING, false),
+                option("user", OptionType.USER, false)
+        );
+
+        MetaContainer          target = () -> meta;
+        InteractionCommandData data   = InteractionCommandData.of(List.of(target)).get(0);
+        data.prepare();
+
+        assertEquals(CommandSynchronizer.hash(data), CommandSynchronizer.hash(CommandData.fromCommand(remote(data))));
+    }
+
+    @Test
+    void roundTripsCommandsWithSubcommands() {
+
+        InteractionMeta add    = meta("todo/add", option("text", OptionType.STRING, true));
+        InteractionMeta remove = meta("todo/remove", option("index", OptionType.INTEGER, true));
+
+        List<MetaContainer>    targets = List.of(() -> add, () -> remove);
+        InteractionCommandData data    = InteractionCommandData.of(targets).get(0);
+        data.prepare();
+
+        assertEquals(CommandSynchronizer.hash(data), CommandSynchronizer.hash(CommandData.fromCommand(remote(data))));
+    }
+
+}
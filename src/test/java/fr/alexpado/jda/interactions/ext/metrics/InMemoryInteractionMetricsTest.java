@@ -0,0 +1,80 @@
+package fr.alexpado.jda.interactions.ext.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryInteractionMetricsTest {
+
+    private static InMemoryInteractionMetrics.Histogram histogram(long... values) {
+
+        InMemoryInteractionMetrics metrics = new InMemoryInteractionMetrics();
+
+        for (long value : values) {
+            metrics.recordStage("slash", "ping", "handling", value);
+        }
+        return metrics.getHistogram("slash", "ping", "handling").orElseThrow();
+    }
+
+    private static void assertBound(long value, long percentile) {
+
+        assertTrue(percentile >= value, () -> percentile + " is below " + value);
+        assertTrue(percentile <= value + value / 16, () -> percentile + " exceeds " + value + " by more than 6.25%");
+    }
+
+    @Test
+    void keepsSmallValuesExact() {
+
+        InMemoryInteractionMetrics.Histogram histogram = histogram(0, 1, 2, 3, 15);
+
+        assertEquals(0, histogram.getPercentile(0.2));
+        assertEquals(3, histogram.getPercentile(0.8));
+        assertEquals(15, histogram.getPercentile(1));
+    }
+
+    @Test
+    void boundsRelativeError() {
+
+        for (long value = 16; value > 0 && value < Long.MAX_VALUE / 2; value = value * 3 + 1) {
+            assertBound(value, histogram(value).getPercentile(0.5));
+        }
+
+        // Worst case: the first value of a bucket.
+        assertBound(1 << 20, histogram(1 << 20).getPercentile(0.5));
+    }
+
+    @Test
+    void computesPercentiles() {
+
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i + 1) * 1_000L;
+        }
+
+        InMemoryInteractionMetrics.Histogram histogram = histogram(values);
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500, histogram.getMean(), 0.001);
+        assertBound(500_000, histogram.getPercentile(0.5));
+        assertBound(990_000, histogram.getPercentile(0.99));
+        assertBound(1_000_000, histogram.getPercentile(1));
+    }
+
+    @Test
+    void countsFailures() {
+
+        InMemoryInteractionMetrics metrics = new InMemoryInteractionMetrics();
+        metrics.recordInteraction("button", "vote/{pollId}", true, 10);
+        metrics.recordInteraction("button", "vote/{pollId}", false, 20);
+
+        assertEquals(1, metrics.getFailures("button", "vote/{pollId}"));
+        assertEquals(2, metrics.getHistogram("button", "vote/{pollId}", InMemoryInteractionMetrics.TOTAL).orElseThrow().getCount());
+
+        metrics.reset();
+
+        assertEquals(0, metrics.getFailures("button", "vote/{pollId}"));
+        assertTrue(metrics.getHistogram("button", "vote/{pollId}", InMemoryInteractionMetrics.TOTAL).isEmpty());
+    }
+
+}
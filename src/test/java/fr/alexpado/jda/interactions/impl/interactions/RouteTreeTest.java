@@ -0,0 +1,146 @@
+package fr.alexpado.jda.interactions.impl.interactions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteTreeTest {
+
+    @Test
+    void matchesStaticRoutes() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("admin/ban", "ban");
+        tree.insert("admin/kick", "kick");
+        tree.insert("ping", "ping");
+
+        assertEquals("ban", tree.match("admin/ban").value());
+        assertEquals("kick", tree.match("admin/kick").value());
+        assertEquals("ping", tree.match("ping").value());
+        assertTrue(tree.match("ping").parameters().isEmpty());
+
+        assertNull(tree.match("admin"));
+        assertNull(tree.match("admin/mute"));
+        assertNull(tree.match("admin/ban/now"));
+    }
+
+    @Test
+    void capturesParameters() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("vote/{pollId}/{choice}", "vote");
+
+        RouteTree.Match<String> match = tree.match("vote/42/yes");
+
+        assertNotNull(match);
+        assertEquals("vote", match.value());
+        assertEquals(Map.of("pollId", "42", "choice", "yes"), match.parameters());
+    }
+
+    @Test
+    void decodesParameters() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("search/{query}", "search");
+
+        assertEquals("some text", tree.match("search/some%20text").parameters().get("query"));
+    }
+
+    @Test
+    void prefersStaticSegments() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("vote/{pollId}", "parameter");
+        tree.insert("vote/latest", "static");
+
+        assertEquals("static", tree.match("vote/latest").value());
+        assertEquals("parameter", tree.match("vote/12").value());
+    }
+
+    @Test
+    void fallsBackToParametersWhenStaticBranchFails() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("vote/latest/show", "static");
+        tree.insert("vote/{pollId}/close", "parameter");
+
+        RouteTree.Match<String> match = tree.match("vote/latest/close");
+
+        assertNotNull(match);
+        assertEquals("parameter", match.value());
+        assertEquals(Map.of("pollId", "latest"), match.parameters());
+    }
+
+    @Test
+    void splitsOnSpaces() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("admin/ban", "ban");
+
+        assertEquals("ban", tree.match("admin ban").value());
+    }
+
+    @Test
+    void ignoresCaseOfFirstSegmentOnly() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("admin/ban", "ban");
+
+        assertEquals("ban", tree.match("ADMIN/ban").value());
+        assertNull(tree.match("admin/BAN"));
+    }
+
+    @Test
+    void matchesRange() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("vote/{pollId}", "vote");
+
+        String                  route = "button://vote/12?choice=1";
+        RouteTree.Match<String> match = tree.match(route, "button://".length(), route.indexOf('?'));
+
+        assertNotNull(match);
+        assertEquals(Map.of("pollId", "12"), match.parameters());
+    }
+
+    @Test
+    void rejectsDuplicates() {
+
+        RouteTree<String> tree = new RouteTree<>();
+
+        assertTrue(tree.insert("vote/{pollId}", "first"));
+        assertFalse(tree.insert("vote/{pollId}", "second"));
+        assertEquals("first", tree.match("vote/1").value());
+    }
+
+    @Test
+    void rejectsConflictingParameterNames() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("vote/{pollId}", "vote");
+
+        assertThrows(IllegalStateException.class, () -> tree.insert("vote/{id}/close", "close"));
+    }
+
+    @Test
+    void copiesAreIndependent() {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert("ping", "ping");
+
+        RouteTree<String> copy = tree.copy();
+        copy.insert("pong", "pong");
+
+        assertEquals("ping", copy.match("PING").value());
+        assertEquals("pong", copy.match("pong").value());
+        assertNull(tree.match("pong"));
+    }
+
+}
@@ -0,0 +1,165 @@
+package fr.alexpado.jda.interactions.impl.interactions.autocomplete;
+
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.enums.CompletionScope;
+import fr.alexpado.jda.interactions.ext.sentry.NoopTimedAction;
+import fr.alexpado.jda.interactions.interfaces.interactions.autocomplete.AutoCompleteProvider;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedAutoCompleteProviderTest {
+
+    private static final List<Command.Choice> FRUITS = List.of(
+            new Command.Choice("Apple", "apple"),
+            new Command.Choice("Apricot", "apricot"),
+            new Command.Choice("Banana", "banana")
+    );
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private static <T> T stub(Class<T> type, String method, Object value) {
+
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, invoked, args) -> invoked.getName().equals(method) ? value : null
+        ));
+    }
+
+    private static DispatchEvent<CommandAutoCompleteInteraction> event(long user) {
+
+        User                           author      = stub(User.class, "getIdLong", user);
+        CommandAutoCompleteInteraction interaction = stub(CommandAutoCompleteInteraction.class, "getUser", author);
+
+        return new DispatchEvent<>(new NoopTimedAction(), URI.create("autocomplete://fruit"), interaction);
+    }
+
+    private static List<String> names(List<Command.Choice> choices) {
+
+        return choices.stream().map(Command.Choice::getName).toList();
+    }
+
+    private AutoCompleteProvider delegate(List<Command.Choice> choices) {
+
+        return (event, name, completionName, value) -> {
+            this.calls.incrementAndGet();
+            String normalized = value.trim().toLowerCase(Locale.ROOT);
+            return choices.stream().filter(choice -> CachedAutoCompleteProvider.nameContains(choice, normalized)).toList();
+        };
+    }
+
+    private static List<String> complete(CachedAutoCompleteProvider provider, String value) {
+
+        return names(provider.complete(event(1), "fruit", "fruits", value));
+    }
+
+    @Test
+    void cachesNormalizedValues() {
+
+        CachedAutoCompleteProvider provider = new CachedAutoCompleteProvider(this.delegate(FRUITS), CompletionScope.GLOBAL, 10, Duration.ofHours(1));
+
+        assertEquals(List.of("Apple", "Apricot"), complete(provider, "ap"));
+        assertEquals(List.of("Apple", "Apricot"), complete(provider, " AP "));
+
+        assertEquals(1, this.calls.get());
+        assertEquals(1, provider.getHits());
+        assertEquals(1, provider.getMisses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+
+        CachedAutoCompleteProvider provider = new CachedAutoCompleteProvider(this.delegate(FRUITS), CompletionScope.GLOBAL, 2, Duration.ofHours(1));
+
+        complete(provider, "a");
+        complete(provider, "b");
+        complete(provider, "a"); // Hit, "b" is now the least recently used
+        complete(provider, "c"); // Evicts "b"
+        complete(provider, "a"); // Hit
+        complete(provider, "b"); // Miss
+
+        assertEquals(2, provider.size());
+        assertEquals(2, provider.getHits());
+        assertEquals(4, provider.getMisses());
+    }
+
+    @Test
+    void expiresEntries() {
+
+        CachedAutoCompleteProvider provider = new CachedAutoCompleteProvider(this.delegate(FRUITS), CompletionScope.GLOBAL, 10, Duration.ZERO);
+
+        complete(provider, "ap");
+        complete(provider, "ap");
+
+        assertEquals(2, this.calls.get());
+        assertEquals(0, provider.getHits());
+    }
+
+    @Test
+    void separatesScopes() {
+
+        CachedAutoCompleteProvider provider = new CachedAutoCompleteProvider(this.delegate(FRUITS), CompletionScope.USER, 10, Duration.ofHours(1));
+
+        provider.complete(event(1), "fruit", "fruits", "ap");
+        provider.complete(event(2), "fruit", "fruits", "ap");
+        provider.complete(event(1), "fruit", "fruits", "ap");
+
+        assertEquals(2, this.calls.get());
+        assertEquals(1, provider.getHits());
+    }
+
+    @Test
+    void refinesFromPrefixes() {
+
+        CachedAutoCompleteProvider provider = new CachedAutoCompleteProvider(this.delegate(FRUITS), CompletionScope.GLOBAL, 10, Duration.ofHours(1));
+        provider.setRefinement(CachedAutoCompleteProvider::nameContains);
+
+        assertEquals(List.of("Apple", "Apricot"), complete(provider, "ap"));
+        assertEquals(List.of("Apricot"), complete(provider, "apr"));
+
+        assertEquals(1, this.calls.get());
+        assertEquals(2, provider.size());
+    }
+
+    @Test
+    void doesNotRefineTruncatedResults() {
+
+        List<Command.Choice> choices = new ArrayList<>();
+        IntStream.range(0, OptionData.MAX_CHOICES).forEach(i -> choices.add(new Command.Choice("item " + i, "item" + i)));
+
+        CachedAutoCompleteProvider provider = new CachedAutoCompleteProvider(this.delegate(choices), CompletionScope.GLOBAL, 10, Duration.ofHours(1));
+        provider.setRefinement(CachedAutoCompleteProvider::nameContains);
+
+        complete(provider, "item");
+        complete(provider, "item 1");
+
+        assertEquals(2, this.calls.get());
+    }
+
+    @Test
+    void invalidatesCompletionNames() {
+
+        CachedAutoCompleteProvider provider = new CachedAutoCompleteProvider(this.delegate(FRUITS), CompletionScope.GLOBAL, 10, Duration.ofHours(1));
+
+        complete(provider, "ap");
+        provider.invalidate("fruits");
+        complete(provider, "ap");
+
+        assertEquals(2, this.calls.get());
+    }
+
+}
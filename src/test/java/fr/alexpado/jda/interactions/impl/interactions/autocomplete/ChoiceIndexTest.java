@@ -0,0 +1,94 @@
+package fr.alexpado.jda.interactions.impl.interactions.autocomplete;
+
+import fr.alexpado.jda.interactions.meta.ChoiceMeta;
+import fr.alexpado.jda.interactions.meta.OptionMeta;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChoiceIndexTest {
+
+    private static ChoiceIndex index(List<ChoiceMeta> choices) {
+
+        return new ChoiceIndex(new OptionMeta("fruit", "", true, true, OptionType.STRING, choices));
+    }
+
+    private static List<String> names(List<Command.Choice> choices) {
+
+        return choices.stream().map(Command.Choice::getName).toList();
+    }
+
+    @Test
+    void ranksPrefixMatchesBeforeInfixMatches() {
+
+        ChoiceIndex index = index(List.of(
+                new ChoiceMeta("pineapple", "Pineapple"),
+                new ChoiceMeta("apple-pie", "Apple pie"),
+                new ChoiceMeta("banana", "Banana"),
+                new ChoiceMeta("apple", "Apple")
+        ));
+
+        assertEquals(List.of("Apple", "Apple pie", "Pineapple"), names(index.search("app")));
+    }
+
+    @Test
+    void ordersByLengthThenDeclaration() {
+
+        ChoiceIndex index = index(List.of(
+                new ChoiceMeta("b", "Bbbb"),
+                new ChoiceMeta("c", "Bcc"),
+                new ChoiceMeta("d", "Bddd")
+        ));
+
+        assertEquals(List.of("Bcc", "Bbbb", "Bddd"), names(index.search("b")));
+    }
+
+    @Test
+    void matchesIdsIgnoringCase() {
+
+        ChoiceIndex index = index(List.of(
+                new ChoiceMeta("fr", "France"),
+                new ChoiceMeta("de", "Germany")
+        ));
+
+        assertEquals(List.of("Germany"), names(index.search("DE")));
+        assertEquals(List.of("France"), names(index.search("fRa")));
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    void returnsDeclaredOrderForEmptyQuery() {
+
+        List<ChoiceMeta> choices = new ArrayList<>();
+        for (int i = 0; i < OptionData.MAX_CHOICES + 5; i++) {
+            choices.add(new ChoiceMeta("id" + i, "x".repeat(OptionData.MAX_CHOICES + 5 - i)));
+        }
+
+        List<Command.Choice> results = index(choices).search("");
+
+        assertEquals(OptionData.MAX_CHOICES, results.size());
+        assertEquals("id0", results.get(0).getAsString());
+    }
+
+    @Test
+    void stopsAtMaximumChoices() {
+
+        List<ChoiceMeta> choices = new ArrayList<>();
+        for (int i = 0; i < OptionData.MAX_CHOICES * 2; i++) {
+            choices.add(new ChoiceMeta("id" + i, "choice " + i));
+        }
+
+        List<Command.Choice> results = index(choices).search("choice");
+
+        assertEquals(OptionData.MAX_CHOICES, results.size());
+        assertEquals("choice 0", results.get(0).getName());
+    }
+
+}
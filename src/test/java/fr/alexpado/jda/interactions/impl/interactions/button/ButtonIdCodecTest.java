@@ -0,0 +1,179 @@
+package fr.alexpado.jda.interactions.impl.interactions.button;
+
+import fr.alexpado.jda.interactions.enums.SlashTarget;
+import fr.alexpado.jda.interactions.impl.interactions.RouteTree;
+import fr.alexpado.jda.interactions.interfaces.interactions.button.ButtonCodec;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import fr.alexpado.jda.interactions.meta.OptionMeta;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ButtonIdCodecTest {
+
+    private static final String SCHEMA = "button";
+
+    private static ButtonIdCodec codec(String name, OptionMeta... options) {
+
+        return new ButtonIdCodec(SCHEMA, new InteractionMeta(name, "", SlashTarget.ALL, List.of(options), false, false, false));
+    }
+
+    private static OptionMeta option(String name, OptionType type, boolean required) {
+
+        return new OptionMeta(name, "", required, false, type);
+    }
+
+    /**
+     * Decode a component id the way the button container does: match its route, then decode the captured parameters
+     * and the query.
+     */
+    private static Map<String, Object> decode(ButtonIdCodec codec, String name, String componentId) {
+
+        RouteTree<String> tree = new RouteTree<>();
+        tree.insert(name, name);
+
+        int                     start = SCHEMA.length() + "://".length();
+        int                     query = componentId.indexOf('?');
+        int                     end   = query == -1 ? componentId.length() : query;
+        RouteTree.Match<String> match = tree.match(componentId, start, end);
+
+        assertNotNull(match, componentId);
+
+        Map<String, Object> output = new HashMap<>();
+        codec.decode(match.parameters(), query == -1 ? null : componentId.substring(query + 1), output);
+        return output;
+    }
+
+    @Test
+    void encodesFieldsPositionally() {
+
+        ButtonIdCodec codec = codec(
+                "vote/{pollId}",
+                option("pollId", OptionType.INTEGER, true),
+                option("choice", OptionType.INTEGER, true),
+                option("comment", OptionType.STRING, false),
+                option("anonymous", OptionType.BOOLEAN, false)
+        );
+
+        String id = codec.encoder().with("pollId", 42L).with("choice", 1L).with("comment", "some text").build();
+
+        assertEquals("button://vote/42?1&some%20text", id);
+    }
+
+    @Test
+    void roundTripsEveryType() {
+
+        ButtonIdCodec codec = codec(
+                "vote/{pollId}",
+                option("pollId", OptionType.INTEGER, true),
+                option("choice", OptionType.INTEGER, true),
+                option("comment", OptionType.STRING, false),
+                option("anonymous", OptionType.BOOLEAN, false),
+                option("weight", OptionType.NUMBER, false)
+        );
+
+        String id = codec.encoder()
+                         .with("pollId", 42L)
+                         .with("choice", 3L)
+                         .with("comment", "a/b?c&d=e \u00E9")
+                         .with("anonymous", true)
+                         .with("weight", 0.5)
+                         .build();
+
+        assertEquals(
+                Map.of("pollId", 42L, "choice", 3L, "comment", "a/b?c&d=e \u00E9", "anonymous", true, "weight", 0.5),
+                decode(codec, "vote/{pollId}", id)
+        );
+    }
+
+    @Test
+    void roundTripsStringParameters() {
+
+        ButtonIdCodec codec = codec("profile/{name}/show", option("name", OptionType.STRING, true));
+
+        String id = codec.encoder().with("name", "some/name").build();
+
+        assertEquals("button://profile/some%2Fname/show", id);
+        assertEquals(Map.of("name", "some/name"), decode(codec, "profile/{name}/show", id));
+    }
+
+    @Test
+    void skipsMissingFields() {
+
+        ButtonIdCodec codec = codec(
+                "note",
+                option("first", OptionType.STRING, false),
+                option("second", OptionType.STRING, false),
+                option("third", OptionType.STRING, false)
+        );
+
+        String id = codec.encoder().with("second", "value").build();
+
+        assertEquals("button://note?&value", id);
+        assertEquals(Map.of("second", "value"), decode(codec, "note", id));
+        assertEquals("button://note", codec.encoder().build());
+    }
+
+    @Test
+    void decodesNamedQueries() {
+
+        ButtonIdCodec codec = codec(
+                "vote/{pollId}",
+                option("pollId", OptionType.INTEGER, true),
+                option("choice", OptionType.INTEGER, true),
+                option("anonymous", OptionType.BOOLEAN, false)
+        );
+
+        assertEquals(
+                Map.of("pollId", 42L, "choice", 2L, "anonymous", true),
+                decode(codec, "vote/{pollId}", "button://vote/42?choice=2&anonymous=true&unknown=1")
+        );
+    }
+
+    @Test
+    void rejectsMissingRequiredOptions() {
+
+        ButtonIdCodec codec = codec(
+                "vote/{pollId}",
+                option("pollId", OptionType.INTEGER, true),
+                option("choice", OptionType.INTEGER, true)
+        );
+
+        assertThrows(IllegalStateException.class, () -> codec.encoder().with("choice", 1L).build());
+        assertThrows(IllegalStateException.class, () -> codec.encoder().with("pollId", 1L).build());
+    }
+
+    @Test
+    void rejectsInvalidOptions() {
+
+        ButtonIdCodec codec = codec("vote", option("choice", OptionType.INTEGER, true));
+
+        assertThrows(IllegalArgumentException.class, () -> codec.encoder().with("choice", "one"));
+        assertThrows(IllegalArgumentException.class, () -> codec.encoder().with("unknown", 1L));
+    }
+
+    @Test
+    void enforcesMaximumLength() {
+
+        ButtonIdCodec codec  = codec("note", option("text", OptionType.STRING, true));
+        int           prefix = "button://note?".length();
+
+        String id = codec.encoder().with("text", "a".repeat(ButtonCodec.MAX_LENGTH - prefix)).build();
+        assertEquals(ButtonCodec.MAX_LENGTH, id.length());
+
+        ButtonIdCodec.Encoder encoder = codec.encoder().with("text", "a".repeat(ButtonCodec.MAX_LENGTH - prefix + 1));
+        assertThrows(IllegalStateException.class, encoder::build);
+
+        // Escaped characters count with their encoded length.
+        ButtonIdCodec.Encoder escaped = codec.encoder().with("text", " ".repeat(30));
+        assertThrows(IllegalStateException.class, escaped::build);
+    }
+
+}
@@ -0,0 +1,127 @@
+package fr.alexpado.jda.interactions.impl.preprocessors;
+
+import fr.alexpado.jda.interactions.Stubs;
+import fr.alexpado.jda.interactions.entities.DispatchEvent;
+import fr.alexpado.jda.interactions.enums.RateLimitScope;
+import fr.alexpado.jda.interactions.ext.sentry.ITelemetry;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitPreprocessorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static DispatchEvent<SlashCommandInteraction> event(long id, long user) {
+
+        User                    author      = Stubs.stub(User.class, Map.of("getIdLong", user));
+        SlashCommandInteraction interaction = Stubs.stub(SlashCommandInteraction.class, Map.of("getIdLong", id, "getUser", author));
+
+        return new DispatchEvent<>(ITelemetry.disabled().start(() -> "test"), "slash", "ping", interaction, new HashMap<>());
+    }
+
+    @Test
+    void bucketAllowsBurstThenSpacesPermits() {
+
+        RateLimitPreprocessor.Limit  limit  = new RateLimitPreprocessor.Limit(2, Duration.ofSeconds(1));
+        RateLimitPreprocessor.Bucket bucket = new RateLimitPreprocessor.Bucket(0);
+
+        assertEquals(0, bucket.acquire(limit, 0));
+        assertEquals(0, bucket.acquire(limit, 0));
+        assertEquals(SECOND / 2, bucket.acquire(limit, 0));
+
+        // A rejected acquisition does not consume anything.
+        assertEquals(SECOND / 4, bucket.acquire(limit, SECOND / 4));
+        assertEquals(0, bucket.acquire(limit, SECOND / 2));
+        assertEquals(SECOND / 2, bucket.acquire(limit, SECOND / 2));
+    }
+
+    @Test
+    void bucketRefillsWhenIdle() {
+
+        RateLimitPreprocessor.Limit  limit  = new RateLimitPreprocessor.Limit(2, Duration.ofSeconds(1));
+        RateLimitPreprocessor.Bucket bucket = new RateLimitPreprocessor.Bucket(0);
+
+        bucket.acquire(limit, 0);
+        bucket.acquire(limit, 0);
+
+        assertFalse(bucket.isFull(SECOND / 2));
+        assertTrue(bucket.isFull(SECOND));
+
+        // Idle time does not accumulate more than a full burst.
+        assertEquals(0, bucket.acquire(limit, 10 * SECOND));
+        assertEquals(0, bucket.acquire(limit, 10 * SECOND));
+        assertTrue(bucket.acquire(limit, 10 * SECOND) > 0);
+    }
+
+    @Test
+    void rejectsOverLimit() {
+
+        RateLimitPreprocessor preprocessor = new RateLimitPreprocessor();
+        preprocessor.setLimit(RateLimitScope.USER, new RateLimitPreprocessor.Limit(1, Duration.ofHours(1)));
+
+        assertTrue(preprocessor.preprocess(event(1, 10)).isEmpty());
+        assertTrue(preprocessor.preprocess(event(2, 10)).isPresent());
+        assertTrue(preprocessor.preprocess(event(3, 20)).isEmpty());
+    }
+
+    @Test
+    void appliesRouteOverrides() {
+
+        RateLimitPreprocessor preprocessor = new RateLimitPreprocessor();
+        preprocessor.setLimit(RateLimitScope.USER, new RateLimitPreprocessor.Limit(1, Duration.ofHours(1)));
+        preprocessor.setLimit("slash://ping", RateLimitScope.USER, new RateLimitPreprocessor.Limit(2, Duration.ofHours(1)));
+
+        assertTrue(preprocessor.preprocess(event(1, 10)).isEmpty());
+        assertTrue(preprocessor.preprocess(event(2, 10)).isEmpty());
+        assertTrue(preprocessor.preprocess(event(3, 10)).isPresent());
+    }
+
+    @Test
+    void sweepsIdleBuckets() throws InterruptedException {
+
+        RateLimitPreprocessor preprocessor = new RateLimitPreprocessor();
+        preprocessor.setLimit(RateLimitScope.USER, new RateLimitPreprocessor.Limit(1, Duration.ofMillis(1)));
+        preprocessor.setSweepInterval(Duration.ZERO);
+
+        preprocessor.preprocess(event(1, 10));
+        assertEquals(1, preprocessor.getBucketCount());
+
+        Thread.sleep(10);
+
+        // The bucket of the first user is full again, so it is evicted before the second user gets one.
+        preprocessor.preprocess(event(2, 20));
+        assertEquals(1, preprocessor.getBucketCount());
+    }
+
+    @Test
+    void limitsConcurrencyAndEvictsIdleCounters() {
+
+        RateLimitPreprocessor preprocessor = new RateLimitPreprocessor();
+        preprocessor.setConcurrency(1);
+
+        DispatchEvent<SlashCommandInteraction> first = event(1, 10);
+
+        assertTrue(preprocessor.preprocess(first).isEmpty());
+        assertTrue(preprocessor.preprocess(event(2, 20)).isPresent());
+        assertEquals(1, preprocessor.getRunningRouteCount());
+
+        preprocessor.postprocess(first);
+        assertEquals(0, preprocessor.getRunningRouteCount());
+
+        DispatchEvent<SlashCommandInteraction> third = event(3, 30);
+        assertTrue(preprocessor.preprocess(third).isEmpty());
+        preprocessor.postprocess(third);
+        assertEquals(0, preprocessor.getRunningRouteCount());
+    }
+
+}
@@ -0,0 +1,254 @@
+package fr.alexpado.jda.interactions.processor;
+
+import fr.alexpado.jda.interactions.impl.InteractionRegistrar;
+import fr.alexpado.jda.interactions.impl.interactions.autocomplete.AutocompleteInteractionContainerImpl;
+import fr.alexpado.jda.interactions.impl.interactions.button.ButtonInteractionContainerImpl;
+import fr.alexpado.jda.interactions.impl.interactions.slash.SlashInteractionContainerImpl;
+import fr.alexpado.jda.interactions.interfaces.interactions.InteractionInvoker;
+import fr.alexpado.jda.interactions.meta.InteractionMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractionProcessorTest {
+
+    private static final String HEADER = """
+            package test;
+
+            import fr.alexpado.jda.interactions.annotations.Interact;
+            import fr.alexpado.jda.interactions.annotations.Option;
+            import fr.alexpado.jda.interactions.annotations.Param;
+            import net.dv8tion.jda.api.interactions.commands.OptionType;
+
+            """;
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        this.directory = Files.createTempDirectory("interaction-processor");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Compile the provided class of the {@code test} package with the {@link InteractionProcessor}.
+     */
+    private Compilation compile(String className, String body) throws IOException {
+
+        Path sources = Files.createDirectories(this.directory.resolve("src/test"));
+        Path output  = Files.createDirectories(this.directory.resolve("out"));
+        Path source  = Files.writeString(sources.resolve(className + ".java"), HEADER + body, StandardCharsets.UTF_8);
+
+        JavaCompiler                        compiler    = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            List<String> options = List.of(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString(),
+                    "-s", output.toString(),
+                    "-processor", InteractionProcessor.class.getName()
+            );
+
+            boolean success = compiler.getTask(null, files, diagnostics, options, null, files.getJavaFileObjects(source)).call();
+
+            List<String> errors = diagnostics.getDiagnostics()
+                                             .stream()
+                                             .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                                             .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                                             .toList();
+
+            return new Compilation(success, errors, output);
+        }
+    }
+
+    @Test
+    void writesIndexAndInvokers() throws Exception {
+
+        Compilation compilation = this.compile("Holder", """
+                public class Holder {
+
+                    @Interact(name = "ping", description = "Ping the bot")
+                    public String ping() {
+
+                        return "pong";
+                    }
+
+                    @Interact(
+                            name = "vote/{poll}",
+                            description = "Vote in a poll",
+                            options = {
+                                    @Option(name = "poll", description = "The poll", type = OptionType.INTEGER, required = true),
+                                    @Option(name = "comment", description = "A comment", type = OptionType.STRING)
+                            }
+                    )
+                    public void vote(@Param("poll") long poll, @Param("comment") String comment) {
+
+                    }
+
+                }
+                """);
+
+        assertTrue(compilation.success(), compilation.errors()::toString);
+
+        List<String> index = Files.readAllLines(compilation.output().resolve(InteractionProcessor.INDEX_FILE));
+
+        assertTrue(index.get(0).startsWith("//"));
+        assertEquals(
+                List.of(
+                        "test.Holder#ping()=test.Holder$ping$Invoker",
+                        "test.Holder#vote(long,java.lang.String)=test.Holder$vote$Invoker"
+                ),
+                index.subList(1, index.size())
+        );
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{compilation.output().toUri().toURL()}, this.getClass().getClassLoader())) {
+            Class<?>           invokerClass = Class.forName("test.Holder$vote$Invoker", true, loader);
+            InteractionInvoker invoker      = (InteractionInvoker) invokerClass.getDeclaredConstructor().newInstance();
+            InteractionMeta    meta         = invoker.getButtonMeta();
+
+            assertEquals("vote/{poll}", meta.name());
+            assertEquals(List.of("poll", "comment"), meta.options().stream().map(option -> option.getName()).toList());
+
+            // The registrar reads the index of the class loader, and uses the generated metadata.
+            SlashInteractionContainerImpl  slashes  = new SlashInteractionContainerImpl();
+            ButtonInteractionContainerImpl buttons  = new ButtonInteractionContainerImpl();
+            InteractionRegistrar           registrar = new InteractionRegistrar(slashes, buttons, new AutocompleteInteractionContainerImpl());
+            Object                         holder   = Class.forName("test.Holder", true, loader).getDeclaredConstructor().newInstance();
+
+            assertEquals(2, registrar.register(holder));
+            assertTrue(buttons.getInteractions().containsKey(buttons.createURI("vote/{poll}")));
+            assertTrue(slashes.getInteractions().containsKey(slashes.createURI("ping")));
+            assertFalse(slashes.getInteractions().containsKey(slashes.createURI("vote/{poll}")));
+        }
+    }
+
+    @Test
+    void rejectsPrivateMethods() throws IOException {
+
+        Compilation compilation = this.compile("Holder", """
+                public class Holder {
+
+                    @Interact(name = "ping", description = "Ping the bot")
+                    private void ping() {
+
+                    }
+
+                }
+                """);
+
+        assertFalse(compilation.success());
+        assertEquals(List.of("@Interact methods cannot be private."), compilation.errors());
+    }
+
+    @Test
+    void rejectsInnerClasses() throws IOException {
+
+        Compilation compilation = this.compile("Holder", """
+                public class Holder {
+
+                    public class Inner {
+
+                        @Interact(name = "ping", description = "Ping the bot")
+                        public void ping() {
+
+                        }
+
+                    }
+
+                }
+                """);
+
+        assertFalse(compilation.success());
+        assertEquals(List.of("@Interact methods cannot be declared in an inner (non-static) class."), compilation.errors());
+    }
+
+    @Test
+    void rejectsDuplicateOptions() throws IOException {
+
+        Compilation compilation = this.compile("Holder", """
+                public class Holder {
+
+                    @Interact(
+                            name = "note",
+                            description = "Write a note",
+                            options = {
+                                    @Option(name = "text", description = "The text", type = OptionType.STRING),
+                                    @Option(name = "text", description = "The text, again", type = OptionType.STRING)
+                            }
+                    )
+                    public void note(@Param("text") String text) {
+
+                    }
+
+                }
+                """);
+
+        assertFalse(compilation.success());
+        assertEquals(List.of("Option 'text' is declared more than once."), compilation.errors());
+    }
+
+    @Test
+    void rejectsMismatchingParameterTypes() throws IOException {
+
+        Compilation compilation = this.compile("Holder", """
+                public class Holder {
+
+                    @Interact(
+                            name = "note",
+                            description = "Write a note",
+                            options = @Option(name = "count", description = "The count", type = OptionType.INTEGER)
+                    )
+                    public void note(@Param("count") String count) {
+
+                    }
+
+                }
+                """);
+
+        assertFalse(compilation.success());
+        assertEquals(1, compilation.errors().size());
+        assertTrue(compilation.errors().get(0).startsWith("Parameter type java.lang.String does not match the type of option 'count'"));
+    }
+
+    private record Compilation(boolean success, List<String> errors, Path output) {
+
+    }
+
+}